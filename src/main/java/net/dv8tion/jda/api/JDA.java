@@ -1251,9 +1251,8 @@ public interface JDA
     }
 
     /**
-     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id. <br>This iterates
-     * over all {@link Guild Guilds} and check whether a Role from that Guild is assigned
-     * to the specified ID and will return the first that can be found.
+     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id.
+     * <br>Roles of all {@link Guild Guilds} are indexed by id, so this does not iterate the guilds.
      *
      * @param  id
      *         The id of the searched Role
@@ -1270,9 +1269,8 @@ public interface JDA
     }
 
     /**
-     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id. <br>This iterates
-     * over all {@link Guild Guilds} and check whether a Role from that Guild is assigned
-     * to the specified ID and will return the first that can be found.
+     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id.
+     * <br>Roles of all {@link Guild Guilds} are indexed by id, so this does not iterate the guilds.
      *
      * @param  id
      *         The id of the searched Role
@@ -21,6 +21,7 @@ import net.dv8tion.jda.api.entities.Activity;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.api.hooks.VoiceDispatchInterceptor;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RequestCoalescing;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.utils.*;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
@@ -91,6 +92,12 @@ public class JDABuilder
     protected EnumSet<ConfigFlag> flags = ConfigFlag.getDefault();
     protected ChunkingFilter chunkingFilter = ChunkingFilter.ALL;
     protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
+    protected MemberCacheEviction memberCacheEviction = MemberCacheEviction.NONE;
+    protected RequestCoalescing requestCoalescing = RequestCoalescing.NONE;
+    protected EventCacheLimit eventCacheLimit = EventCacheLimit.UNBOUNDED;
+    protected long presenceCoalescingWindow = 0;
+    protected CdnCache cdnCache = null;
+    protected GatewayMetrics gatewayMetrics = GatewayMetrics.NONE;
     protected GatewayEncoding encoding = GatewayEncoding.JSON;
 
     private JDABuilder(@Nullable String token, int intents)
@@ -689,6 +696,181 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Configure the eviction of cached members.
+     * <br>Members are never evicted by default, which means a cache using {@link MemberCachePolicy#ALL MemberCachePolicy.ALL}
+     * grows with the amount of members that have been loaded.
+     *
+     * <p>With eviction, the least recently active members are removed once a guild or the session exceeds a size limit,
+     * or once they have been idle for a configured time. The self member, guild owners, and voice members are never evicted.
+     * Evicted members can still be loaded with {@link net.dv8tion.jda.api.entities.Guild#retrieveMemberById(long) Guild.retrieveMemberById(long)}.
+     *
+     * <h2>Example</h2>
+     * <pre>{@code
+     * public void configureCache(JDABuilder builder) {
+     *     // Keep at most 10K members per guild
+     *     // and remove members which have not been active for an hour
+     *     builder.setMemberCacheEviction(MemberCacheEviction.lru(10000).withIdleTimeout(1, TimeUnit.HOURS));
+     * }
+     * }</pre>
+     *
+     * @param  eviction
+     *         The {@link MemberCacheEviction} or null to use default {@link MemberCacheEviction#NONE}
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    MemberCacheEviction
+     * @see    #setMemberCachePolicy(MemberCachePolicy)
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setMemberCacheEviction(@Nullable MemberCacheEviction eviction)
+    {
+        if (eviction == null)
+            this.memberCacheEviction = MemberCacheEviction.NONE;
+        else
+            this.memberCacheEviction = eviction;
+        return this;
+    }
+
+    /**
+     * Configure the coalescing of idempotent REST requests.
+     * <br>By default, every {@link RestAction} performs its own HTTP request, even if an identical request is already pending.
+     *
+     * <p>With coalescing, concurrent {@code GET} requests for the same route share a single HTTP request and rate-limit slot.
+     * Responses of selected routes can also be cached for a short time.
+     *
+     * <h2>Example</h2>
+     * <pre>{@code
+     * public void configureRequests(JDABuilder builder) {
+     *     // Share concurrent GET requests and keep user responses for 30 seconds
+     *     builder.setRequestCoalescing(RequestCoalescing.enabled().withCache(RequestCoalescing.Endpoint.USER, 30, TimeUnit.SECONDS));
+     * }
+     * }</pre>
+     *
+     * @param  coalescing
+     *         The {@link RequestCoalescing} or null to use default {@link RequestCoalescing#NONE}
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    RequestCoalescing
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setRequestCoalescing(@Nullable RequestCoalescing coalescing)
+    {
+        if (coalescing == null)
+            this.requestCoalescing = RequestCoalescing.NONE;
+        else
+            this.requestCoalescing = coalescing;
+        return this;
+    }
+
+    /**
+     * Limits the amount of gateway events JDA holds back while waiting for the entities they refer to.
+     * <br>By default, this is {@link EventCacheLimit#UNBOUNDED} and events are only discarded once they are
+     * 100 events old.
+     *
+     * <p>Use {@link EventCacheLimit#dropOldest(int)} to discard the oldest events on overflow,
+     * or {@link EventCacheLimit#resync(int)} to discard all events and start a new session instead.
+     *
+     * @param  limit
+     *         The {@link EventCacheLimit} or null to use default {@link EventCacheLimit#UNBOUNDED}
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    EventCacheLimit
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setEventCacheLimit(@Nullable EventCacheLimit limit)
+    {
+        if (limit == null)
+            this.eventCacheLimit = EventCacheLimit.UNBOUNDED;
+        else
+            this.eventCacheLimit = limit;
+        return this;
+    }
+
+    /**
+     * Collapses repeated presence updates of the same member within the provided window.
+     * <br>Presence updates are by far the most frequent gateway events. With coalescing, an update is held back
+     * for the provided time and only the most recent update of each member in this window is handled.
+     * Events such as {@link net.dv8tion.jda.api.events.user.update.UserUpdateActivitiesEvent UserUpdateActivitiesEvent}
+     * are therefore delayed and intermediate changes are skipped.
+     *
+     * <p>This is disabled by default. Coalesced updates are handled on the websocket thread once their window has passed,
+     * with the next payload received from the gateway.
+     *
+     * @param  time
+     *         The coalescing window, or 0 to disable coalescing
+     * @param  unit
+     *         The time unit
+     *
+     * @throws IllegalArgumentException
+     *         If the time is negative or the unit is null
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setPresenceCoalescing(long time, @Nonnull TimeUnit unit)
+    {
+        Checks.notNegative(time, "Time");
+        Checks.notNull(unit, "Unit");
+        this.presenceCoalescingWindow = unit.toMillis(time);
+        return this;
+    }
+
+    /**
+     * Sets the {@link CdnCache} used to retrieve attachments.
+     * <br>Cached attachments are revalidated with a conditional request instead of being downloaded again,
+     * which saves bandwidth for bots that retrieve the same files repeatedly.
+     *
+     * <p>This is disabled by default.
+     *
+     * @param  cache
+     *         The {@link CdnCache}, or null to disable caching
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    CdnCache#create(java.nio.file.Path, long)
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setCdnCache(@Nullable CdnCache cache)
+    {
+        this.cdnCache = cache;
+        return this;
+    }
+
+    /**
+     * Sets the {@link GatewayMetrics} which receive measurements of the gateway connection,
+     * such as payload sizes, decode times and the time spent handling each event type.
+     *
+     * <p>This is disabled by default, in which case no measurements are taken.
+     *
+     * @param  metrics
+     *         The {@link GatewayMetrics}, or null to disable measurements
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    HistogramGatewayMetrics
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setGatewayMetrics(@Nullable GatewayMetrics metrics)
+    {
+        this.gatewayMetrics = metrics == null ? GatewayMetrics.NONE : metrics;
+        return this;
+    }
+
     /**
      * Sets the {@link org.slf4j.MDC MDC} mappings to use in JDA.
      * <br>If sharding is enabled JDA will automatically add a {@code jda.shard} context with the format {@code [SHARD_ID / TOTAL]}
@@ -1101,6 +1283,55 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Whether JDA should deduplicate the strings of users and members, such as names and nicknames.
+     * <br>This uses a fixed-size table shared by all sessions of the JVM, which replaces strings parsed from
+     * gateway payloads with an equal instance that is already cached.
+     *
+     * <p>This is useful for large caches, where many members share the same values and the same members are
+     * seen by multiple shards. The table strongly references up to 65536 strings of at most 64 characters,
+     * which stay reachable for the lifetime of the JVM until their slot is taken by another string.
+     *
+     * <p>Default: <b>false (disabled)</b>
+     *
+     * @param  enabled
+     *         True, if strings should be deduplicated
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setStringDeduplicationEnabled(boolean enabled)
+    {
+        return setFlag(ConfigFlag.DEDUPLICATE_STRINGS, enabled);
+    }
+
+    /**
+     * Whether {@link net.dv8tion.jda.api.entities.Guild#retrieveMemberById(long) Guild.retrieveMemberById(long)} should
+     * batch requests for members which are not cached.
+     * <br>Lookups in the same guild within a short window (about 20 milliseconds) are combined into a single member chunk
+     * request over the gateway, which can contain up to 100 ids. Concurrent lookups of the same member share one request.
+     * Members which are not part of the chunk response are loaded through REST, which decides whether the member exists.
+     *
+     * <p>This requires the {@link GatewayIntent#GUILD_MEMBERS GUILD_MEMBERS} intent,
+     * without it members are always loaded through REST.
+     *
+     * <p>Default: <b>false (disabled)</b>
+     *
+     * @param  enabled
+     *         True, if member lookups should be batched
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public JDABuilder setMemberRequestBatching(boolean enabled)
+    {
+        return setFlag(ConfigFlag.BATCH_MEMBER_REQUESTS, enabled);
+    }
+
     /**
      * If enabled, JDA will separate the bulk delete event into individual delete events, but this isn't as efficient as
      * handling a single event would be. It is recommended that BulkDelete Splitting be disabled and that the developer
@@ -1759,6 +1990,12 @@ public class JDABuilder
 
         JDAImpl jda = new JDAImpl(authConfig, sessionConfig, threadingConfig, metaConfig);
         jda.setMemberCachePolicy(memberCachePolicy);
+        jda.setMemberCacheEviction(memberCacheEviction);
+        jda.setRequestCoalescing(requestCoalescing);
+        jda.setEventCacheLimit(eventCacheLimit);
+        jda.setPresenceCoalescingWindow(presenceCoalescingWindow);
+        jda.setCdnCache(cdnCache);
+        jda.setGatewayMetrics(gatewayMetrics);
         // We can only do member chunking with the GUILD_MEMBERS intent
         if ((intents & GatewayIntent.GUILD_MEMBERS.getRawValue()) == 0)
             jda.setChunkingFilter(ChunkingFilter.NONE);
@@ -28,7 +28,9 @@ import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.restaction.AuditableRestAction;
 import net.dv8tion.jda.api.requests.restaction.MessageAction;
 import net.dv8tion.jda.api.requests.restaction.pagination.ReactionPaginationAction;
+import net.dv8tion.jda.api.utils.AttachmentDownload;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.CdnCache;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.requests.FunctionalCallback;
 import net.dv8tion.jda.internal.requests.Requester;
@@ -42,6 +44,7 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -2813,6 +2816,8 @@ public interface Message extends ISnowflake, Formattable
          * Enqueues a request to retrieve the contents of this Attachment.
          * <br><b>The receiver is expected to close the retrieved {@link java.io.InputStream}.</b>
          *
+         * <p>If a {@link CdnCache} is configured, the contents are retrieved from the cache if they are still valid.
+         *
          * <h2>Example</h2>
          * <pre>{@code
          * public void printContents(Message.Attachment attachment)
@@ -2839,6 +2844,9 @@ public interface Message extends ISnowflake, Formattable
         @Nonnull
         public CompletableFuture<InputStream> retrieveInputStream() // it is expected that the response is closed by the callback!
         {
+            CdnCache cache = jda.getCdnCache();
+            if (cache != null)
+                return cache.retrieve(jda, getUrl());
             CompletableFuture<InputStream> future = new CompletableFuture<>();
             Request req = getRequest();
             OkHttpClient httpClient = getJDA().getHttpClient();
@@ -2862,8 +2870,7 @@ public interface Message extends ISnowflake, Formattable
 
         /**
          * Downloads the attachment into the current working directory using the file name provided by {@link #getFileName()}.
-         * <br>This will download the file using the {@link net.dv8tion.jda.api.JDA#getCallbackPool() callback pool}.
-         * Alternatively you can use {@link #retrieveInputStream()} and use a continuation with a different executor.
+         * <br>The file is written by the http client, see {@link #download(Path)} for more options.
          *
          * <h2>Example</h2>
          * <pre>{@code
@@ -2889,8 +2896,7 @@ public interface Message extends ISnowflake, Formattable
 
         /**
          * Downloads the attachment to a file at the specified path (relative or absolute).
-         * <br>This will download the file using the {@link net.dv8tion.jda.api.JDA#getCallbackPool() callback pool}.
-         * Alternatively you can use {@link #retrieveInputStream()} and use a continuation with a different executor.
+         * <br>The file is written by the http client, see {@link #download(Path)} for more options.
          *
          * <h2>Example</h2>
          * <pre>{@code
@@ -2923,8 +2929,7 @@ public interface Message extends ISnowflake, Formattable
 
         /**
          * Downloads the attachment to a file at the specified path (relative or absolute).
-         * <br>This will download the file using the {@link net.dv8tion.jda.api.JDA#getCallbackPool() callback pool}.
-         * Alternatively you can use {@link #retrieveInputStream()} and use a continuation with a different executor.
+         * <br>The file is written by the http client, see {@link #download(Path)} for more options.
          *
          * <h2>Example</h2>
          * <pre>{@code
@@ -2965,26 +2970,45 @@ public interface Message extends ISnowflake, Formattable
                 throw new IllegalArgumentException("Cannot create file", e);
             }
 
-            return retrieveInputStream().thenApplyAsync((stream) -> {
-                try (FileOutputStream out = new FileOutputStream(file))
-                {
-                    byte[] buf = new byte[1024];
-                    int count;
-                    while ((count = stream.read(buf)) > 0)
-                    {
-                        out.write(buf, 0, count);
-                    }
-                    return file;
-                }
-                catch (IOException e)
-                {
-                    throw new UncheckedIOException(e);
-                }
-                finally
-                {
-                    IOUtil.silentClose(stream);
-                }
-            }, getJDA().getCallbackPool());
+            return download(file.toPath()).submit().thenApply(path -> file);
+        }
+
+        /**
+         * Creates an {@link AttachmentDownload} into the provided file.
+         * <br>Unlike {@link #downloadToFile(File)}, this can resume partial downloads and fetch large files
+         * in parallel segments.
+         *
+         * <h2>Example</h2>
+         * <pre>{@code
+         * public void archive(Message.Attachment attachment, Path directory)
+         * {
+         *     attachment.download(directory.resolve(attachment.getId()))
+         *         .resume(true)
+         *         .segments(4)
+         *         .submit()
+         *         .exceptionally(t ->
+         *         { // handle failure
+         *             t.printStackTrace();
+         *             return null;
+         *         });
+         * }
+         * }</pre>
+         *
+         * @param  path
+         *         The file to write to
+         *
+         * @throws java.lang.IllegalArgumentException
+         *         If the provided path is null
+         *
+         * @return {@link AttachmentDownload}
+         *
+         * @since  5.0.0
+         */
+        @Nonnull
+        @CheckReturnValue
+        public AttachmentDownload download(@Nonnull Path path)
+        {
+            return new AttachmentDownload(this, path);
         }
 
         /**
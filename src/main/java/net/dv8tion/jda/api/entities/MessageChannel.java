@@ -28,6 +28,7 @@ import net.dv8tion.jda.api.requests.restaction.pagination.MessagePaginationActio
 import net.dv8tion.jda.api.requests.restaction.pagination.PaginationAction;
 import net.dv8tion.jda.api.requests.restaction.pagination.ReactionPaginationAction;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.internal.JDAImpl;
@@ -285,6 +286,7 @@ public interface MessageChannel extends Channel, Formattable
      * @return List of futures representing all deletion tasks
      *
      * @see    CompletableFuture#allOf(java.util.concurrent.CompletableFuture[])
+     * @see    net.dv8tion.jda.api.utils.MessagePurge MessagePurge
      */
     @Nonnull
     default List<CompletableFuture<Void>> purgeMessagesById(@Nonnull long... messageIds)
@@ -537,6 +539,43 @@ public interface MessageChannel extends Channel, Formattable
         return new MessageActionImpl(getJDA(), null, this).apply(msg);
     }
 
+    /**
+     * Sends a message to this channel, using the serialized content, embeds and components of the provided template.
+     * <br>Only the placeholder values are inserted when sending, the rest of the message is not serialized again.
+     *
+     * <p>The same {@link net.dv8tion.jda.api.requests.ErrorResponse ErrorResponses} as {@link #sendMessage(Message)} are possible.
+     *
+     * @param  template
+     *         The {@link MessageTemplate}
+     * @param  values
+     *         The placeholder values
+     *
+     * @throws net.dv8tion.jda.api.exceptions.InsufficientPermissionException
+     *         If this is a {@link net.dv8tion.jda.api.entities.TextChannel TextChannel} and the logged in account does
+     *         not have
+     *         <ul>
+     *             <li>{@link net.dv8tion.jda.api.Permission#VIEW_CHANNEL Permission.VIEW_CHANNEL}</li>
+     *             <li>{@link net.dv8tion.jda.api.Permission#MESSAGE_SEND Permission.MESSAGE_SEND}</li>
+     *         </ul>
+     * @throws java.lang.IllegalArgumentException
+     *         If null is provided or a placeholder has no value
+     * @throws java.lang.UnsupportedOperationException
+     *         If this is a {@link net.dv8tion.jda.api.entities.PrivateChannel PrivateChannel}
+     *         and both the currently logged in account and the target user are bots.
+     *
+     * @return {@link MessageAction MessageAction}
+     *         <br>The newly created Message after it has been sent to Discord.
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    @CheckReturnValue
+    default MessageAction sendMessage(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values)
+    {
+        Checks.notNull(template, "Template");
+        return new MessageActionImpl(getJDA(), null, this).applyTemplate(template, values);
+    }
+
     /**
      * Uploads a file to the Discord servers and sends it to this {@link net.dv8tion.jda.api.entities.MessageChannel MessageChannel}.
      * Sends the provided {@link net.dv8tion.jda.api.entities.Message Message} with the uploaded file.
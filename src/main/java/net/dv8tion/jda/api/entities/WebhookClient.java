@@ -23,6 +23,7 @@ import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.restaction.WebhookMessageAction;
 import net.dv8tion.jda.api.requests.restaction.WebhookMessageUpdateAction;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.CheckReturnValue;
@@ -85,6 +86,33 @@ public interface WebhookClient<T>
     @CheckReturnValue
     WebhookMessageAction<T> sendMessage(@Nonnull Message message);
 
+    /**
+     * Send a message to this webhook, using the serialized content, embeds and components of the provided template.
+     *
+     * <p>If this is an {@link net.dv8tion.jda.api.interactions.InteractionHook InteractionHook} this method will be delayed until the interaction is acknowledged.
+     *
+     * <p>Possible {@link net.dv8tion.jda.api.requests.ErrorResponse ErrorResponses} include:
+     * <ul>
+     *     <li>{@link net.dv8tion.jda.api.requests.ErrorResponse#UNKNOWN_WEBHOOK UNKNOWN_WEBHOOK}
+     *     <br>The webhook is no longer available, either it was deleted or in case of interactions it expired.</li>
+     * </ul>
+     *
+     * @param  template
+     *         The {@link MessageTemplate}
+     * @param  values
+     *         The placeholder values
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or a placeholder has no value
+     *
+     * @return {@link WebhookMessageAction}
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    @CheckReturnValue
+    WebhookMessageAction<T> sendMessage(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values);
+
     /**
      * Send a message to this webhook.
      *
@@ -106,6 +106,13 @@ public class CommandAutoCompleteInteractionEvent extends GenericAutoCompleteInte
         return interaction.getOptions();
     }
 
+    @Nullable
+    @Override
+    public OptionMapping getOption(@Nonnull String name)
+    {
+        return interaction.getOption(name);
+    }
+
     @Nonnull
     @Override
     public AutoCompleteCallbackAction replyChoices(@Nonnull Collection<Command.Choice> choices)
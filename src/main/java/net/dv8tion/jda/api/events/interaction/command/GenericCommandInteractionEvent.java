@@ -90,6 +90,13 @@ public class GenericCommandInteractionEvent extends GenericInteractionCreateEven
         return getInteraction().getOptions();
     }
 
+    @Nullable
+    @Override
+    public OptionMapping getOption(@Nonnull String name)
+    {
+        return getInteraction().getOption(name);
+    }
+
     @Nonnull
     @Override
     public InteractionHook getHook()
@@ -0,0 +1,708 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.interactions;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.MessageContextInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.UserContextInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.SelectMenuInteractionEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Listener which dispatches interactions directly to the handler of their command or component.
+ *
+ * <p>Routes are compiled once by the {@link Builder}: commands are looked up by name, subcommand group and subcommand
+ * in nested hash tables, and components are matched against a trie of custom id prefixes.
+ * This replaces a chain of listeners which each compare the command name or custom id of every event.
+ *
+ * <p>Interactions without a route are passed to the {@link Builder#setFallback(Consumer) fallback}, if any.
+ * Each route keeps track of its invocations, failures and handler latency, see {@link #getRoutes()}.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * SlashCommandData mod = Commands.slash("mod", "Moderation commands");
+ * SubcommandData ban = new SubcommandData("ban", "Ban a user")
+ *     .addOption(OptionType.USER, "user", "The user to ban", true);
+ * mod.addSubcommands(ban);
+ *
+ * InteractionRouter router = InteractionRouter.builder()
+ *     .addSubcommand(mod, ban, event -> event.reply("Banned " + event.getOption("user").getAsUser()).queue())
+ *     .addButton("confirm:", event -> event.deferEdit().queue())
+ *     .build();
+ * jda.addEventListener(router);
+ * jda.updateCommands().addCommands(router.getCommands()).queue();
+ * }</pre>
+ *
+ * @since 5.0.0
+ */
+public class InteractionRouter implements EventListener
+{
+    private final Map<String, CommandNode<SlashCommandInteractionEvent>> slashCommands;
+    private final Map<String, CommandNode<CommandAutoCompleteInteractionEvent>> autoComplete;
+    private final Map<String, Route<UserContextInteractionEvent>> userCommands;
+    private final Map<String, Route<MessageContextInteractionEvent>> messageCommands;
+    private final PrefixNode<ButtonInteractionEvent> buttons;
+    private final PrefixNode<SelectMenuInteractionEvent> selectMenus;
+    private final Consumer<? super GenericInteractionCreateEvent> fallback;
+    private final List<SlashCommandData> commands;
+    private final List<Route<?>> routes;
+
+    protected InteractionRouter(Builder builder)
+    {
+        this.slashCommands = builder.slashCommands;
+        this.autoComplete = builder.autoComplete;
+        this.userCommands = builder.userCommands;
+        this.messageCommands = builder.messageCommands;
+        this.buttons = builder.buttons;
+        this.selectMenus = builder.selectMenus;
+        this.fallback = builder.fallback;
+        this.commands = Collections.unmodifiableList(new ArrayList<>(builder.commands));
+        this.routes = Collections.unmodifiableList(new ArrayList<>(builder.routes));
+    }
+
+    /**
+     * Creates a new {@link Builder}.
+     *
+     * @return The new builder
+     */
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * The commands which were used to register routes, for use with {@link net.dv8tion.jda.api.JDA#updateCommands() JDA.updateCommands()}.
+     *
+     * @return Immutable list of commands
+     */
+    @Nonnull
+    public List<SlashCommandData> getCommands()
+    {
+        return commands;
+    }
+
+    /**
+     * All routes of this router, in the order they were added.
+     *
+     * @return Immutable list of routes
+     */
+    @Nonnull
+    public List<Route<?>> getRoutes()
+    {
+        return routes;
+    }
+
+    @Override
+    public void onEvent(@Nonnull GenericEvent event)
+    {
+        if (!(event instanceof GenericInteractionCreateEvent))
+            return;
+
+        GenericInteractionCreateEvent interaction = (GenericInteractionCreateEvent) event;
+        Route<?> route;
+        if (event instanceof SlashCommandInteractionEvent)
+        {
+            SlashCommandInteractionEvent command = (SlashCommandInteractionEvent) event;
+            route = dispatch(findCommand(slashCommands, command.getName(), command.getSubcommandGroup(), command.getSubcommandName()), command);
+        }
+        else if (event instanceof CommandAutoCompleteInteractionEvent)
+        {
+            CommandAutoCompleteInteractionEvent command = (CommandAutoCompleteInteractionEvent) event;
+            route = dispatch(findCommand(autoComplete, command.getName(), command.getSubcommandGroup(), command.getSubcommandName()), command);
+        }
+        else if (event instanceof UserContextInteractionEvent)
+        {
+            UserContextInteractionEvent command = (UserContextInteractionEvent) event;
+            route = dispatch(userCommands.get(command.getName()), command);
+        }
+        else if (event instanceof MessageContextInteractionEvent)
+        {
+            MessageContextInteractionEvent command = (MessageContextInteractionEvent) event;
+            route = dispatch(messageCommands.get(command.getName()), command);
+        }
+        else if (event instanceof ButtonInteractionEvent)
+        {
+            ButtonInteractionEvent button = (ButtonInteractionEvent) event;
+            route = dispatch(buttons.find(button.getComponentId()), button);
+        }
+        else if (event instanceof SelectMenuInteractionEvent)
+        {
+            SelectMenuInteractionEvent menu = (SelectMenuInteractionEvent) event;
+            route = dispatch(selectMenus.find(menu.getComponentId()), menu);
+        }
+        else
+        {
+            route = null;
+        }
+
+        if (route == null && fallback != null)
+            fallback.accept(interaction);
+    }
+
+    private static <T extends GenericInteractionCreateEvent> Route<T> dispatch(@Nullable Route<T> route, T event)
+    {
+        if (route != null)
+            route.handle(event);
+        return route;
+    }
+
+    private static <T extends GenericInteractionCreateEvent> Route<T> findCommand(Map<String, CommandNode<T>> commands, String name, String group, String subcommand)
+    {
+        CommandNode<T> node = commands.get(name);
+        if (node != null && group != null)
+            node = node.children.get(group);
+        if (node != null && subcommand != null)
+            node = node.children.get(subcommand);
+        return node == null ? null : node.route;
+    }
+
+    /**
+     * Handler of a single command path or custom id prefix, with its metrics.
+     *
+     * @param <T>
+     *        The event type of the handler
+     */
+    public static class Route<T extends GenericInteractionCreateEvent>
+    {
+        private final String path;
+        private final Consumer<? super T> handler;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        protected Route(String path, Consumer<? super T> handler)
+        {
+            this.path = path;
+            this.handler = handler;
+        }
+
+        protected void handle(T event)
+        {
+            long start = System.nanoTime();
+            try
+            {
+                handler.accept(event);
+            }
+            catch (Throwable t)
+            {
+                failures.increment();
+                throw t;
+            }
+            finally
+            {
+                long duration = System.nanoTime() - start;
+                invocations.increment();
+                totalNanos.add(duration);
+                maxNanos.accumulateAndGet(duration, Math::max);
+            }
+        }
+
+        /**
+         * The command path, like {@code "mod/ban"}, or the custom id prefix of this route.
+         *
+         * @return The path
+         */
+        @Nonnull
+        public String getPath()
+        {
+            return path;
+        }
+
+        /**
+         * The amount of times this route was invoked.
+         *
+         * @return The amount of invocations
+         */
+        public long getInvocations()
+        {
+            return invocations.sum();
+        }
+
+        /**
+         * The amount of invocations which threw an exception.
+         *
+         * @return The amount of failures
+         */
+        public long getFailures()
+        {
+            return failures.sum();
+        }
+
+        /**
+         * The total time spent in the handler.
+         *
+         * @param  unit
+         *         The time unit
+         *
+         * @return The total time
+         */
+        public long getTotalTime(@Nonnull TimeUnit unit)
+        {
+            return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * The longest time spent in a single invocation of the handler.
+         *
+         * @param  unit
+         *         The time unit
+         *
+         * @return The maximum time
+         */
+        public long getMaxTime(@Nonnull TimeUnit unit)
+        {
+            return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Route(" + path + ")";
+        }
+    }
+
+    /**
+     * Builder for an {@link InteractionRouter}.
+     * <br>Each command path and custom id prefix can only be used once.
+     */
+    public static class Builder
+    {
+        private final Map<String, CommandNode<SlashCommandInteractionEvent>> slashCommands = new HashMap<>();
+        private final Map<String, CommandNode<CommandAutoCompleteInteractionEvent>> autoComplete = new HashMap<>();
+        private final Map<String, Route<UserContextInteractionEvent>> userCommands = new HashMap<>();
+        private final Map<String, Route<MessageContextInteractionEvent>> messageCommands = new HashMap<>();
+        private final PrefixNode<ButtonInteractionEvent> buttons = new PrefixNode<>();
+        private final PrefixNode<SelectMenuInteractionEvent> selectMenus = new PrefixNode<>();
+        private final Set<SlashCommandData> commands = new LinkedHashSet<>();
+        private final List<Route<?>> routes = new ArrayList<>();
+        private Consumer<? super GenericInteractionCreateEvent> fallback;
+
+        protected Builder() {}
+
+        /**
+         * Adds a route for a slash command path.
+         * <br>The path consists of the command name, followed by the subcommand group and subcommand if present,
+         * separated by {@code /}. This is the same format as {@link net.dv8tion.jda.api.interactions.commands.CommandInteractionPayload#getCommandPath() getCommandPath()}.
+         *
+         * @param  path
+         *         The command path, like {@code "mod/ban"}
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided, the path is invalid, or the path already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addSlashCommand(@Nonnull String path, @Nonnull Consumer<? super SlashCommandInteractionEvent> handler)
+        {
+            addCommandRoute(slashCommands, path, handler);
+            return this;
+        }
+
+        /**
+         * Adds a route for a slash command without subcommands.
+         * <br>The command is included in {@link InteractionRouter#getCommands()}.
+         *
+         * @param  command
+         *         The command
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided, the command has subcommands, or the command already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addSlashCommand(@Nonnull SlashCommandData command, @Nonnull Consumer<? super SlashCommandInteractionEvent> handler)
+        {
+            Checks.notNull(command, "Command");
+            Checks.check(command.getSubcommands().isEmpty() && command.getSubcommandGroups().isEmpty(),
+                    "Command %s has subcommands, use addSubcommand instead", command.getName());
+            addCommandRoute(slashCommands, command.getName(), handler);
+            commands.add(command);
+            return this;
+        }
+
+        /**
+         * Adds a route for a subcommand.
+         * <br>The command is included in {@link InteractionRouter#getCommands()}.
+         *
+         * @param  command
+         *         The command
+         * @param  subcommand
+         *         The subcommand, which must be part of the command
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided, the subcommand is not part of the command, or the subcommand already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addSubcommand(@Nonnull SlashCommandData command, @Nonnull SubcommandData subcommand, @Nonnull Consumer<? super SlashCommandInteractionEvent> handler)
+        {
+            Checks.notNull(command, "Command");
+            Checks.notNull(subcommand, "Subcommand");
+            Checks.check(hasSubcommand(command.getSubcommands(), subcommand.getName()), "Subcommand %s is not part of command %s", subcommand.getName(), command.getName());
+            addCommandRoute(slashCommands, command.getName() + "/" + subcommand.getName(), handler);
+            commands.add(command);
+            return this;
+        }
+
+        /**
+         * Adds a route for a subcommand in a subcommand group.
+         * <br>The command is included in {@link InteractionRouter#getCommands()}.
+         *
+         * @param  command
+         *         The command
+         * @param  group
+         *         The subcommand group, which must be part of the command
+         * @param  subcommand
+         *         The subcommand, which must be part of the group
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided, the subcommand is not part of the command, or the subcommand already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addSubcommand(@Nonnull SlashCommandData command, @Nonnull SubcommandGroupData group, @Nonnull SubcommandData subcommand, @Nonnull Consumer<? super SlashCommandInteractionEvent> handler)
+        {
+            Checks.notNull(command, "Command");
+            Checks.notNull(group, "Group");
+            Checks.notNull(subcommand, "Subcommand");
+            // The command data returns copies of its subcommands and groups, so they are matched by name
+            SubcommandGroupData registered = command.getSubcommandGroups().stream()
+                    .filter(g -> g.getName().equals(group.getName()))
+                    .findFirst().orElse(null);
+            Checks.check(registered != null, "Group %s is not part of command %s", group.getName(), command.getName());
+            Checks.check(hasSubcommand(registered.getSubcommands(), subcommand.getName()), "Subcommand %s is not part of group %s", subcommand.getName(), group.getName());
+            addCommandRoute(slashCommands, command.getName() + "/" + group.getName() + "/" + subcommand.getName(), handler);
+            commands.add(command);
+            return this;
+        }
+
+        private static boolean hasSubcommand(List<SubcommandData> subcommands, String name)
+        {
+            return subcommands.stream().anyMatch(s -> s.getName().equals(name));
+        }
+
+        /**
+         * Adds a route for the auto-complete interactions of a slash command path.
+         *
+         * @param  path
+         *         The command path, like {@code "mod/ban"}
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided, the path is invalid, or the path already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         *
+         * @see    #addSlashCommand(String, Consumer)
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addAutoComplete(@Nonnull String path, @Nonnull Consumer<? super CommandAutoCompleteInteractionEvent> handler)
+        {
+            addCommandRoute(autoComplete, path, handler);
+            return this;
+        }
+
+        /**
+         * Adds a route for a user context command.
+         *
+         * @param  name
+         *         The command name
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided or the name already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addUserContext(@Nonnull String name, @Nonnull Consumer<? super UserContextInteractionEvent> handler)
+        {
+            addNamedRoute(userCommands, name, handler);
+            return this;
+        }
+
+        /**
+         * Adds a route for a message context command.
+         *
+         * @param  name
+         *         The command name
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided or the name already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addMessageContext(@Nonnull String name, @Nonnull Consumer<? super MessageContextInteractionEvent> handler)
+        {
+            addNamedRoute(messageCommands, name, handler);
+            return this;
+        }
+
+        /**
+         * Adds a route for buttons with a custom id that starts with the provided prefix.
+         * <br>If multiple prefixes match, the longest one is used.
+         *
+         * @param  prefix
+         *         The custom id prefix, or the entire custom id
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided or the prefix already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addButton(@Nonnull String prefix, @Nonnull Consumer<? super ButtonInteractionEvent> handler)
+        {
+            addPrefixRoute(buttons, prefix, handler);
+            return this;
+        }
+
+        /**
+         * Adds a route for select menus with a custom id that starts with the provided prefix.
+         * <br>If multiple prefixes match, the longest one is used.
+         *
+         * @param  prefix
+         *         The custom id prefix, or the entire custom id
+         * @param  handler
+         *         The handler
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided or the prefix already has a route
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder addSelectMenu(@Nonnull String prefix, @Nonnull Consumer<? super SelectMenuInteractionEvent> handler)
+        {
+            addPrefixRoute(selectMenus, prefix, handler);
+            return this;
+        }
+
+        /**
+         * Handler for interactions without a route.
+         *
+         * @param  fallback
+         *         The handler, or null to ignore these interactions
+         *
+         * @return The Builder instance. Useful for chaining.
+         */
+        @Nonnull
+        @CheckReturnValue
+        public Builder setFallback(@Nullable Consumer<? super GenericInteractionCreateEvent> fallback)
+        {
+            this.fallback = fallback;
+            return this;
+        }
+
+        /**
+         * Compiles the routes into a new {@link InteractionRouter}.
+         * <br>The builder can be reused, changes do not affect routers which were already built.
+         *
+         * @return The new router
+         */
+        @Nonnull
+        public InteractionRouter build()
+        {
+            // The router takes the tables of a copy, so they are never modified after compilation
+            return new InteractionRouter(copy());
+        }
+
+        private Builder copy()
+        {
+            Builder copy = new Builder();
+            slashCommands.forEach((name, node) -> copy.slashCommands.put(name, node.copy()));
+            autoComplete.forEach((name, node) -> copy.autoComplete.put(name, node.copy()));
+            copy.userCommands.putAll(userCommands);
+            copy.messageCommands.putAll(messageCommands);
+            copy.buttons.addAll(buttons);
+            copy.selectMenus.addAll(selectMenus);
+            copy.commands.addAll(commands);
+            copy.routes.addAll(routes);
+            copy.fallback = fallback;
+            return copy;
+        }
+
+        private <T extends GenericInteractionCreateEvent> void addCommandRoute(Map<String, CommandNode<T>> commands, String path, Consumer<? super T> handler)
+        {
+            Checks.notEmpty(path, "Path");
+            Checks.notNull(handler, "Handler");
+            String[] parts = path.split("/", -1);
+            Checks.check(parts.length <= 3, "Path can have at most 3 parts, provided: %s", path);
+            for (String part : parts)
+                Checks.check(!part.isEmpty(), "Path cannot have empty parts, provided: %s", path);
+
+            CommandNode<T> node = commands.computeIfAbsent(parts[0], k -> new CommandNode<>());
+            for (int i = 1; i < parts.length; i++)
+                node = node.children.computeIfAbsent(parts[i], k -> new CommandNode<>());
+            Checks.check(node.route == null, "Path %s already has a route", path);
+            node.route = new Route<>(path, handler);
+            routes.add(node.route);
+        }
+
+        private <T extends GenericInteractionCreateEvent> void addNamedRoute(Map<String, Route<T>> commands, String name, Consumer<? super T> handler)
+        {
+            Checks.notEmpty(name, "Name");
+            Checks.notNull(handler, "Handler");
+            Checks.check(!commands.containsKey(name), "Command %s already has a route", name);
+            Route<T> route = new Route<>(name, handler);
+            commands.put(name, route);
+            routes.add(route);
+        }
+
+        private <T extends GenericInteractionCreateEvent> void addPrefixRoute(PrefixNode<T> root, String prefix, Consumer<? super T> handler)
+        {
+            Checks.notNull(prefix, "Prefix");
+            Checks.notNull(handler, "Handler");
+            Route<T> route = new Route<>(prefix, handler);
+            Checks.check(root.insert(prefix, route), "Prefix %s already has a route", prefix);
+            routes.add(route);
+        }
+    }
+
+    // Trie of command name, subcommand group, and subcommand
+    private static class CommandNode<T extends GenericInteractionCreateEvent>
+    {
+        private final Map<String, CommandNode<T>> children = new HashMap<>();
+        private Route<T> route;
+
+        private CommandNode<T> copy()
+        {
+            CommandNode<T> copy = new CommandNode<>();
+            copy.route = route;
+            children.forEach((name, child) -> copy.children.put(name, child.copy()));
+            return copy;
+        }
+    }
+
+    // Character trie of custom id prefixes, children are sorted by character for binary search
+    private static class PrefixNode<T extends GenericInteractionCreateEvent>
+    {
+        private char[] keys = new char[0];
+        private PrefixNode<T>[] children = newArray(0);
+        private Route<T> route;
+
+        private boolean insert(String prefix, Route<T> route)
+        {
+            PrefixNode<T> node = this;
+            for (int i = 0; i < prefix.length(); i++)
+                node = node.child(prefix.charAt(i));
+            if (node.route != null)
+                return false;
+            node.route = route;
+            return true;
+        }
+
+        private void addAll(PrefixNode<T> other)
+        {
+            if (other.route != null)
+                route = other.route;
+            for (int i = 0; i < other.keys.length; i++)
+                child(other.keys[i]).addAll(other.children[i]);
+        }
+
+        private PrefixNode<T> child(char key)
+        {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0)
+                return children[index];
+
+            index = -index - 1;
+            PrefixNode<T> child = new PrefixNode<>();
+            char[] newKeys = new char[keys.length + 1];
+            PrefixNode<T>[] newChildren = newArray(children.length + 1);
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = key;
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        // Longest matching prefix
+        private Route<T> find(String id)
+        {
+            PrefixNode<T> node = this;
+            Route<T> match = route;
+            for (int i = 0; i < id.length(); i++)
+            {
+                int index = Arrays.binarySearch(node.keys, id.charAt(i));
+                if (index < 0)
+                    break;
+                node = node.children[index];
+                if (node.route != null)
+                    match = node.route;
+            }
+            return match;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends GenericInteractionCreateEvent> PrefixNode<T>[] newArray(int length)
+        {
+            return (PrefixNode<T>[]) new PrefixNode[length];
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.interactions;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.exceptions.ParsingException;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.handle.InteractionCreateHandler;
+import net.dv8tion.jda.internal.interactions.InteractionResponder;
+import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Receives interactions through the outgoing webhook of an application, instead of the gateway.
+ * <br>This is the <b>Interactions Endpoint URL</b> in the settings of your application.
+ *
+ * <p>Requests are verified with the public key of the application and dispatched as the same events as gateway interactions,
+ * on the thread which calls {@link #handle(String, String, byte[], ResponseSender) handle(...)}.
+ * The first callback of an interaction, such as {@link net.dv8tion.jda.api.interactions.callbacks.IReplyCallback#reply(String) reply(...)},
+ * is sent in the http response instead of a separate request.
+ * If no callback is used before the {@link #setResponseTimeout(long, TimeUnit) response timeout},
+ * the request is answered with {@code 202 Accepted} and later callbacks are sent through the REST api.
+ *
+ * <p>This class is independent of the http server. {@link InteractionWebhookServer} provides a server based on the
+ * JDK {@link com.sun.net.httpserver.HttpServer HttpServer}, other servers can call {@link #handle(String, String, byte[], ResponseSender) handle(...)}
+ * with the {@code X-Signature-Ed25519} and {@code X-Signature-Timestamp} headers and the raw body of the request.
+ *
+ * <p>Interactions of guilds which are not available to the receiving JDA instance are answered with {@code 503 Service Unavailable},
+ * the same interactions would be discarded by the gateway.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * InteractionWebhook webhook = InteractionWebhook.create(publicKey, shardManager);
+ * new InteractionWebhookServer(webhook, new InetSocketAddress(8080), "/interactions").start();
+ * }</pre>
+ *
+ * @see InteractionWebhookServer
+ *
+ * @since 5.0.0
+ */
+public class InteractionWebhook
+{
+    public static final Logger LOG = JDALogger.getLog(InteractionWebhook.class);
+
+    /** The default time to wait for the first callback of an interaction, in milliseconds */
+    public static final long DEFAULT_RESPONSE_TIMEOUT = 2500;
+    /** The maximum difference between the signature timestamp and the current time, in seconds */
+    public static final long MAX_TIMESTAMP_SKEW = 300;
+
+    private static final byte[] PONG = DataObject.empty().put("type", InteractionType.PING.getKey()).toJson();
+
+    private final byte[] publicKey;
+    private final Function<DataObject, JDA> router;
+    private long responseTimeout = DEFAULT_RESPONSE_TIMEOUT;
+
+    protected InteractionWebhook(byte[] publicKey, Function<DataObject, JDA> router)
+    {
+        this.publicKey = publicKey;
+        this.router = router;
+    }
+
+    /**
+     * Creates a webhook which dispatches all interactions to the provided JDA instance.
+     *
+     * @param  publicKey
+     *         The public key of the application, as shown in the developer portal
+     * @param  api
+     *         The JDA instance
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or the public key is not a hex encoded Ed25519 key
+     *
+     * @return New InteractionWebhook
+     */
+    @Nonnull
+    public static InteractionWebhook create(@Nonnull String publicKey, @Nonnull JDA api)
+    {
+        Checks.notNull(api, "JDA");
+        return new InteractionWebhook(parsePublicKey(publicKey), content -> api);
+    }
+
+    /**
+     * Creates a webhook which dispatches interactions to the shard of their guild.
+     * <br>Interactions in private channels are dispatched to shard 0.
+     *
+     * @param  publicKey
+     *         The public key of the application, as shown in the developer portal
+     * @param  shardManager
+     *         The ShardManager
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or the public key is not a hex encoded Ed25519 key
+     *
+     * @return New InteractionWebhook
+     */
+    @Nonnull
+    public static InteractionWebhook create(@Nonnull String publicKey, @Nonnull ShardManager shardManager)
+    {
+        Checks.notNull(shardManager, "ShardManager");
+        return new InteractionWebhook(parsePublicKey(publicKey), content -> {
+            long guildId = content.getUnsignedLong("guild_id", 0);
+            return shardManager.getShardById((int) ((guildId >>> 22) % shardManager.getShardsTotal()));
+        });
+    }
+
+    /**
+     * The time to wait for the first callback of an interaction, before the request is answered without it.
+     * <br>Discord fails interactions which are not acknowledged within 3 seconds.
+     *
+     * <p>Default: {@value #DEFAULT_RESPONSE_TIMEOUT} milliseconds
+     *
+     * @param  timeout
+     *         The timeout
+     * @param  unit
+     *         The time unit
+     *
+     * @throws IllegalArgumentException
+     *         If the timeout is not positive or the unit is null
+     *
+     * @return The InteractionWebhook instance. Useful for chaining.
+     */
+    @Nonnull
+    public InteractionWebhook setResponseTimeout(long timeout, @Nonnull TimeUnit unit)
+    {
+        Checks.positive(timeout, "Timeout");
+        Checks.notNull(unit, "TimeUnit");
+        this.responseTimeout = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Whether the request was signed by Discord.
+     * <br>Requests with a timestamp which differs from the current time by more than {@value #MAX_TIMESTAMP_SKEW} seconds are rejected,
+     * which prevents the replay of old requests.
+     *
+     * @param  signature
+     *         The {@code X-Signature-Ed25519} header
+     * @param  timestamp
+     *         The {@code X-Signature-Timestamp} header
+     * @param  body
+     *         The raw request body
+     *
+     * @return True, if the signature is valid
+     */
+    public boolean verify(@Nullable String signature, @Nullable String timestamp, @Nonnull byte[] body)
+    {
+        Checks.notNull(body, "Body");
+        if (signature == null || timestamp == null || signature.length() != TweetNaclFast.Signature.signatureLength * 2)
+            return false;
+
+        long time;
+        try
+        {
+            time = Long.parseLong(timestamp);
+        }
+        catch (NumberFormatException e)
+        {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() / 1000 - time) > MAX_TIMESTAMP_SKEW)
+            return false;
+
+        byte[] signatureBytes = fromHex(signature);
+        if (signatureBytes == null)
+            return false;
+        byte[] timestampBytes = timestamp.getBytes(StandardCharsets.UTF_8);
+        byte[] message = new byte[timestampBytes.length + body.length];
+        System.arraycopy(timestampBytes, 0, message, 0, timestampBytes.length);
+        System.arraycopy(body, 0, message, timestampBytes.length, body.length);
+        return new TweetNaclFast.Signature(publicKey, null).detached_verify(message, signatureBytes);
+    }
+
+    /**
+     * Handles a request of the interactions webhook.
+     * <br>The event of the interaction is fired on the calling thread, unless an event pool is configured.
+     * The response is passed to the sender once the first callback is used, the interaction is rejected, or the timeout expires.
+     * This can happen before or after this method returns, the sender is called exactly once.
+     *
+     * @param  signature
+     *         The {@code X-Signature-Ed25519} header
+     * @param  timestamp
+     *         The {@code X-Signature-Timestamp} header
+     * @param  body
+     *         The raw request body
+     * @param  sender
+     *         Writes the response
+     *
+     * @throws IllegalArgumentException
+     *         If the body or sender is null
+     */
+    public void handle(@Nullable String signature, @Nullable String timestamp, @Nonnull byte[] body, @Nonnull ResponseSender sender)
+    {
+        Checks.notNull(sender, "Sender");
+        InteractionResponder responder = new InteractionResponder(sender);
+        if (!verify(signature, timestamp, body))
+        {
+            responder.reject(new Response(401));
+            return;
+        }
+
+        DataObject content;
+        try
+        {
+            content = DataObject.fromJson(body);
+        }
+        catch (ParsingException e)
+        {
+            responder.reject(new Response(400));
+            return;
+        }
+
+        if (content.getInt("type", -1) == InteractionType.PING.getKey())
+        {
+            responder.reject(new Response(200, "application/json", PONG));
+            return;
+        }
+
+        JDAImpl api = (JDAImpl) router.apply(content);
+        WebSocketClient client = api == null ? null : api.getClient();
+        if (client == null)
+        {
+            responder.reject(new Response(503));
+            return;
+        }
+
+        HashedWheelTimer.Timeout timeout = api.getTimeoutTimer().schedule(() ->
+            api.getCallbackPool().execute(() -> responder.reject(new Response(202))), responseTimeout, TimeUnit.MILLISECONDS);
+        try
+        {
+            InteractionCreateHandler handler = client.getHandler("INTERACTION_CREATE");
+            if (!handler.handleWebhook(content, responder) && responder.reject(new Response(503)))
+                timeout.cancel();
+        }
+        catch (Exception e)
+        {
+            LOG.error("Failed to handle interaction received through webhook", e);
+            if (responder.reject(new Response(500)))
+                timeout.cancel();
+        }
+    }
+
+    private static byte[] parsePublicKey(String publicKey)
+    {
+        Checks.notNull(publicKey, "Public Key");
+        byte[] key = publicKey.length() == TweetNaclFast.Signature.publicKeyLength * 2 ? fromHex(publicKey) : null;
+        Checks.check(key != null, "Public key must be %d hex encoded bytes", TweetNaclFast.Signature.publicKeyLength);
+        return key;
+    }
+
+    private static byte[] fromHex(String hex)
+    {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0)
+                return null;
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the response of a webhook request.
+     */
+    @FunctionalInterface
+    public interface ResponseSender
+    {
+        /**
+         * Writes the response.
+         * <br>If the response contains a callback of the interaction, the callback fails with the thrown exception.
+         *
+         * @param  response
+         *         The response
+         *
+         * @throws IOException
+         *         If the response cannot be written
+         */
+        void send(@Nonnull Response response) throws IOException;
+    }
+
+    /**
+     * Response of a webhook request.
+     */
+    public static class Response
+    {
+        private static final byte[] EMPTY = new byte[0];
+
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        public Response(int status)
+        {
+            this(status, null, EMPTY);
+        }
+
+        public Response(int status, @Nullable String contentType, @Nonnull byte[] body)
+        {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * The http status code.
+         *
+         * @return The status code
+         */
+        public int getStatus()
+        {
+            return status;
+        }
+
+        /**
+         * The content type of the body, or null if the body is empty.
+         *
+         * @return The content type
+         */
+        @Nullable
+        public String getContentType()
+        {
+            return contentType;
+        }
+
+        /**
+         * The response body, which is empty unless this answers a ping or contains a callback.
+         *
+         * @return The body
+         */
+        @Nonnull
+        public byte[] getBody()
+        {
+            return body;
+        }
+    }
+}
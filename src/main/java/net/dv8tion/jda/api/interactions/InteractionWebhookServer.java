@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.interactions;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves an {@link InteractionWebhook} with the JDK {@link HttpServer}.
+ *
+ * <p>The server only accepts {@code POST} requests on the configured path.
+ * It does not terminate TLS, which is usually done by a reverse proxy in front of it.
+ *
+ * <p>Interaction events are fired on the threads of the server executor.
+ * By default, this is a fixed pool with one daemon thread per available processor.
+ *
+ * @since 5.0.0
+ */
+public class InteractionWebhookServer
+{
+    /** The maximum size of a request body, larger requests are rejected with {@code 413 Payload Too Large} */
+    public static final int MAX_BODY_SIZE = 1 << 20;
+
+    private final InteractionWebhook webhook;
+    private final InetSocketAddress address;
+    private final String path;
+    private ExecutorService executor;
+    private boolean shutdownExecutor = true;
+    private HttpServer server;
+
+    /**
+     * Creates a server, which is not started yet.
+     *
+     * @param  webhook
+     *         The webhook which handles the requests
+     * @param  address
+     *         The address to bind
+     * @param  path
+     *         The path of the interactions endpoint, for example {@code "/interactions"}
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or the path does not start with {@code /}
+     */
+    public InteractionWebhookServer(@Nonnull InteractionWebhook webhook, @Nonnull InetSocketAddress address, @Nonnull String path)
+    {
+        Checks.notNull(webhook, "Webhook");
+        Checks.notNull(address, "Address");
+        Checks.notNull(path, "Path");
+        Checks.check(path.startsWith("/"), "Path must start with /");
+        this.webhook = webhook;
+        this.address = address;
+        this.path = path;
+    }
+
+    /**
+     * The executor which handles requests and fires the interaction events.
+     * <br>This must be configured before the server is started.
+     *
+     * @param  executor
+     *         The executor
+     * @param  automaticShutdown
+     *         Whether the executor is shut down when the server is stopped
+     *
+     * @throws IllegalArgumentException
+     *         If the executor is null
+     * @throws IllegalStateException
+     *         If the server was already started
+     *
+     * @return The InteractionWebhookServer instance. Useful for chaining.
+     */
+    @Nonnull
+    public synchronized InteractionWebhookServer setExecutor(@Nonnull ExecutorService executor, boolean automaticShutdown)
+    {
+        Checks.notNull(executor, "Executor");
+        Checks.check(server == null, "Cannot change the executor of a started server");
+        this.executor = executor;
+        this.shutdownExecutor = automaticShutdown;
+        return this;
+    }
+
+    /**
+     * Binds the address and starts accepting requests.
+     *
+     * @throws IllegalStateException
+     *         If the server was already started
+     * @throws UncheckedIOException
+     *         If the address cannot be bound
+     *
+     * @return The InteractionWebhookServer instance. Useful for chaining.
+     */
+    @Nonnull
+    public synchronized InteractionWebhookServer start()
+    {
+        Checks.check(server == null, "Server was already started");
+        try
+        {
+            server = HttpServer.create(address, 0);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        if (executor == null)
+        {
+            int threads = Runtime.getRuntime().availableProcessors();
+            executor = Executors.newFixedThreadPool(threads, new CountingThreadFactory(() -> "JDA", "InteractionWebhook"));
+        }
+        server.setExecutor(executor);
+        server.createContext(path, this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stops the server and closes all open connections.
+     */
+    public synchronized void stop()
+    {
+        if (server == null)
+            return;
+        server.stop(0);
+        if (shutdownExecutor)
+            executor.shutdown();
+    }
+
+    /**
+     * The bound address, which includes the actual port if the server was started with port 0.
+     *
+     * @return The address
+     */
+    @Nonnull
+    public synchronized InetSocketAddress getAddress()
+    {
+        return server == null ? address : server.getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        if (!"POST".equals(exchange.getRequestMethod()))
+        {
+            send(exchange, new InteractionWebhook.Response(405));
+            return;
+        }
+
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null)
+        {
+            send(exchange, new InteractionWebhook.Response(413));
+            return;
+        }
+
+        String signature = exchange.getRequestHeaders().getFirst("X-Signature-Ed25519");
+        String timestamp = exchange.getRequestHeaders().getFirst("X-Signature-Timestamp");
+        webhook.handle(signature, timestamp, body, response -> send(exchange, response));
+    }
+
+    private static byte[] readBody(InputStream stream) throws IOException
+    {
+        try (InputStream in = stream)
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+            {
+                if (out.size() + read > MAX_BODY_SIZE)
+                    return null;
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static void send(HttpExchange exchange, InteractionWebhook.Response response) throws IOException
+    {
+        try
+        {
+            byte[] body = response.getBody();
+            if (response.getContentType() != null)
+                exchange.getResponseHeaders().set("Content-Type", response.getContentType());
+            exchange.sendResponseHeaders(response.getStatus(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0)
+            {
+                try (OutputStream out = exchange.getResponseBody())
+                {
+                    out.write(body);
+                }
+            }
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+}
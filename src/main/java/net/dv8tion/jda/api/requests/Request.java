@@ -26,12 +26,14 @@ import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.requests.CallbackContext;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
 import okhttp3.RequestBody;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -53,8 +55,10 @@ public class Request<T>
 
     private final String localReason;
 
-    private boolean done = false;
+    private volatile boolean done = false;
+    private volatile boolean isExecuting = false;
     private boolean isCancelled = false;
+    private HashedWheelTimer.Timeout timeoutHandle;
 
     public Request(
             RestActionImpl<T> restAction, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure,
@@ -87,6 +91,7 @@ public class Request<T>
         if (done)
             return;
         done = true;
+        cancelTimeout();
         api.getCallbackPool().execute(() ->
         {
             try (ThreadLocalReason.Closable __ = ThreadLocalReason.closable(localReason);
@@ -124,6 +129,9 @@ public class Request<T>
         if (done)
             return;
         done = true;
+        cancelTimeout();
+        // Requests waiting for this response have to try on their own
+        api.getRequester().getCoalescer().release(this);
         api.getCallbackPool().execute(() ->
         {
             try (ThreadLocalReason.Closable __ = ThreadLocalReason.closable(localReason);
@@ -155,6 +163,34 @@ public class Request<T>
         onFailure(new TimeoutException("RestAction has timed out"));
     }
 
+    public void scheduleTimeout(@Nonnull HashedWheelTimer timer)
+    {
+        if (deadline <= 0)
+            return;
+        // The deadline is exclusive, see isTimeout()
+        long delay = deadline - System.currentTimeMillis() + 1;
+        timeoutHandle = timer.schedule(this::checkTimeout, delay, TimeUnit.MILLISECONDS);
+    }
+
+    public void setExecuting(boolean executing)
+    {
+        this.isExecuting = executing;
+    }
+
+    private void checkTimeout()
+    {
+        // Requests are not interrupted once they are executed, the requester checks the deadline before each attempt
+        if (!done && !isExecuting && isTimeout())
+            onTimeout();
+    }
+
+    private void cancelTimeout()
+    {
+        HashedWheelTimer.Timeout handle = timeoutHandle;
+        if (handle != null)
+            handle.cancel();
+    }
+
     @Nonnull
     public JDAImpl getJDA()
     {
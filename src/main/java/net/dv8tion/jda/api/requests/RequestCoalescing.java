@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.requests;
+
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescing settings for idempotent REST requests.
+ *
+ * <p>When enabled, a queued {@code GET} request for the same compiled route (including query parameters) as a request
+ * which is still pending does not take another place in the rate-limit bucket. Instead, it waits for the pending request
+ * and receives a copy of its response. Each {@link RestAction} still parses the response on its own, so callbacks
+ * receive independent entities.
+ *
+ * <p>Additionally, responses of selected {@link Endpoint endpoints} can be kept for a short time.
+ * Requests for the same compiled route within this time are completed with the cached response without any HTTP call.
+ * Only successful responses are cached, and any other request for the same path, such as a {@code PATCH}, invalidates the cache.
+ * Note that the cache is not aware of gateway events, so a cached response may be outdated by up to the configured time.
+ *
+ * <p>Requests with custom headers, or which are executed with {@link RestAction#complete(boolean) complete(false)}, are never coalesced.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * RequestCoalescing coalescing = RequestCoalescing.enabled()
+ *     .withCache(RequestCoalescing.Endpoint.USER, 30, TimeUnit.SECONDS)
+ *     .withCache(RequestCoalescing.Endpoint.MEMBER, 5, TimeUnit.SECONDS);
+ * builder.setRequestCoalescing(coalescing);
+ * }</pre>
+ *
+ * @since 5.0.0
+ */
+public class RequestCoalescing
+{
+    /**
+     * Never coalesce requests, this is the default.
+     */
+    public static final RequestCoalescing NONE = new RequestCoalescing(false, Collections.emptyMap(), 0);
+
+    /**
+     * The default maximum amount of cached responses.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final boolean enabled;
+    private final Map<Endpoint, Long> cacheTimes;
+    private final int cacheSize;
+
+    protected RequestCoalescing(boolean enabled, Map<Endpoint, Long> cacheTimes, int cacheSize)
+    {
+        this.enabled = enabled;
+        this.cacheTimes = cacheTimes;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Coalesces concurrent {@code GET} requests for the same compiled route, without caching any responses.
+     *
+     * @return New RequestCoalescing
+     */
+    @Nonnull
+    public static RequestCoalescing enabled()
+    {
+        return new RequestCoalescing(true, Collections.emptyMap(), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Keeps successful responses of the provided endpoint for the provided amount of time.
+     *
+     * @param  endpoint
+     *         The {@link Endpoint}, for example {@link Endpoint#USER}
+     * @param  time
+     *         The time to keep responses
+     * @param  unit
+     *         The time unit
+     *
+     * @throws IllegalArgumentException
+     *         If the endpoint or unit is null, or the time is not positive
+     *
+     * @return New RequestCoalescing with the cached endpoint
+     */
+    @Nonnull
+    public RequestCoalescing withCache(@Nonnull Endpoint endpoint, long time, @Nonnull TimeUnit unit)
+    {
+        Checks.notNull(endpoint, "Endpoint");
+        Checks.notNull(unit, "Unit");
+        Checks.positive(time, "Time");
+        Map<Endpoint, Long> times = new EnumMap<>(Endpoint.class);
+        times.putAll(cacheTimes);
+        times.put(endpoint, unit.toMillis(time));
+        return new RequestCoalescing(true, Collections.unmodifiableMap(times), cacheSize);
+    }
+
+    /**
+     * The maximum amount of cached responses.
+     * <br>Once this is reached, new responses are not cached until older responses have expired.
+     *
+     * @param  cacheSize
+     *         The maximum amount of cached responses
+     *
+     * @throws IllegalArgumentException
+     *         If the size is not positive
+     *
+     * @return New RequestCoalescing with the cache size
+     */
+    @Nonnull
+    public RequestCoalescing withCacheSize(int cacheSize)
+    {
+        Checks.positive(cacheSize, "Cache size");
+        return new RequestCoalescing(true, cacheTimes, cacheSize);
+    }
+
+    /**
+     * Whether requests are coalesced.
+     *
+     * @return True, if enabled
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * The time in milliseconds for which responses of the provided endpoint are cached.
+     *
+     * @param  endpoint
+     *         The endpoint
+     *
+     * @return The cache time in milliseconds, or 0 if the endpoint is not cached
+     */
+    public long getCacheTime(@Nonnull Endpoint endpoint)
+    {
+        Long time = cacheTimes.get(endpoint);
+        return time == null ? 0 : time;
+    }
+
+    /**
+     * The maximum amount of cached responses.
+     *
+     * @return The cache size
+     */
+    public int getCacheSize()
+    {
+        return cacheSize;
+    }
+
+    /**
+     * Whether any endpoint is cached.
+     *
+     * @return True, if responses are cached
+     */
+    public boolean isCaching()
+    {
+        return !cacheTimes.isEmpty();
+    }
+
+    /**
+     * The {@code GET} endpoints whose responses can be cached with {@link #withCache(Endpoint, long, TimeUnit)}.
+     */
+    public enum Endpoint
+    {
+        /** {@code GET users/{user_id}}, used by {@link net.dv8tion.jda.api.JDA#retrieveUserById(long) JDA.retrieveUserById} */
+        USER("users/{user_id}"),
+        /** {@code GET guilds/{guild_id}/members/{user_id}}, used by {@link net.dv8tion.jda.api.entities.Guild#retrieveMemberById(long) Guild.retrieveMemberById} */
+        MEMBER("guilds/{guild_id}/members/{user_id}"),
+        /** {@code GET guilds/{guild_id}} */
+        GUILD("guilds/{guild_id}"),
+        /** {@code GET guilds/{guild_id}/bans} */
+        BANS("guilds/{guild_id}/bans"),
+        /** {@code GET guilds/{guild_id}/bans/{user_id}} */
+        BAN("guilds/{guild_id}/bans/{user_id}"),
+        /** {@code GET guilds/{guild_id}/emojis} */
+        EMOTES("guilds/{guild_id}/emojis"),
+        /** {@code GET guilds/{guild_id}/emojis/{emoji_id}} */
+        EMOTE("guilds/{guild_id}/emojis/{emoji_id}"),
+        /** {@code GET guilds/{guild_id}/vanity-url} */
+        VANITY_URL("guilds/{guild_id}/vanity-url"),
+        /** {@code GET guilds/{guild_id}/regions} */
+        VOICE_REGIONS("guilds/{guild_id}/regions"),
+        /** {@code GET guilds/{guild_id}/webhooks} */
+        GUILD_WEBHOOKS("guilds/{guild_id}/webhooks"),
+        /** {@code GET channels/{channel_id}/webhooks} */
+        CHANNEL_WEBHOOKS("channels/{channel_id}/webhooks"),
+        /** {@code GET webhooks/{webhook_id}} */
+        WEBHOOK("webhooks/{webhook_id}"),
+        /** {@code GET channels/{channel_id}/messages/{message_id}} */
+        MESSAGE("channels/{channel_id}/messages/{message_id}"),
+        /** {@code GET channels/{channel_id}/pins} */
+        PINNED_MESSAGES("channels/{channel_id}/pins"),
+        /** {@code GET channels/{channel_id}/thread-members/{user_id}} */
+        THREAD_MEMBER("channels/{channel_id}/thread-members/{user_id}"),
+        /** {@code GET channels/{channel_id}/thread-members} */
+        THREAD_MEMBERS("channels/{channel_id}/thread-members"),
+        /** {@code GET invites/{code}} */
+        INVITE("invites/{code}"),
+        /** {@code GET guilds/{guild_id}/invites} */
+        GUILD_INVITES("guilds/{guild_id}/invites"),
+        /** {@code GET channels/{channel_id}/invites} */
+        CHANNEL_INVITES("channels/{channel_id}/invites"),
+        /** {@code GET guilds/templates/{code}} */
+        TEMPLATE("guilds/templates/{code}"),
+        /** {@code GET oauth2/applications/@me} */
+        APPLICATION_INFO("oauth2/applications/@me"),
+        /** {@code GET applications/{application_id}/commands} */
+        COMMANDS("applications/{application_id}/commands"),
+        /** {@code GET applications/{application_id}/guilds/{guild_id}/commands} */
+        GUILD_COMMANDS("applications/{application_id}/guilds/{guild_id}/commands"),
+        /** {@code GET applications/{application_id}/guilds/{guild_id}/commands/permissions} */
+        COMMAND_PERMISSIONS("applications/{application_id}/guilds/{guild_id}/commands/permissions");
+
+        private final String path;
+
+        Endpoint(String path)
+        {
+            this.path = path;
+        }
+
+        /**
+         * The path template of this endpoint, relative to the API base url.
+         *
+         * @return The path template, like {@code "users/{user_id}"}
+         */
+        @Nonnull
+        public String getPath()
+        {
+            return path;
+        }
+    }
+}
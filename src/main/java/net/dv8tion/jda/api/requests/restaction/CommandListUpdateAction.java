@@ -112,4 +112,27 @@ public interface CommandListUpdateAction extends RestAction<List<Command>>
         Checks.noneNull(commands, "Command");
         return addCommands(Arrays.asList(commands));
     }
+
+    /**
+     * Applies only the changes between the current commands and the commands of this action, instead of replacing all of them.
+     *
+     * <p>This retrieves the current commands and matches them by type and name.
+     * New commands are created, changed commands are edited, and commands which are not listed are deleted.
+     * Commands are compared by their canonical form, which ignores fields that are only present in responses, like ids and versions.
+     * When nothing changed, no further requests are made, which avoids the rate limits and propagation of a full update.
+     *
+     * <p>Each guild has its own rate limit buckets, so the updates of multiple guilds are executed in parallel.
+     *
+     * <h2>Example</h2>
+     * <pre>{@code
+     * for (Guild guild : jda.getGuilds())
+     *     guild.updateCommands().addCommands(commandsFor(guild)).diff().queue();
+     * }</pre>
+     *
+     * @return {@link RestAction} - Type: {@link List} of {@link Command}
+     *         <br>The commands in the order of this action
+     */
+    @Nonnull
+    @CheckReturnValue
+    RestAction<List<Command>> diff();
 }
@@ -26,6 +26,7 @@ import net.dv8tion.jda.api.interactions.components.ItemComponent;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.utils.AllowedMentions;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.internal.requests.restaction.MessageActionImpl;
 import net.dv8tion.jda.internal.utils.Checks;
@@ -39,6 +40,7 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
@@ -241,6 +243,28 @@ public interface MessageAction extends RestAction<Message>, Appendable, AllowedM
     @CheckReturnValue
     MessageAction apply(@Nullable final Message message);
 
+    /**
+     * Uses the serialized content, embeds, components and TTS flag of the provided template,
+     * with the provided placeholder values.
+     * <br>These replace the content, embeds, components and TTS flag of this MessageAction, including changes made after this call.
+     * Other settings, like allowed mentions, files and message references, still apply.
+     *
+     * @param  template
+     *         The {@link MessageTemplate}
+     * @param  values
+     *         The placeholder values
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or a placeholder has no value
+     *
+     * @return Updated MessageAction for chaining convenience
+     *
+     * @see    MessageTemplate#render(Map)
+     */
+    @Nonnull
+    @CheckReturnValue
+    MessageAction applyTemplate(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values);
+
     /**
      * Make the message a reply to the referenced message.
      * <br>You can only reply to messages from the same channel!
@@ -25,6 +25,7 @@ import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.utils.AllowedMentions;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.CheckReturnValue;
@@ -34,6 +35,7 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 /**
  * Extension of a default {@link net.dv8tion.jda.api.requests.RestAction RestAction}
@@ -132,6 +134,27 @@ public interface WebhookMessageAction<T> extends RestAction<T>, AllowedMentions<
     @CheckReturnValue
     WebhookMessageAction<T> setTTS(boolean tts);
 
+    /**
+     * Uses the serialized content, embeds, components and TTS flag of the provided template,
+     * with the provided placeholder values.
+     * <br>These replace the content, embeds, components and TTS flag of this action, including changes made after this call.
+     *
+     * @param  template
+     *         The {@link MessageTemplate}
+     * @param  values
+     *         The placeholder values
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or a placeholder has no value
+     *
+     * @return The same message action, for chaining convenience
+     *
+     * @see    MessageTemplate#render(Map)
+     */
+    @Nonnull
+    @CheckReturnValue
+    WebhookMessageAction<T> applyTemplate(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values);
+
     /**
      * Add {@link MessageEmbed MessageEmbeds} to this message
      *
@@ -593,6 +593,91 @@ public interface PaginationAction<T, M extends PaginationAction<T, M>> extends R
      */
     void forEachRemaining(@Nonnull final Procedure<? super T> action);
 
+    /**
+     * Iterates over all remaining entities while the next pages are loaded in the background.
+     * <br>Unlike {@link #iterator()}, the next page is requested while the current page is consumed,
+     * and up to {@code bufferedPages} pages are kept ahead of the consumer. Once the buffer is full,
+     * no further pages are requested until the consumer catches up.
+     *
+     * <p>This disables the {@link #cache(boolean) cache} and uses the {@link #getMaxLimit() maximum limit},
+     * which allows iterating very large histories with constant memory. The PaginationAction should not be used
+     * otherwise while this iterator is active. Use {@link PrefetchingIterator#close()} to stop loading pages
+     * before reaching the end.
+     *
+     * <p><b>The iterator blocks while waiting for pages</b>
+     *
+     * <h1>Example</h1>
+     * <pre>{@code
+     * public void export(MessageChannel channel, Writer writer) throws IOException
+     * {
+     *     try (PaginationAction.PrefetchingIterator<Message> messages = channel.getIterableHistory().prefetchingIterator(3))
+     *     {
+     *         while (messages.hasNext())
+     *             writer.write(messages.next().getContentRaw());
+     *     }
+     * }
+     * }</pre>
+     *
+     * @param  bufferedPages
+     *         The maximum amount of pages loaded ahead of the consumer
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the amount of pages is not positive
+     *
+     * @return New {@link PrefetchingIterator}
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    PrefetchingIterator<T> prefetchingIterator(int bufferedPages);
+
+    /**
+     * A sequential {@link java.util.stream.Stream Stream} over all remaining entities,
+     * which loads the next pages in the background.
+     * <br>This is backed by {@link #prefetchingIterator(int)}, closing the stream stops loading pages.
+     *
+     * @param  bufferedPages
+     *         The maximum amount of pages loaded ahead of the consumer
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the amount of pages is not positive
+     *
+     * @return a sequential {@code Stream} over the remaining elements in this PaginationAction
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    default Stream<T> prefetchingStream(int bufferedPages)
+    {
+        PrefetchingIterator<T> iterator = prefetchingIterator(bufferedPages);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.IMMUTABLE), false)
+                            .onClose(iterator::close);
+    }
+
+    /**
+     * Iterates over all remaining entities until the provided action returns {@code false},
+     * while the next pages are loaded in the background.
+     * <br>This works like {@link #forEachRemainingAsync(Procedure)} but the next page is requested
+     * while the current page is consumed, up to {@code bufferedPages} pages ahead of the action.
+     *
+     * <p>This disables the {@link #cache(boolean) cache} and uses the {@link #getMaxLimit() maximum limit}.
+     * The action is called on the callback threads, one entity at a time.
+     *
+     * @param  bufferedPages
+     *         The maximum amount of pages loaded ahead of the action
+     * @param  action
+     *         {@link net.dv8tion.jda.api.utils.Procedure Procedure} returning {@code true} if iteration should continue!
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the amount of pages is not positive or the provided Procedure is {@code null}
+     *
+     * @return {@link java.util.concurrent.Future Future} that can be cancelled to stop iteration from outside!
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    CompletableFuture<?> forEachPrefetchedAsync(int bufferedPages, @Nonnull final Procedure<? super T> action);
+
     @Override
     default Spliterator<T> spliterator()
     {
@@ -632,6 +717,20 @@ public interface PaginationAction<T, M extends PaginationAction<T, M>> extends R
     @Override
     PaginationIterator<T> iterator();
 
+    /**
+     * Iterator over the remaining entities of a {@link PaginationAction PaginationAction} which loads pages in the background.
+     *
+     * @see #prefetchingIterator(int)
+     */
+    interface PrefetchingIterator<E> extends Iterator<E>, AutoCloseable
+    {
+        /**
+         * Stops loading further pages and ends the iteration.
+         */
+        @Override
+        void close();
+    }
+
     /**
      * Iterator implementation for a {@link PaginationAction PaginationAction}.
      * <br>This iterator will first iterate over all currently cached entities and continue to retrieve new entities
@@ -106,10 +106,21 @@ public class DefaultShardManager implements ShardManager
      */
     protected Future<?> worker;
 
+    /**
+     * The executor used to build shards of different concurrency buckets in parallel.
+     * <br>This is created once the gateway reports a {@code max_concurrency} above 1.
+     */
+    protected ExecutorService bootstrapPool;
+
     /**
      * The gateway url for JDA to use. Will be {@code nul} until the first shard is created.
      */
-    protected String gatewayURL;
+    protected volatile String gatewayURL;
+
+    /**
+     * The {@code max_concurrency} reported by the gateway. This is {@code 1} until the first shard is created.
+     */
+    protected volatile int concurrency = 1;
 
     /**
      * {@link PresenceProviderConfig} containing providers for activity and other presence information.
@@ -356,11 +367,13 @@ public class DefaultShardManager implements ShardManager
                     queue.clear();
                 }
                 this.executor.shutdown();
+                shutdownBootstrapPool();
             });
         }
         else
         {
             this.executor.shutdown();
+            shutdownBootstrapPool();
         }
     }
 
@@ -432,6 +445,71 @@ public class DefaultShardManager implements ShardManager
         if (shardId == -1)
             return;
 
+        // The first shard has to be built alone to fetch the gateway information
+        if (this.gatewayURL == null || this.concurrency <= 1)
+        {
+            processShard(shardId);
+            return;
+        }
+
+        // Build one shard per concurrency bucket at once, the session controller still gates the IDENTIFY
+        int[] batch = pollBatch(this.concurrency);
+        ExecutorService pool = getBootstrapPool();
+        Future<?>[] tasks = new Future<?>[batch.length];
+        for (int i = 0; i < batch.length; i++)
+        {
+            final int id = batch[i];
+            tasks[i] = pool.submit(() -> processShard(id));
+        }
+
+        try
+        {
+            for (Future<?> task : tasks)
+                task.get();
+        }
+        catch (InterruptedException e)
+        {
+            LOG.debug("The worker thread was interrupted");
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            LOG.error("Caught an exception in the queue processing thread", e.getCause());
+        }
+    }
+
+    /**
+     * Selects up to {@code concurrency} queued shards, one for each concurrency bucket ({@code shard_id % concurrency}).
+     * <br>The shards remain in the queue until they have been built successfully.
+     *
+     * @param  concurrency
+     *         The concurrency level
+     *
+     * @return The shard ids to build
+     */
+    protected int[] pollBatch(int concurrency)
+    {
+        boolean[] buckets = new boolean[concurrency];
+        int[] batch = new int[concurrency];
+        int size = 0;
+        synchronized (queue)
+        {
+            for (int shardId : queue)
+            {
+                int bucket = shardId % concurrency;
+                if (buckets[bucket])
+                    continue;
+                buckets[bucket] = true;
+                batch[size++] = shardId;
+                if (size == concurrency)
+                    break;
+            }
+        }
+        return Arrays.copyOf(batch, size);
+    }
+
+    protected void processShard(int shardId)
+    {
         JDAImpl api;
         try
         {
@@ -514,6 +592,12 @@ public class DefaultShardManager implements ShardManager
         MetaConfig metaConfig = new MetaConfig(this.metaConfig.getMaxBufferSize(), this.metaConfig.getContextMap(shardId), this.metaConfig.getCacheFlags(), this.sessionConfig.getFlags());
         final JDAImpl jda = new JDAImpl(authConfig, sessionConfig, threadingConfig, metaConfig);
         jda.setMemberCachePolicy(shardingConfig.getMemberCachePolicy());
+        jda.setMemberCacheEviction(shardingConfig.getMemberCacheEviction());
+        jda.setRequestCoalescing(shardingConfig.getRequestCoalescing());
+        jda.setEventCacheLimit(shardingConfig.getEventCacheLimit());
+        jda.setPresenceCoalescingWindow(shardingConfig.getPresenceCoalescingWindow());
+        jda.setCdnCache(shardingConfig.getCdnCache());
+        jda.setGatewayMetrics(shardingConfig.getGatewayMetrics());
         threadingConfig.init(jda::getIdentifierString);
         // We can only do member chunking with the GUILD_MEMBERS intent
         if ((shardingConfig.getIntents() & GatewayIntent.GUILD_MEMBERS.getRawValue()) == 0)
@@ -547,6 +631,7 @@ public class DefaultShardManager implements ShardManager
             {
                 SessionController.ShardedGateway gateway = jda.getShardedGateway();
                 this.sessionConfig.getSessionController().setConcurrency(gateway.getConcurrency());
+                this.concurrency = Math.max(1, gateway.getConcurrency());
                 this.gatewayURL = gateway.getUrl();
                 if (this.gatewayURL == null)
                     LOG.error("Acquired null gateway url from SessionController");
@@ -597,6 +682,33 @@ public class DefaultShardManager implements ShardManager
         return jda;
     }
 
+    private synchronized ExecutorService getBootstrapPool()
+    {
+        // The concurrency is updated every time the queue worker starts over
+        if (bootstrapPool instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) bootstrapPool).getMaximumPoolSize() != concurrency)
+        {
+            bootstrapPool.shutdown();
+            bootstrapPool = null;
+        }
+
+        if (bootstrapPool == null)
+        {
+            ThreadFactory threadFactory = threadingConfig.getThreadFactory();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                concurrency, concurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                threadFactory == null ? DEFAULT_THREAD_FACTORY : threadFactory);
+            pool.allowCoreThreadTimeOut(true);
+            bootstrapPool = pool;
+        }
+        return bootstrapPool;
+    }
+
+    private synchronized void shutdownBootstrapPool()
+    {
+        if (bootstrapPool != null)
+            bootstrapPool.shutdown();
+    }
+
     private SelfUser retrieveSelfUser(JDAImpl jda)
     {
         Route.CompiledRoute route = Route.Self.GET_SELF.compile();
@@ -712,9 +712,8 @@ public interface ShardManager
     }
 
     /**
-     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id. <br>This iterates
-     * over all {@link net.dv8tion.jda.api.entities.Guild Guilds} and check whether a Role from that Guild is assigned
-     * to the specified ID and will return the first that can be found.
+     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id.
+     * <br>This checks the role index of each shard and returns the first role that can be found.
      *
      * @param  id
      *         The id of the searched Role
@@ -728,9 +727,8 @@ public interface ShardManager
     }
 
     /**
-     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id. <br>This iterates
-     * over all {@link net.dv8tion.jda.api.entities.Guild Guilds} and check whether a Role from that Guild is assigned
-     * to the specified ID and will return the first that can be found.
+     * Retrieves the {@link net.dv8tion.jda.api.entities.Role Role} associated to the provided id.
+     * <br>This checks the role index of each shard and returns the first role that can be found.
      *
      * @param  id
      *         The id of the searched Role
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.internal.requests.AttachmentDownloadTask;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Downloads a {@link Message.Attachment Attachment} into a file.
+ *
+ * <p>The response body is written directly into a {@link java.nio.channels.FileChannel FileChannel} by the http client,
+ * without occupying a thread of the {@link net.dv8tion.jda.api.JDA#getCallbackPool() callback pool}.
+ * Large files can be fetched in multiple segments with parallel range requests,
+ * and partially downloaded files can be resumed.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * attachment.download(Paths.get("archive", attachment.getId()))
+ *     .resume(true)
+ *     .segments(4)
+ *     .submit()
+ *     .thenAccept(path -> System.out.println("Saved attachment to " + path));
+ * }</pre>
+ *
+ * @see Message.Attachment#download(Path)
+ *
+ * @since 5.0.0
+ */
+public class AttachmentDownload
+{
+    /** The maximum amount of segments */
+    public static final int MAX_SEGMENTS = 8;
+
+    private final Message.Attachment attachment;
+    private final Path path;
+    private boolean resume;
+    private int segments = 1;
+
+    public AttachmentDownload(@Nonnull Message.Attachment attachment, @Nonnull Path path)
+    {
+        Checks.notNull(attachment, "Attachment");
+        Checks.notNull(path, "Path");
+        this.attachment = attachment;
+        this.path = path;
+    }
+
+    /**
+     * Whether to continue a previous download into the same file.
+     * <br>If enabled, only the bytes after the current end of the file are requested.
+     * If the server does not support range requests, the file is downloaded again from the start.
+     *
+     * <p>By default, existing files are overwritten.
+     *
+     * @param  resume
+     *         True, to resume existing files
+     *
+     * @return The AttachmentDownload instance. Useful for chaining.
+     */
+    @Nonnull
+    @CheckReturnValue
+    public AttachmentDownload resume(boolean resume)
+    {
+        this.resume = resume;
+        return this;
+    }
+
+    /**
+     * The maximum amount of segments which are fetched in parallel.
+     * <br>Each segment is at least 1 MiB, so small attachments are always fetched with a single request.
+     * If the server does not support range requests, the file is downloaded with a single request instead.
+     *
+     * <p>By default, a single request is used.
+     *
+     * @param  segments
+     *         The amount of segments, between 1 and {@value #MAX_SEGMENTS}
+     *
+     * @throws IllegalArgumentException
+     *         If the amount is not between 1 and {@value #MAX_SEGMENTS}
+     *
+     * @return The AttachmentDownload instance. Useful for chaining.
+     */
+    @Nonnull
+    @CheckReturnValue
+    public AttachmentDownload segments(int segments)
+    {
+        Checks.check(segments >= 1 && segments <= MAX_SEGMENTS, "Segments must be between 1 and %d", MAX_SEGMENTS);
+        this.segments = segments;
+        return this;
+    }
+
+    /**
+     * Starts the download.
+     * <br>The future fails with an {@link java.io.UncheckedIOException UncheckedIOException} if the file cannot be written
+     * or the connection fails, and with an {@link net.dv8tion.jda.api.exceptions.HttpException HttpException}
+     * if the server responds with an error. Cancelling the future cancels all requests.
+     *
+     * @return {@link CompletableFuture} completed with the path once the file is fully written
+     */
+    @Nonnull
+    public CompletableFuture<Path> submit()
+    {
+        return new AttachmentDownloadTask(attachment, path, resume, segments).start();
+    }
+}
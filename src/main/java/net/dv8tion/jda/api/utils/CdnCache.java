@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.cache.CdnCacheStore;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk cache for resources of the Discord CDN, such as attachments, avatars and emote images.
+ *
+ * <p>Responses are stored in the configured directory and evicted in least-recently-used order
+ * once their total size exceeds the limit. Files with the same content are only stored once.
+ * Cached resources are revalidated with a conditional request, which only transfers the content if it has changed.
+ *
+ * <p>When configured with {@link net.dv8tion.jda.api.JDABuilder#setCdnCache(CdnCache) JDABuilder.setCdnCache(CdnCache)},
+ * this is used by {@link net.dv8tion.jda.api.entities.Message.Attachment#retrieveInputStream() Attachment.retrieveInputStream()}
+ * and {@link net.dv8tion.jda.api.entities.Message.Attachment#retrieveAsIcon() Attachment.retrieveAsIcon()}.
+ * Other CDN urls, like {@link net.dv8tion.jda.api.entities.User#getEffectiveAvatarUrl() User.getEffectiveAvatarUrl()},
+ * can be retrieved with {@link #retrieve(JDA, String)}.
+ *
+ * <p>A single instance can be shared by multiple shards, but the directory must not be used by another instance.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * CdnCache cache = CdnCache.create(Paths.get("cdn-cache"), 512L << 20); // 512 MiB
+ * JDA jda = JDABuilder.createDefault(token)
+ *     .setCdnCache(cache)
+ *     .build();
+ * }</pre>
+ *
+ * @since 5.0.0
+ */
+public class CdnCache
+{
+    private final CdnCacheStore store;
+
+    protected CdnCache(CdnCacheStore store)
+    {
+        this.store = store;
+    }
+
+    /**
+     * Creates a cache in the provided directory, which revalidates resources on every use.
+     *
+     * @param  directory
+     *         The directory, which is created if it does not exist
+     * @param  maxSize
+     *         The maximum size of all stored files in bytes
+     *
+     * @throws IllegalArgumentException
+     *         If the directory is null or the size is not positive
+     * @throws UncheckedIOException
+     *         If the directory cannot be created or read
+     *
+     * @return New CdnCache
+     */
+    @Nonnull
+    public static CdnCache create(@Nonnull Path directory, long maxSize)
+    {
+        return create(directory, maxSize, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a cache in the provided directory.
+     * <br>Resources are used without revalidation until the provided time has passed since their last validation.
+     * Most CDN urls include a hash of their content, which makes them safe to use for a long time.
+     *
+     * @param  directory
+     *         The directory, which is created if it does not exist
+     * @param  maxSize
+     *         The maximum size of all stored files in bytes
+     * @param  revalidateAfter
+     *         The time after which resources are revalidated, or 0 to revalidate on every use
+     * @param  unit
+     *         The time unit
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided, the size is not positive, or the time is negative
+     * @throws UncheckedIOException
+     *         If the directory cannot be created or read
+     *
+     * @return New CdnCache
+     */
+    @Nonnull
+    public static CdnCache create(@Nonnull Path directory, long maxSize, long revalidateAfter, @Nonnull TimeUnit unit)
+    {
+        Checks.notNull(directory, "Directory");
+        Checks.notNull(unit, "TimeUnit");
+        Checks.positive(maxSize, "Max size");
+        Checks.notNegative(revalidateAfter, "Revalidation time");
+        try
+        {
+            return new CdnCache(new CdnCacheStore(directory, maxSize, unit.toMillis(revalidateAfter)));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retrieves the resource at the provided url, from the cache if it is still valid.
+     * <br><b>The receiver is expected to close the retrieved {@link InputStream}.</b>
+     *
+     * @param  jda
+     *         The JDA instance, whose http client is used for requests
+     * @param  url
+     *         The url of the resource
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     *
+     * @return {@link CompletableFuture} - Type: {@link InputStream}
+     */
+    @Nonnull
+    public CompletableFuture<InputStream> retrieve(@Nonnull JDA jda, @Nonnull String url)
+    {
+        Checks.notNull(jda, "JDA");
+        Checks.notEmpty(url, "URL");
+        return store.retrieve(jda.getHttpClient(), url);
+    }
+
+    /**
+     * Removes the resource at the provided url from the cache.
+     *
+     * @param  url
+     *         The url of the resource
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     */
+    public void invalidate(@Nonnull String url)
+    {
+        Checks.notNull(url, "URL");
+        store.invalidate(url);
+    }
+
+    /**
+     * Removes all resources from the cache.
+     */
+    public void clear()
+    {
+        store.clear();
+    }
+
+    /**
+     * The directory of this cache.
+     *
+     * @return The directory
+     */
+    @Nonnull
+    public Path getDirectory()
+    {
+        return store.getDirectory();
+    }
+
+    /**
+     * The maximum size of all stored files in bytes.
+     *
+     * @return The maximum size
+     */
+    public long getMaxSize()
+    {
+        return store.getMaxSize();
+    }
+
+    /**
+     * The current size of all stored files in bytes.
+     *
+     * @return The current size
+     */
+    public long getSize()
+    {
+        return store.getSize();
+    }
+
+    /**
+     * The amount of cached urls.
+     *
+     * @return The amount of cached urls
+     */
+    public int getEntryCount()
+    {
+        return store.getEntryCount();
+    }
+}
@@ -82,7 +82,43 @@ public class ConcurrentSessionController extends SessionControllerAdapter implem
         return worker;
     }
 
-    private static class Worker implements Runnable
+    /**
+     * Runs the provided node for the specified bucket.
+     * <br>This is called by the bucket worker for each node in its queue.
+     *
+     * @param  bucket
+     *         The bucket id of the node ({@code shard_id % concurrency})
+     * @param  node
+     *         The {@link SessionConnectNode} to run
+     *
+     * @throws InterruptedException
+     *         If the worker thread is interrupted
+     *
+     * @since  5.0.0
+     */
+    protected void runNode(int bucket, @Nonnull SessionConnectNode node) throws InterruptedException
+    {
+        node.run(false); // we don't use isLast anymore because it can be a problem with many reconnecting shards
+    }
+
+    /**
+     * Waits until the next node of the specified bucket may be started.
+     * <br>By default this sleeps for {@link #IDENTIFY_DELAY} seconds.
+     *
+     * @param  bucket
+     *         The bucket id
+     *
+     * @throws InterruptedException
+     *         If the worker thread is interrupted
+     *
+     * @since  5.0.0
+     */
+    protected void backoff(int bucket) throws InterruptedException
+    {
+        TimeUnit.SECONDS.sleep(SessionController.IDENTIFY_DELAY);
+    }
+
+    private class Worker implements Runnable
     {
         private final Queue<SessionConnectNode> queue = new ConcurrentLinkedQueue<>();
         private final int id;
@@ -132,7 +168,7 @@ public class ConcurrentSessionController extends SessionControllerAdapter implem
                 {
                     processQueue();
                     // We always sleep here because its possible that we get a new session request before the rate limit expires
-                    TimeUnit.SECONDS.sleep(SessionController.IDENTIFY_DELAY);
+                    backoff(id);
                 }
             }
             catch (InterruptedException ex)
@@ -152,7 +188,7 @@ public class ConcurrentSessionController extends SessionControllerAdapter implem
             {
                 node = queue.remove();
                 log.debug("Running connect node for shard {}", node.getShardInfo());
-                node.run(false); // we don't use isLast anymore because it can be a problem with many reconnecting shards
+                runNode(id, node);
             }
             catch (NoSuchElementException ignored) {/* This means the node was removed before we started it */}
             catch (InterruptedException e)
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Limit for the amount of gateway events JDA keeps while waiting for the entities they refer to.
+ * <br>Events which reference an entity that is not cached yet (for instance a member update for an unknown user)
+ * are held back and replayed once the entity is loaded. Events which are not replayed within a short window are discarded.
+ *
+ * <p>This limit bounds the amount of held back events, for instance during a guild outage.
+ * Once the limit is exceeded, the {@link Overflow} policy decides how JDA recovers.
+ *
+ * <p>This can be configured with {@link net.dv8tion.jda.api.JDABuilder#setEventCacheLimit(EventCacheLimit) JDABuilder.setEventCacheLimit(EventCacheLimit)}.
+ *
+ * @see #dropOldest(int)
+ * @see #resync(int)
+ *
+ * @since 5.0.0
+ */
+public class EventCacheLimit
+{
+    /**
+     * Never limit the amount of held back events, this is the default.
+     */
+    public static final EventCacheLimit UNBOUNDED = new EventCacheLimit(Integer.MAX_VALUE, Overflow.DROP_OLDEST);
+
+    private final int limit;
+    private final Overflow overflow;
+
+    protected EventCacheLimit(int limit, Overflow overflow)
+    {
+        this.limit = limit;
+        this.overflow = overflow;
+    }
+
+    /**
+     * Discards the oldest held back events once more than the provided amount is cached.
+     *
+     * @param  limit
+     *         The maximum amount of held back events
+     *
+     * @throws IllegalArgumentException
+     *         If the limit is not positive
+     *
+     * @return New EventCacheLimit
+     */
+    @Nonnull
+    public static EventCacheLimit dropOldest(int limit)
+    {
+        Checks.positive(limit, "Limit");
+        return new EventCacheLimit(limit, Overflow.DROP_OLDEST);
+    }
+
+    /**
+     * Discards all held back events and starts a new gateway session once more than the provided amount is cached.
+     * <br>This reloads the entire cache, which guarantees consistency at the cost of a new IDENTIFY.
+     *
+     * @param  limit
+     *         The maximum amount of held back events
+     *
+     * @throws IllegalArgumentException
+     *         If the limit is not positive
+     *
+     * @return New EventCacheLimit
+     */
+    @Nonnull
+    public static EventCacheLimit resync(int limit)
+    {
+        Checks.positive(limit, "Limit");
+        return new EventCacheLimit(limit, Overflow.RESYNC);
+    }
+
+    /**
+     * The maximum amount of held back events.
+     *
+     * @return The limit, or {@link Integer#MAX_VALUE} if unbounded
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * The policy applied once the limit is exceeded.
+     *
+     * @return The {@link Overflow} policy
+     */
+    @Nonnull
+    public Overflow getOverflow()
+    {
+        return overflow;
+    }
+
+    /**
+     * Whether this limits the amount of held back events.
+     *
+     * @return True, if a limit is configured
+     */
+    public boolean isBounded()
+    {
+        return limit != Integer.MAX_VALUE;
+    }
+
+    /**
+     * The policy applied when the limit is exceeded.
+     */
+    public enum Overflow
+    {
+        /** Discard the oldest held back event */
+        DROP_OLDEST,
+        /** Discard all held back events and start a new session */
+        RESYNC
+    }
+}
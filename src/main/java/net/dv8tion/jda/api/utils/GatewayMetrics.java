@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives measurements of the gateway connection, such as payload sizes, decode times and event handling times.
+ *
+ * <p>All methods do nothing by default, so implementations only override the measurements they are interested in.
+ * They are called on the threads which do the measured work, like the websocket reading thread or the event pool,
+ * so implementations must be thread-safe and should return quickly.
+ * A single instance can be shared by multiple shards, the {@link JDA} parameter identifies the shard.
+ *
+ * <p>While {@link #NONE} is configured, JDA does not take any timestamps for these measurements.
+ * {@link HistogramGatewayMetrics} is an in-memory implementation, which can also be used to forward the measurements
+ * to a monitoring system periodically.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * HistogramGatewayMetrics metrics = new HistogramGatewayMetrics();
+ * JDA jda = JDABuilder.createDefault(token)
+ *     .setGatewayMetrics(metrics)
+ *     .build();
+ * ...
+ * long p99 = metrics.getDecodeTime().getPercentile(99); // nanoseconds
+ * }</pre>
+ *
+ * @see net.dv8tion.jda.api.JDABuilder#setGatewayMetrics(GatewayMetrics)
+ *
+ * @since 5.0.0
+ */
+public interface GatewayMetrics
+{
+    /**
+     * Does not record anything, this is the default.
+     */
+    GatewayMetrics NONE = new GatewayMetrics() {};
+
+    /**
+     * Called for every message received from the gateway, before it is decompressed.
+     *
+     * @param api
+     *        The shard which received the message
+     * @param bytes
+     *        The size of the message in bytes
+     */
+    default void onPayloadReceived(@Nonnull JDA api, int bytes) {}
+
+    /**
+     * Called once a compressed payload has been inflated.
+     * <br>Payloads which are split across multiple messages are only reported once they are complete.
+     *
+     * @param api
+     *        The shard which received the payload
+     * @param compressedBytes
+     *        The size of the compressed payload in bytes
+     * @param inflatedBytes
+     *        The size of the inflated payload in bytes
+     * @param nanos
+     *        The time spent inflating the payload, in nanoseconds
+     */
+    default void onPayloadInflated(@Nonnull JDA api, int compressedBytes, int inflatedBytes, long nanos) {}
+
+    /**
+     * Called once a payload has been decoded into a {@link net.dv8tion.jda.api.utils.data.DataObject DataObject}.
+     * <br>For compressed payloads, this includes the time reported by {@link #onPayloadInflated(JDA, int, int, long)}.
+     *
+     * @param api
+     *        The shard which received the payload
+     * @param nanos
+     *        The time spent decoding the payload, in nanoseconds
+     */
+    default void onPayloadDecoded(@Nonnull JDA api, long nanos) {}
+
+    /**
+     * Called once a dispatch has been handled, which updates the cache and fires the resulting events.
+     * <br>When an event pool is configured, the time spent in event listeners is not included.
+     *
+     * @param api
+     *        The shard which received the dispatch
+     * @param type
+     *        The type of the dispatch, such as {@code MESSAGE_CREATE}
+     * @param nanos
+     *        The time spent handling the dispatch, in nanoseconds
+     */
+    default void onEventHandled(@Nonnull JDA api, @Nonnull String type, long nanos) {}
+
+    /**
+     * Called once an event has been passed to all event listeners.
+     *
+     * @param api
+     *        The shard which fired the event
+     * @param type
+     *        The class of the event
+     * @param nanos
+     *        The time spent in the event manager, in nanoseconds
+     */
+    default void onEventDispatched(@Nonnull JDA api, @Nonnull Class<? extends GenericEvent> type, long nanos) {}
+
+    /**
+     * Called after every dispatch with the amount of events in the {@link EventCacheLimit event cache},
+     * which are waiting for an entity that is not cached yet.
+     *
+     * @param api
+     *        The shard of the event cache
+     * @param size
+     *        The amount of cached events
+     */
+    default void onEventCacheSize(@Nonnull JDA api, int size) {}
+
+    /**
+     * Called after every attempt to send a queued payload with the amount of payloads which are still queued,
+     * such as presence updates and member chunk requests.
+     *
+     * @param api
+     *        The shard of the queue
+     * @param size
+     *        The amount of queued payloads
+     */
+    default void onSendQueueSize(@Nonnull JDA api, int size) {}
+
+    /**
+     * Called whenever the gateway acknowledges a heartbeat.
+     *
+     * @param api
+     *        The shard which sent the heartbeat
+     * @param millis
+     *        The round-trip time of the heartbeat, in milliseconds
+     *
+     * @see   JDA#getGatewayPing()
+     */
+    default void onHeartbeatAcknowledged(@Nonnull JDA api, long millis) {}
+}
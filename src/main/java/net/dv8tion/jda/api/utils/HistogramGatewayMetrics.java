@@ -0,0 +1,452 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link GatewayMetrics} implementation which keeps all measurements in memory.
+ *
+ * <p>Durations are recorded in {@link Histogram Histograms} with power-of-two buckets,
+ * so percentiles are accurate to a factor of two. Recording only updates a few counters without locking,
+ * except for the heartbeat history.
+ *
+ * <p>When shared by multiple shards, the counters and histograms combine the measurements of all shards,
+ * while the queue sizes are tracked per shard.
+ *
+ * @since 5.0.0
+ */
+public class HistogramGatewayMetrics implements GatewayMetrics
+{
+    /** The default amount of heartbeat round-trip times which are kept */
+    public static final int DEFAULT_HEARTBEAT_HISTORY = 64;
+
+    private final long startTime = System.nanoTime();
+
+    private final LongAdder payloadsReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder bytesCompressed = new LongAdder();
+    private final LongAdder bytesInflated = new LongAdder();
+
+    private final Histogram inflateTime = new Histogram();
+    private final Histogram decodeTime = new Histogram();
+    private final Histogram heartbeatTime = new Histogram();
+    private final ConcurrentMap<String, Histogram> handlerTimes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends GenericEvent>, Histogram> dispatchTimes = new ConcurrentHashMap<>();
+
+    private final Gauge eventCacheSize = new Gauge();
+    private final Gauge sendQueueSize = new Gauge();
+
+    private final long[] heartbeats;
+    private long heartbeatCount;
+
+    /**
+     * Creates a new instance, which keeps the last {@value #DEFAULT_HEARTBEAT_HISTORY} heartbeat round-trip times.
+     */
+    public HistogramGatewayMetrics()
+    {
+        this(DEFAULT_HEARTBEAT_HISTORY);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param  heartbeatHistory
+     *         The amount of heartbeat round-trip times which are kept
+     *
+     * @throws IllegalArgumentException
+     *         If the amount is not positive
+     */
+    public HistogramGatewayMetrics(int heartbeatHistory)
+    {
+        Checks.positive(heartbeatHistory, "Heartbeat history");
+        this.heartbeats = new long[heartbeatHistory];
+    }
+
+    @Override
+    public void onPayloadReceived(@Nonnull JDA api, int bytes)
+    {
+        payloadsReceived.increment();
+        bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void onPayloadInflated(@Nonnull JDA api, int compressedBytes, int inflatedBytes, long nanos)
+    {
+        bytesCompressed.add(compressedBytes);
+        bytesInflated.add(inflatedBytes);
+        inflateTime.record(nanos);
+    }
+
+    @Override
+    public void onPayloadDecoded(@Nonnull JDA api, long nanos)
+    {
+        decodeTime.record(nanos);
+    }
+
+    @Override
+    public void onEventHandled(@Nonnull JDA api, @Nonnull String type, long nanos)
+    {
+        handlerTimes.computeIfAbsent(type, k -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void onEventDispatched(@Nonnull JDA api, @Nonnull Class<? extends GenericEvent> type, long nanos)
+    {
+        dispatchTimes.computeIfAbsent(type, k -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void onEventCacheSize(@Nonnull JDA api, int size)
+    {
+        eventCacheSize.set(api.getShardInfo().getShardId(), size);
+    }
+
+    @Override
+    public void onSendQueueSize(@Nonnull JDA api, int size)
+    {
+        sendQueueSize.set(api.getShardInfo().getShardId(), size);
+    }
+
+    @Override
+    public void onHeartbeatAcknowledged(@Nonnull JDA api, long millis)
+    {
+        heartbeatTime.record(millis);
+        synchronized (heartbeats)
+        {
+            heartbeats[(int) (heartbeatCount++ % heartbeats.length)] = millis;
+        }
+    }
+
+    /**
+     * The amount of messages received from the gateway.
+     *
+     * @return The amount of messages
+     */
+    public long getPayloadsReceived()
+    {
+        return payloadsReceived.sum();
+    }
+
+    /**
+     * The total size of all messages received from the gateway, before decompression.
+     *
+     * @return The size in bytes
+     */
+    public long getBytesReceived()
+    {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * The total size of all compressed payloads, after they have been inflated.
+     *
+     * @return The size in bytes
+     */
+    public long getBytesInflated()
+    {
+        return bytesInflated.sum();
+    }
+
+    /**
+     * The ratio between the inflated and compressed size of all compressed payloads.
+     *
+     * @return The compression ratio, or 0 if no compressed payload has been received
+     */
+    public double getCompressionRatio()
+    {
+        long compressed = bytesCompressed.sum();
+        return compressed == 0 ? 0 : (double) bytesInflated.sum() / compressed;
+    }
+
+    /**
+     * The time spent inflating compressed payloads.
+     *
+     * @return {@link Histogram} in nanoseconds
+     */
+    @Nonnull
+    public Histogram getInflateTime()
+    {
+        return inflateTime;
+    }
+
+    /**
+     * The time spent decoding payloads, including their decompression.
+     *
+     * @return {@link Histogram} in nanoseconds
+     */
+    @Nonnull
+    public Histogram getDecodeTime()
+    {
+        return decodeTime;
+    }
+
+    /**
+     * The time spent handling dispatches, by dispatch type.
+     *
+     * @return Immutable view of the {@link Histogram Histograms} in nanoseconds
+     */
+    @Nonnull
+    public Map<String, Histogram> getHandlerTimes()
+    {
+        return Collections.unmodifiableMap(handlerTimes);
+    }
+
+    /**
+     * The time spent in event listeners, by event class.
+     *
+     * @return Immutable view of the {@link Histogram Histograms} in nanoseconds
+     */
+    @Nonnull
+    public Map<Class<? extends GenericEvent>, Histogram> getDispatchTimes()
+    {
+        return Collections.unmodifiableMap(dispatchTimes);
+    }
+
+    /**
+     * The average amount of dispatches of the provided type per second, since this instance was created.
+     *
+     * @param  type
+     *         The dispatch type, such as {@code MESSAGE_CREATE}
+     *
+     * @throws IllegalArgumentException
+     *         If the type is null
+     *
+     * @return The amount of dispatches per second
+     */
+    public double getEventRate(@Nonnull String type)
+    {
+        Checks.notNull(type, "Type");
+        Histogram histogram = handlerTimes.get(type);
+        if (histogram == null)
+            return 0;
+        long elapsed = System.nanoTime() - startTime;
+        return elapsed <= 0 ? 0 : histogram.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * The last reported amount of events in the event caches, summed over all shards.
+     *
+     * @return The amount of cached events
+     */
+    public long getEventCacheSize()
+    {
+        return eventCacheSize.sum();
+    }
+
+    /**
+     * The largest amount of events in the event cache of a single shard.
+     *
+     * @return The maximum amount of cached events
+     */
+    public long getMaxEventCacheSize()
+    {
+        return eventCacheSize.max.get();
+    }
+
+    /**
+     * The last reported amount of queued payloads, summed over all shards.
+     *
+     * @return The amount of queued payloads
+     */
+    public long getSendQueueSize()
+    {
+        return sendQueueSize.sum();
+    }
+
+    /**
+     * The largest amount of queued payloads of a single shard.
+     *
+     * @return The maximum amount of queued payloads
+     */
+    public long getMaxSendQueueSize()
+    {
+        return sendQueueSize.max.get();
+    }
+
+    /**
+     * The round-trip times of all acknowledged heartbeats.
+     *
+     * @return {@link Histogram} in milliseconds
+     */
+    @Nonnull
+    public Histogram getHeartbeatTime()
+    {
+        return heartbeatTime;
+    }
+
+    /**
+     * The round-trip times of the most recent heartbeats, oldest first.
+     *
+     * @return The round-trip times in milliseconds
+     */
+    @Nonnull
+    public long[] getHeartbeatHistory()
+    {
+        synchronized (heartbeats)
+        {
+            int size = (int) Math.min(heartbeatCount, heartbeats.length);
+            long[] history = new long[size];
+            for (int i = 0; i < size; i++)
+                history[i] = heartbeats[(int) ((heartbeatCount - size + i) % heartbeats.length)];
+            return history;
+        }
+    }
+
+    /**
+     * Distribution of recorded values, using power-of-two buckets.
+     * <br>Values are recorded without locking, so concurrent reads may not include every value which is being recorded.
+     */
+    public static class Histogram
+    {
+        // Bucket 0 holds 0, bucket i holds values in [2^(i-1), 2^i)
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Records a value, negative values are recorded as 0.
+         *
+         * @param value
+         *        The value
+         */
+        public void record(long value)
+        {
+            value = Math.max(0, value);
+            buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        /**
+         * The amount of recorded values.
+         *
+         * @return The amount of values
+         */
+        public long getCount()
+        {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++)
+                count += buckets.get(i);
+            return count;
+        }
+
+        /**
+         * The sum of all recorded values.
+         *
+         * @return The sum
+         */
+        public long getSum()
+        {
+            return sum.sum();
+        }
+
+        /**
+         * The average of all recorded values.
+         *
+         * @return The average, or 0 if no value has been recorded
+         */
+        public double getMean()
+        {
+            long count = getCount();
+            return count == 0 ? 0 : (double) getSum() / count;
+        }
+
+        /**
+         * The largest recorded value.
+         *
+         * @return The maximum, or 0 if no value has been recorded
+         */
+        public long getMax()
+        {
+            return max.get();
+        }
+
+        /**
+         * The upper bound of the bucket which contains the provided percentile.
+         * <br>The result is at most twice the exact percentile and never larger than {@link #getMax()}.
+         *
+         * @param  percentile
+         *         The percentile, between 0 and 100
+         *
+         * @throws IllegalArgumentException
+         *         If the percentile is not between 0 and 100
+         *
+         * @return The percentile, or 0 if no value has been recorded
+         */
+        public long getPercentile(double percentile)
+        {
+            Checks.check(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++)
+                total += counts[i] = buckets.get(i);
+            if (total == 0)
+                return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            int bucket = 0;
+            while ((seen += counts[bucket]) < rank)
+                bucket++;
+            long upper = (1L << bucket) - 1; // overflows to Long.MAX_VALUE for the last bucket
+            return Math.min(upper, getMax());
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Histogram(count=" + getCount() + ", mean=" + getMean() + ", p99=" + getPercentile(99) + ", max=" + getMax() + ")";
+        }
+    }
+
+    // Last reported value of each shard, and the maximum of all shards
+    private static class Gauge
+    {
+        private final ConcurrentMap<Integer, AtomicLong> values = new ConcurrentHashMap<>();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void set(int shardId, long value)
+        {
+            values.computeIfAbsent(shardId, k -> new AtomicLong()).set(value);
+            max.accumulate(value);
+        }
+
+        private long sum()
+        {
+            long sum = 0;
+            for (AtomicLong value : values.values())
+                sum += value.get();
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eviction settings for the member cache.
+ * <br>While the {@link MemberCachePolicy} decides whether a member is cached at all,
+ * this decides when cached members are removed again to bound the size of the cache.
+ *
+ * <p>Members are ordered by their last activity, which is updated whenever a member is accessed through the cache
+ * or updated by an event. When a limit is exceeded, the least recently active members are evicted first.
+ * The self member, the owner of a guild, and (by default) members connected to a voice channel are never evicted.
+ *
+ * <p>Evicted members are loaded again by {@link Guild#retrieveMemberById(long)} and added back to cache
+ * if the {@link MemberCachePolicy} allows it. Note that guilds with evicted members are no longer {@link Guild#isLoaded() loaded}.
+ *
+ * <p>This can be configured with {@link net.dv8tion.jda.api.JDABuilder#setMemberCacheEviction(MemberCacheEviction) JDABuilder.setMemberCacheEviction(MemberCacheEviction)}.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * MemberCacheEviction eviction = MemberCacheEviction.lru(10000)
+ *     .withGlobalLimit(1000000)
+ *     .withIdleTimeout(1, TimeUnit.HOURS);
+ * builder.setMemberCacheEviction(eviction);
+ * }</pre>
+ *
+ * @see #lru(int)
+ * @see #idle(long, TimeUnit)
+ *
+ * @since 5.0.0
+ */
+public class MemberCacheEviction
+{
+    /**
+     * Never evict members, this is the default.
+     */
+    public static final MemberCacheEviction NONE = new MemberCacheEviction(Integer.MAX_VALUE, Long.MAX_VALUE, 0, true, 0, null);
+
+    private final int guildLimit;
+    private final long globalLimit;
+    private final long idleTimeout;
+    private final boolean pinVoice;
+    private final long offHeapCapacity;
+    private final Listener listener;
+
+    protected MemberCacheEviction(int guildLimit, long globalLimit, long idleTimeout, boolean pinVoice, long offHeapCapacity, Listener listener)
+    {
+        this.guildLimit = guildLimit;
+        this.globalLimit = globalLimit;
+        this.idleTimeout = idleTimeout;
+        this.pinVoice = pinVoice;
+        this.offHeapCapacity = offHeapCapacity;
+        this.listener = listener;
+    }
+
+    /**
+     * Evicts the least recently active members of a guild once the guild has more than the provided amount of cached members.
+     *
+     * @param  guildLimit
+     *         The maximum amount of cached members per guild
+     *
+     * @throws IllegalArgumentException
+     *         If the limit is not positive
+     *
+     * @return New MemberCacheEviction
+     */
+    @Nonnull
+    public static MemberCacheEviction lru(int guildLimit)
+    {
+        Checks.positive(guildLimit, "Guild limit");
+        return new MemberCacheEviction(guildLimit, Long.MAX_VALUE, 0, true, 0, null);
+    }
+
+    /**
+     * Evicts members which have not been active for the provided amount of time.
+     *
+     * @param  time
+     *         The idle time
+     * @param  unit
+     *         The time unit
+     *
+     * @throws IllegalArgumentException
+     *         If the time is not positive or the unit is null
+     *
+     * @return New MemberCacheEviction
+     */
+    @Nonnull
+    public static MemberCacheEviction idle(long time, @Nonnull TimeUnit unit)
+    {
+        return NONE.withIdleTimeout(time, unit);
+    }
+
+    /**
+     * Evicts the least recently active members of all guilds once the JDA session has more than the provided amount of cached members.
+     * <br>This limit is enforced periodically rather than on every insert.
+     *
+     * @param  globalLimit
+     *         The maximum amount of cached members for the session
+     *
+     * @throws IllegalArgumentException
+     *         If the limit is not positive
+     *
+     * @return New MemberCacheEviction with the global limit
+     */
+    @Nonnull
+    public MemberCacheEviction withGlobalLimit(long globalLimit)
+    {
+        Checks.positive(globalLimit, "Global limit");
+        return new MemberCacheEviction(guildLimit, globalLimit, idleTimeout, pinVoice, offHeapCapacity, listener);
+    }
+
+    /**
+     * Evicts members which have not been active for the provided amount of time.
+     * <br>This is enforced periodically.
+     *
+     * @param  time
+     *         The idle time
+     * @param  unit
+     *         The time unit
+     *
+     * @throws IllegalArgumentException
+     *         If the time is not positive or the unit is null
+     *
+     * @return New MemberCacheEviction with the idle timeout
+     */
+    @Nonnull
+    public MemberCacheEviction withIdleTimeout(long time, @Nonnull TimeUnit unit)
+    {
+        Checks.positive(time, "Time");
+        Checks.notNull(unit, "Unit");
+        return new MemberCacheEviction(guildLimit, globalLimit, unit.toMillis(time), pinVoice, offHeapCapacity, listener);
+    }
+
+    /**
+     * Whether members which are connected to a voice channel should be excluded from eviction.
+     * <br>This is enabled by default.
+     *
+     * @param  pinVoice
+     *         True, if voice members should never be evicted
+     *
+     * @return New MemberCacheEviction with the voice setting
+     */
+    @Nonnull
+    public MemberCacheEviction withVoicePinning(boolean pinVoice)
+    {
+        return new MemberCacheEviction(guildLimit, globalLimit, idleTimeout, pinVoice, offHeapCapacity, listener);
+    }
+
+    /**
+     * Keeps a compact record of evicted members in off-heap memory, up to the provided amount of bytes.
+     * <br>When {@link Guild#retrieveMemberById(long)} is used for an evicted member, the member is restored from
+     * this record instead of making a REST request. The memory is allocated in chunks of 1 MiB, once the capacity
+     * is exhausted the records of the oldest chunk are dropped.
+     *
+     * <p>Records only contain the member and user information, presences are not kept.
+     * Members which receive updates while evicted are added back to the heap cache, which drops their record.
+     *
+     * @param  capacity
+     *         The maximum amount of off-heap memory in bytes, or 0 to disable
+     *
+     * @throws IllegalArgumentException
+     *         If the capacity is negative
+     *
+     * @return New MemberCacheEviction with the off-heap capacity
+     */
+    @Nonnull
+    public MemberCacheEviction withOffHeapStorage(long capacity)
+    {
+        Checks.notNegative(capacity, "Capacity");
+        return new MemberCacheEviction(guildLimit, globalLimit, idleTimeout, pinVoice, capacity, listener);
+    }
+
+    /**
+     * Listener used to publish eviction metrics.
+     *
+     * @param  listener
+     *         The listener, or null to disable metrics
+     *
+     * @return New MemberCacheEviction with the listener
+     */
+    @Nonnull
+    public MemberCacheEviction withListener(@Nullable Listener listener)
+    {
+        return new MemberCacheEviction(guildLimit, globalLimit, idleTimeout, pinVoice, offHeapCapacity, listener);
+    }
+
+    /**
+     * The maximum amount of cached members per guild.
+     *
+     * @return The guild limit, or {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getGuildLimit()
+    {
+        return guildLimit;
+    }
+
+    /**
+     * The maximum amount of cached members per JDA session.
+     *
+     * @return The global limit, or {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getGlobalLimit()
+    {
+        return globalLimit;
+    }
+
+    /**
+     * The time in milliseconds after which idle members are evicted.
+     *
+     * @return The idle timeout in milliseconds, or 0 if disabled
+     */
+    public long getIdleTimeout()
+    {
+        return idleTimeout;
+    }
+
+    /**
+     * Whether members connected to a voice channel are excluded from eviction.
+     *
+     * @return True, if voice members are pinned
+     */
+    public boolean isVoicePinning()
+    {
+        return pinVoice;
+    }
+
+    /**
+     * The maximum amount of off-heap memory used to keep evicted members.
+     *
+     * @return The capacity in bytes, or 0 if disabled
+     */
+    public long getOffHeapCapacity()
+    {
+        return offHeapCapacity;
+    }
+
+    /**
+     * The listener used to publish eviction metrics.
+     *
+     * @return The listener, or null
+     */
+    @Nullable
+    public Listener getListener()
+    {
+        return listener;
+    }
+
+    /**
+     * Whether this evicts any members.
+     *
+     * @return True, if any limit is configured
+     */
+    public boolean isEnabled()
+    {
+        return guildLimit != Integer.MAX_VALUE || globalLimit != Long.MAX_VALUE || idleTimeout > 0;
+    }
+
+    /**
+     * The reason a member was evicted.
+     */
+    public enum Reason
+    {
+        /** The guild exceeded {@link #getGuildLimit()} */
+        GUILD_LIMIT,
+        /** The session exceeded {@link #getGlobalLimit()} */
+        GLOBAL_LIMIT,
+        /** The member was idle for longer than {@link #getIdleTimeout()} */
+        IDLE
+    }
+
+    /**
+     * Listener for member cache eviction metrics.
+     * <br>This is called on the thread that performed the eviction and should not block.
+     */
+    public interface Listener
+    {
+        /**
+         * Called after members of a guild have been evicted.
+         *
+         * @param guild
+         *        The guild
+         * @param reason
+         *        The reason for the eviction
+         * @param amount
+         *        The amount of evicted members
+         */
+        void onEviction(@Nonnull Guild guild, @Nonnull Reason reason, int amount);
+
+        /**
+         * Called when {@link Guild#retrieveMemberById(long)} had to load a member which was not cached.
+         *
+         * @param guild
+         *        The guild
+         * @param userId
+         *        The id of the member
+         */
+        default void onCacheMiss(@Nonnull Guild guild, long userId) {}
+    }
+}
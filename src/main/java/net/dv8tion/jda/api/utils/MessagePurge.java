@@ -0,0 +1,296 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.requests.restaction.pagination.MessagePaginationAction;
+import net.dv8tion.jda.internal.requests.MessagePurgeEngine;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Deletes messages of a {@link MessageChannel} in bulk, either from the message history or from a set of ids.
+ *
+ * <p>Messages younger than 14 days are deleted with bulk delete requests of up to 100 messages, which are pipelined
+ * while the next page of the history is already loaded. Older messages and messages in private channels are deleted
+ * individually, the amount of concurrent requests adapts to the remaining uses of the rate-limit bucket.
+ * Messages which have already been deleted are skipped.
+ *
+ * <p>Unlike {@link MessageChannel#purgeMessagesById(long...)}, this reports the progress of the entire operation
+ * and completes a single future once all messages are deleted. Cancelling this future stops the purge after
+ * the requests which are currently in flight.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * MessagePurge.ofHistory(channel)
+ *     .filter(message -> message.getAuthor().isBot())
+ *     .limit(1000)
+ *     .onProgress(progress -> System.out.printf("Deleted %d messages%n", progress.getDeleted()))
+ *     .submit()
+ *     .thenAccept(result -> System.out.printf("Done! Deleted %d of %d scanned messages%n", result.getDeleted(), result.getScanned()));
+ * }</pre>
+ *
+ * @since 5.0.0
+ */
+public class MessagePurge
+{
+    private final MessageChannel channel;
+    private final MessagePaginationAction history;
+    private final long[] ids;
+    private Predicate<? super Message> filter = message -> true;
+    private Consumer<? super Progress> progressListener;
+    private int limit = Integer.MAX_VALUE;
+
+    protected MessagePurge(MessageChannel channel, MessagePaginationAction history, long[] ids)
+    {
+        this.channel = channel;
+        this.history = history;
+        this.ids = ids;
+    }
+
+    /**
+     * Purges the message history of the provided channel, starting with the most recent message.
+     *
+     * @param  channel
+     *         The channel to purge
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     * @throws net.dv8tion.jda.api.exceptions.InsufficientPermissionException
+     *         If this is a guild channel and the currently logged in account does not have
+     *         {@link net.dv8tion.jda.api.Permission#MESSAGE_HISTORY Permission.MESSAGE_HISTORY}
+     *
+     * @return New MessagePurge
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static MessagePurge ofHistory(@Nonnull MessageChannel channel)
+    {
+        Checks.notNull(channel, "Channel");
+        return ofHistory(channel.getIterableHistory());
+    }
+
+    /**
+     * Purges the remaining messages of the provided history.
+     * <br>The history is consumed by this purge and should not be used otherwise.
+     *
+     * @param  history
+     *         The {@link MessagePaginationAction} to purge
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     *
+     * @return New MessagePurge
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static MessagePurge ofHistory(@Nonnull MessagePaginationAction history)
+    {
+        Checks.notNull(history, "History");
+        return new MessagePurge(history.getChannel(), history, null);
+    }
+
+    /**
+     * Purges the messages with the provided ids.
+     * <br>Since the messages are not loaded, {@link #filter(Predicate)} does not apply to them.
+     *
+     * @param  channel
+     *         The channel of the messages
+     * @param  messageIds
+     *         The message ids
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     *
+     * @return New MessagePurge
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static MessagePurge ofIds(@Nonnull MessageChannel channel, @Nonnull long... messageIds)
+    {
+        Checks.notNull(channel, "Channel");
+        Checks.notNull(messageIds, "Message IDs");
+        return new MessagePurge(channel, null, messageIds.clone());
+    }
+
+    /**
+     * Purges the messages with the provided ids.
+     * <br>Since the messages are not loaded, {@link #filter(Predicate)} does not apply to them.
+     *
+     * @param  channel
+     *         The channel of the messages
+     * @param  messageIds
+     *         The message ids
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or any of the ids is not a valid snowflake
+     *
+     * @return New MessagePurge
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static MessagePurge ofIds(@Nonnull MessageChannel channel, @Nonnull Collection<String> messageIds)
+    {
+        Checks.notNull(channel, "Channel");
+        Checks.noneNull(messageIds, "Message IDs");
+        return new MessagePurge(channel, null, messageIds.stream().mapToLong(MiscUtil::parseSnowflake).toArray());
+    }
+
+    /**
+     * Only deletes messages from the history which match the provided filter.
+     * <br>Messages of other users are skipped if the currently logged in account cannot delete them.
+     *
+     * @param  filter
+     *         The filter
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     *
+     * @return The MessagePurge instance. Useful for chaining.
+     */
+    @Nonnull
+    @CheckReturnValue
+    public MessagePurge filter(@Nonnull Predicate<? super Message> filter)
+    {
+        Checks.notNull(filter, "Filter");
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * The maximum amount of messages to delete from the history.
+     *
+     * @param  limit
+     *         The limit
+     *
+     * @throws IllegalArgumentException
+     *         If the limit is not positive
+     *
+     * @return The MessagePurge instance. Useful for chaining.
+     */
+    @Nonnull
+    @CheckReturnValue
+    public MessagePurge limit(int limit)
+    {
+        Checks.positive(limit, "Limit");
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Listener which is called after each completed delete request.
+     * <br>This is called on the callback pool and should not block.
+     *
+     * @param  listener
+     *         The listener, or null to remove the listener
+     *
+     * @return The MessagePurge instance. Useful for chaining.
+     */
+    @Nonnull
+    @CheckReturnValue
+    public MessagePurge onProgress(@Nullable Consumer<? super Progress> listener)
+    {
+        this.progressListener = listener;
+        return this;
+    }
+
+    /**
+     * Starts the purge.
+     * <br>The future completes with the final {@link Progress} once all messages are deleted,
+     * or exceptionally with the first error other than {@link net.dv8tion.jda.api.requests.ErrorResponse#UNKNOWN_MESSAGE UNKNOWN_MESSAGE}.
+     *
+     * @return {@link CompletableFuture} representing the entire purge
+     */
+    @Nonnull
+    public CompletableFuture<Progress> submit()
+    {
+        return new MessagePurgeEngine(channel, history, ids, filter, limit, progressListener).start();
+    }
+
+    /**
+     * Snapshot of the progress of a {@link MessagePurge}.
+     */
+    public static class Progress
+    {
+        private final int scanned;
+        private final int deleted;
+        private final int skipped;
+        private final int pending;
+
+        public Progress(int scanned, int deleted, int skipped, int pending)
+        {
+            this.scanned = scanned;
+            this.deleted = deleted;
+            this.skipped = skipped;
+            this.pending = pending;
+        }
+
+        /**
+         * The amount of messages loaded from the history, or the amount of provided ids.
+         *
+         * @return The amount of scanned messages
+         */
+        public int getScanned()
+        {
+            return scanned;
+        }
+
+        /**
+         * The amount of deleted messages.
+         *
+         * @return The amount of deleted messages
+         */
+        public int getDeleted()
+        {
+            return deleted;
+        }
+
+        /**
+         * The amount of messages which were already deleted or could not be deleted due to permissions.
+         *
+         * @return The amount of skipped messages
+         */
+        public int getSkipped()
+        {
+            return skipped;
+        }
+
+        /**
+         * The amount of messages which are queued or in flight for deletion.
+         *
+         * @return The amount of pending messages
+         */
+        public int getPending()
+        {
+            return pending;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Progress(scanned=" + scanned + ", deleted=" + deleted + ", skipped=" + skipped + ", pending=" + pending + ")";
+        }
+    }
+}
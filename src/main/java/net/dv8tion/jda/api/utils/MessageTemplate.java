@@ -0,0 +1,344 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.entities.EmbedType;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.Helpers;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable message with placeholders, which is serialized once and reused for every send.
+ *
+ * <p>The content, embeds, components and TTS flag of the message are converted to JSON when the template is created.
+ * Sending a template only inserts the placeholder values into the serialized bytes,
+ * instead of building and serializing the entire message again.
+ *
+ * <p>Placeholders have the form {@code {{name}}}, where the name consists of letters, digits, {@code _}, {@code -} and {@code .}.
+ * They can be used in any text of the message, such as the content, embed titles, field values, footers and button labels.
+ * The length limits of the content and embeds are checked when the template is rendered, with the values inserted.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * MessageTemplate welcome = MessageTemplate.of(new MessageBuilder()
+ *     .setEmbeds(new EmbedBuilder()
+ *         .setTitle("Welcome {{user}}!")
+ *         .setDescription("You are member #{{count}} of {{guild}}")
+ *         .build())
+ *     .build());
+ *
+ * Map<String, Object> values = new HashMap<>();
+ * values.put("user", member.getEffectiveName());
+ * values.put("count", guild.getMemberCount());
+ * values.put("guild", guild.getName());
+ * channel.sendMessage(welcome, values).queue();
+ * }</pre>
+ *
+ * @see net.dv8tion.jda.api.entities.MessageChannel#sendMessage(MessageTemplate, Map)
+ * @see net.dv8tion.jda.api.entities.WebhookClient#sendMessage(MessageTemplate, Map)
+ *
+ * @since 5.0.0
+ */
+public final class MessageTemplate
+{
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // The serialized message is split at the placeholders, there is one more chunk than placeholders
+    private final byte[][] chunks;
+    private final String[] placeholders;
+    private final Set<String> names;
+    // Length limits of the texts, which are checked against the rendered values
+    private final Limit[] limits;
+    private final Limit content;
+    private final boolean hasEmbeds;
+
+    private MessageTemplate(byte[] json, List<Limit> limits, boolean hasEmbeds)
+    {
+        List<byte[]> chunks = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < json.length - 1; i++)
+        {
+            if (json[i] != '{' || json[i + 1] != '{')
+                continue;
+            int end = i + 2;
+            while (end < json.length && isNameChar(json[end]))
+                end++;
+            if (end == i + 2 || end + 1 >= json.length || json[end] != '}' || json[end + 1] != '}')
+                continue;
+
+            chunks.add(Arrays.copyOfRange(json, start, i));
+            placeholders.add(new String(json, i + 2, end - i - 2, StandardCharsets.UTF_8));
+            start = end + 2;
+            i = end + 1;
+        }
+        chunks.add(Arrays.copyOfRange(json, start, json.length));
+
+        this.chunks = chunks.toArray(new byte[0][]);
+        this.placeholders = placeholders.toArray(new String[0]);
+        this.names = Collections.unmodifiableSet(new LinkedHashSet<>(placeholders));
+        this.limits = limits.toArray(new Limit[0]);
+        this.content = limits.get(0);
+        this.hasEmbeds = hasEmbeds;
+    }
+
+    /**
+     * Creates a template from the content, embeds, components and TTS flag of the provided message.
+     * <br>Use a {@link net.dv8tion.jda.api.MessageBuilder MessageBuilder} to create the message.
+     *
+     * @param  message
+     *         The message
+     *
+     * @throws IllegalArgumentException
+     *         If the message is null, or it contains an {@link MessageEmbed#isEmpty() empty} embed
+     *
+     * @return The template
+     */
+    @Nonnull
+    public static MessageTemplate of(@Nonnull Message message)
+    {
+        Checks.notNull(message, "Message");
+        List<MessageEmbed> embeds = message.getEmbeds().stream()
+                .filter(embed -> embed.getType() == EmbedType.RICH)
+                .collect(Collectors.toList());
+        List<Limit> limits = new ArrayList<>();
+        // The content is measured in chars like MessageAction does, embeds in code points like MessageEmbed#getLength
+        limits.add(new Limit("Content", Message.MAX_CONTENT_LENGTH, String::length, message.getContentRaw()));
+        for (MessageEmbed embed : embeds)
+        {
+            // The placeholders are still part of the text, so the length is checked by render
+            Checks.check(!embed.isEmpty(), "Provided Message contains an empty embed");
+            addLimits(limits, embed);
+        }
+
+        DataObject json = DataObject.empty()
+                .put("content", message.getContentRaw())
+                .put("tts", message.isTTS());
+        if (!embeds.isEmpty())
+            json.put("embeds", DataArray.fromCollection(embeds));
+        if (!message.getActionRows().isEmpty())
+            json.put("components", DataArray.fromCollection(message.getActionRows()));
+        return new MessageTemplate(json.toJson(), limits, !embeds.isEmpty());
+    }
+
+    /**
+     * The names of all placeholders in this template.
+     *
+     * @return Immutable set of placeholder names
+     */
+    @Nonnull
+    public Set<String> getPlaceholders()
+    {
+        return names;
+    }
+
+    /**
+     * Serializes the message with the provided placeholder values.
+     * <br>Values are converted with {@link String#valueOf(Object)}.
+     *
+     * @param  values
+     *         The placeholder values
+     *
+     * @throws IllegalArgumentException
+     *         <ul>
+     *             <li>If the map is null or a placeholder has no value</li>
+     *             <li>If the content or an embed exceeds its length limit with the provided values</li>
+     *             <li>If the message has no embeds and the content is blank with the provided values</li>
+     *         </ul>
+     *
+     * @return The JSON object of the message
+     */
+    @Nonnull
+    public byte[] render(@Nonnull Map<String, ?> values)
+    {
+        Checks.notNull(values, "Values");
+        for (String name : names)
+            Checks.check(values.containsKey(name), "Missing value for placeholder %s", name);
+        for (Limit limit : limits)
+            limit.check(values);
+        Checks.check(hasEmbeds || !content.isBlank(values), "Cannot build a message without content!");
+        if (placeholders.length == 0)
+            return chunks[0].clone();
+
+        int size = 0;
+        for (byte[] chunk : chunks)
+            size += chunk.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size + placeholders.length * 16);
+        for (int i = 0; i < placeholders.length; i++)
+        {
+            Object value = values.get(placeholders[i]);
+            out.write(chunks[i], 0, chunks[i].length);
+            byte[] escaped = escape(String.valueOf(value));
+            out.write(escaped, 0, escaped.length);
+        }
+        byte[] last = chunks[chunks.length - 1];
+        out.write(last, 0, last.length);
+        return out.toByteArray();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MessageTemplate" + names;
+    }
+
+    private static void addLimits(List<Limit> limits, MessageEmbed embed)
+    {
+        List<String> texts = new ArrayList<>();
+        String description = embed.getDescription() == null ? null : embed.getDescription().trim();
+        String author = embed.getAuthor() == null ? null : embed.getAuthor().getName();
+        String footer = embed.getFooter() == null ? null : embed.getFooter().getText();
+        limits.add(new Limit("Embed title", MessageEmbed.TITLE_MAX_LENGTH, Helpers::codePointLength, embed.getTitle()));
+        limits.add(new Limit("Embed description", MessageEmbed.DESCRIPTION_MAX_LENGTH, Helpers::codePointLength, description));
+        limits.add(new Limit("Embed author", MessageEmbed.AUTHOR_MAX_LENGTH, Helpers::codePointLength, author));
+        limits.add(new Limit("Embed footer", MessageEmbed.TEXT_MAX_LENGTH, Helpers::codePointLength, footer));
+        Collections.addAll(texts, embed.getTitle(), description, author, footer);
+        for (MessageEmbed.Field field : embed.getFields())
+        {
+            limits.add(new Limit("Field name", MessageEmbed.TITLE_MAX_LENGTH, Helpers::codePointLength, field.getName()));
+            limits.add(new Limit("Field value", MessageEmbed.VALUE_MAX_LENGTH, Helpers::codePointLength, field.getValue()));
+            Collections.addAll(texts, field.getName(), field.getValue());
+        }
+        limits.add(new Limit("Embed", MessageEmbed.EMBED_MAX_LENGTH_BOT, Helpers::codePointLength, texts.toArray(new String[0])));
+    }
+
+    private static boolean isNameChar(char c)
+    {
+        return c < 0x80 && isNameChar((byte) c);
+    }
+
+    private static boolean isNameChar(byte b)
+    {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '-' || b == '.';
+    }
+
+    // Escapes the value for the inside of a JSON string, the quotes are part of the template
+    private static byte[] escape(String value)
+    {
+        StringBuilder builder = null;
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20)
+            {
+                if (builder != null)
+                    builder.append(c);
+                continue;
+            }
+
+            if (builder == null)
+                builder = new StringBuilder(value.length() + 16).append(value, 0, i);
+            switch (c)
+            {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            default:
+                builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        return (builder == null ? value : builder.toString()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Length limit of one or more texts, which is measured without the placeholders when the template is created
+    private static final class Limit
+    {
+        private final String name;
+        private final int max;
+        private final ToIntFunction<String> measure;
+        private final StringBuilder text = new StringBuilder();
+        private final List<String> placeholders = new ArrayList<>();
+        private final int length;
+
+        private Limit(String name, int max, ToIntFunction<String> measure, String... texts)
+        {
+            this.name = name;
+            this.max = max;
+            this.measure = measure;
+            for (String text : texts)
+            {
+                if (text != null)
+                    parse(text);
+            }
+            this.length = measure.applyAsInt(text.toString());
+        }
+
+        // Uses the same placeholder syntax as the serialized message
+        private void parse(String value)
+        {
+            int start = 0;
+            for (int i = 0; i < value.length() - 1; i++)
+            {
+                if (value.charAt(i) != '{' || value.charAt(i + 1) != '{')
+                    continue;
+                int end = i + 2;
+                while (end < value.length() && isNameChar(value.charAt(end)))
+                    end++;
+                if (end == i + 2 || end + 1 >= value.length() || value.charAt(end) != '}' || value.charAt(end + 1) != '}')
+                    continue;
+
+                text.append(value, start, i);
+                placeholders.add(value.substring(i + 2, end));
+                start = end + 2;
+                i = end + 1;
+            }
+            text.append(value, start, value.length());
+        }
+
+        private void check(Map<String, ?> values)
+        {
+            int total = length;
+            for (String placeholder : placeholders)
+                total += measure.applyAsInt(String.valueOf(values.get(placeholder)));
+            Checks.check(total <= max, "%s may not exceed %d characters with the provided values, was %d", name, max, total);
+        }
+
+        private boolean isBlank(Map<String, ?> values)
+        {
+            if (!Helpers.isBlank(text))
+                return false;
+            for (String placeholder : placeholders)
+            {
+                if (!Helpers.isBlank(String.valueOf(values.get(placeholder))))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
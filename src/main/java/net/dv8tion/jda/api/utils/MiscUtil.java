@@ -21,6 +21,7 @@ import gnu.trove.map.hash.TLongObjectHashMap;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.Helpers;
+import net.dv8tion.jda.internal.utils.ParsingUtil;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -107,7 +108,7 @@ public class MiscUtil
         if (input.startsWith("-"))
             return Long.parseLong(input);
         else
-            return Long.parseUnsignedLong(input);
+            return ParsingUtil.parseSnowflake(input);
     }
 
     public static long parseSnowflake(String input)
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link SessionController} which coordinates the concurrent shard login of multiple processes.
+ * <br>This works like the {@link ConcurrentSessionController} but each bucket is guarded by an {@link IdentifyLock}
+ * which is shared by all processes that login shards of the same bot.
+ *
+ * <p>The bucket of a shard is determined by {@code shard_id % concurrency}, which is the same for every process
+ * as long as they use the same {@code max_concurrency}. Before a node is started, the worker for its bucket acquires
+ * the identify lock for that bucket. The lock is only granted once {@link #IDENTIFY_DELAY} seconds have passed
+ * since the last IDENTIFY of any process in the same bucket, and released after the node has sent its IDENTIFY.
+ *
+ * <p>By default this uses a {@link FileIdentifyLock} in the temporary directory, which coordinates all processes on
+ * the same host. Processes which run different bots should use a different directory.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * DefaultShardManagerBuilder.createDefault(token)
+ *     .setSessionController(new SharedSessionController(new SharedSessionController.FileIdentifyLock(Paths.get("/var/run/mybot"))))
+ *     .setShards(0, 15)
+ *     .setShardsTotal(64)
+ *     .build();
+ * }</pre>
+ *
+ * @since 5.0.0
+ */
+public class SharedSessionController extends ConcurrentSessionController implements SessionController
+{
+    private final IdentifyLock identifyLock;
+
+    /**
+     * Creates a new SharedSessionController using a {@link FileIdentifyLock}
+     * in the {@code jda-identify} folder of the temporary directory.
+     */
+    public SharedSessionController()
+    {
+        this(new FileIdentifyLock(Paths.get(System.getProperty("java.io.tmpdir"), "jda-identify")));
+    }
+
+    /**
+     * Creates a new SharedSessionController using the provided {@link IdentifyLock}.
+     *
+     * @param  identifyLock
+     *         The lock backend used to coordinate the buckets across processes
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided
+     */
+    public SharedSessionController(@Nonnull IdentifyLock identifyLock)
+    {
+        Checks.notNull(identifyLock, "IdentifyLock");
+        this.identifyLock = identifyLock;
+    }
+
+    /**
+     * The {@link IdentifyLock} used by this controller.
+     *
+     * @return The IdentifyLock
+     */
+    @Nonnull
+    public IdentifyLock getIdentifyLock()
+    {
+        return identifyLock;
+    }
+
+    @Override
+    protected void runNode(int bucket, @Nonnull SessionConnectNode node) throws InterruptedException
+    {
+        long delay = TimeUnit.SECONDS.toMillis(IDENTIFY_DELAY);
+        try
+        {
+            identifyLock.acquire(bucket, delay);
+        }
+        catch (IOException e)
+        {
+            // We can still respect the limit of this process, the other processes might make us back off
+            log.error("Failed to acquire identify lock for bucket {}, falling back to local backoff", bucket, e);
+            TimeUnit.MILLISECONDS.sleep(delay);
+            super.runNode(bucket, node);
+            return;
+        }
+
+        try
+        {
+            super.runNode(bucket, node);
+        }
+        finally
+        {
+            try
+            {
+                identifyLock.release(bucket);
+            }
+            catch (IOException e)
+            {
+                log.error("Failed to release identify lock for bucket {}", bucket, e);
+            }
+        }
+    }
+
+    @Override
+    protected void backoff(int bucket)
+    {
+        // The identify lock already waits for the delay of the bucket
+    }
+
+    /**
+     * Lock backend used by the {@link SharedSessionController} to coordinate IDENTIFY buckets across processes.
+     *
+     * <p>Each bucket is acquired by at most one worker thread of a process at a time,
+     * implementations do not need to support reentrant locking.
+     */
+    public interface IdentifyLock
+    {
+        /**
+         * Blocks until this process is allowed to IDENTIFY in the provided bucket.
+         * <br>This should wait until no other process holds the bucket and the provided delay has passed
+         * since the last {@link #release(int) release} of the bucket by any process.
+         *
+         * @param  bucket
+         *         The bucket id ({@code shard_id % concurrency})
+         * @param  delay
+         *         The delay in milliseconds between two identifies in the same bucket
+         *
+         * @throws IOException
+         *         If the lock backend is not accessible
+         * @throws InterruptedException
+         *         If the calling thread is interrupted
+         */
+        void acquire(int bucket, long delay) throws IOException, InterruptedException;
+
+        /**
+         * Releases the provided bucket after the IDENTIFY has been sent.
+         * <br>The time of this call is used as the start of the delay for the next IDENTIFY in this bucket.
+         *
+         * @param  bucket
+         *         The bucket id ({@code shard_id % concurrency})
+         *
+         * @throws IOException
+         *         If the lock backend is not accessible
+         */
+        void release(int bucket) throws IOException;
+    }
+
+    /**
+     * {@link IdentifyLock} which uses OS level file locks in a shared directory.
+     * <br>This coordinates all processes on the same host (or with access to the same file system supporting locks).
+     *
+     * <p>Each bucket uses a {@code bucket-<id>.lock} file which stores the timestamp of the last IDENTIFY.
+     */
+    public static class FileIdentifyLock implements IdentifyLock
+    {
+        private final Map<Integer, FileChannel> held = new ConcurrentHashMap<>();
+        private final Path directory;
+
+        /**
+         * Creates a new FileIdentifyLock for the provided directory.
+         * <br>The directory is created if it does not exist.
+         *
+         * @param  directory
+         *         The directory for the lock files
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided
+         */
+        public FileIdentifyLock(@Nonnull Path directory)
+        {
+            Checks.notNull(directory, "Directory");
+            this.directory = directory;
+        }
+
+        /**
+         * The directory which contains the lock files.
+         *
+         * @return The directory
+         */
+        @Nonnull
+        public Path getDirectory()
+        {
+            return directory;
+        }
+
+        @Override
+        public void acquire(int bucket, long delay) throws IOException, InterruptedException
+        {
+            Files.createDirectories(directory);
+            FileChannel channel = FileChannel.open(directory.resolve("bucket-" + bucket + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try
+            {
+                channel.lock();
+                long lastIdentify = readTimestamp(channel);
+                // Limit to delay in case the clock of another process was ahead
+                long backoff = Math.min(delay, lastIdentify + delay - System.currentTimeMillis());
+                if (backoff > 0)
+                    TimeUnit.MILLISECONDS.sleep(backoff);
+                held.put(bucket, channel);
+            }
+            catch (IOException | InterruptedException | RuntimeException e)
+            {
+                channel.close(); // this also releases the lock
+                throw e;
+            }
+        }
+
+        @Override
+        public void release(int bucket) throws IOException
+        {
+            FileChannel channel = held.remove(bucket);
+            if (channel == null)
+                return;
+            try
+            {
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+                buffer.putLong(0, System.currentTimeMillis());
+                channel.write(buffer, 0);
+                channel.force(false);
+            }
+            finally
+            {
+                channel.close();
+            }
+        }
+
+        private static long readTimestamp(FileChannel channel) throws IOException
+        {
+            if (channel.size() < Long.BYTES)
+                return 0;
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0);
+            return buffer.getLong(0);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import net.dv8tion.jda.api.utils.data.etf.ExTermDecoder;
 import net.dv8tion.jda.api.utils.data.etf.ExTermEncoder;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.Helpers;
+import net.dv8tion.jda.internal.utils.ParsingUtil;
 import org.jetbrains.annotations.Contract;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -516,7 +517,7 @@ public class DataArray implements Iterable<Object>, SerializableArray
      */
     public long getUnsignedLong(int index)
     {
-        Long value = get(Long.class, index, Long::parseUnsignedLong, Number::longValue);
+        Long value = get(Long.class, index, ParsingUtil::parseSnowflake, Number::longValue);
         if (value == null)
             throw valueError(index, "unsigned long");
         return value;
@@ -537,7 +538,7 @@ public class DataArray implements Iterable<Object>, SerializableArray
      */
     public long getUnsignedLong(int index, long defaultValue)
     {
-        Long value = get(Long.class, index, Long::parseUnsignedLong, Number::longValue);
+        Long value = get(Long.class, index, ParsingUtil::parseSnowflake, Number::longValue);
         return value == null ? defaultValue : value;
     }
 
@@ -28,6 +28,8 @@ import net.dv8tion.jda.api.utils.data.etf.ExTermDecoder;
 import net.dv8tion.jda.api.utils.data.etf.ExTermEncoder;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.Helpers;
+import net.dv8tion.jda.internal.utils.ParsingUtil;
+import net.dv8tion.jda.internal.utils.data.LazyJsonMap;
 import org.jetbrains.annotations.Contract;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -110,6 +112,35 @@ public class DataObject implements SerializableData
         }
     }
 
+    /**
+     * Indexes a JSON payload into a DataObject instance, which decodes values when they are accessed.
+     * <br>The payload is scanned once to record the offsets of all values, but nothing is decoded until it is used.
+     * Nested objects are decoded independently, so large subtrees which are never accessed are never decoded.
+     * The returned object behaves like one returned by {@link #fromJson(byte[])}, including modifications.
+     *
+     * <p>The structure of the payload is checked immediately, but malformed strings or numbers
+     * throw a {@link net.dv8tion.jda.api.exceptions.ParsingException ParsingException} when they are accessed.
+     * The provided array must not be modified afterwards.
+     *
+     * @param  data
+     *         The correctly formatted JSON payload to parse
+     *
+     * @throws IllegalArgumentException
+     *         If the provided data is null
+     * @throws net.dv8tion.jda.api.exceptions.ParsingException
+     *         If the provided json is incorrectly formatted
+     *
+     * @return A DataObject instance for the provided payload
+     *
+     * @since  5.0.0
+     */
+    @Nonnull
+    public static DataObject fromLazyJson(@Nonnull byte[] data)
+    {
+        Checks.notNull(data, "Data");
+        return new DataObject(LazyJsonMap.parse(data));
+    }
+
     /**
      * Parses a JSON payload into a DataObject instance.
      *
@@ -507,7 +538,7 @@ public class DataObject implements SerializableData
      */
     public long getUnsignedLong(@Nonnull String key)
     {
-        Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
+        Long value = get(Long.class, key, ParsingUtil::parseSnowflake, Number::longValue);
         if (value == null)
             throw valueError(key, "unsigned long");
         return value;
@@ -528,7 +559,7 @@ public class DataObject implements SerializableData
      */
     public long getUnsignedLong(@Nonnull String key, long defaultValue)
     {
-        Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
+        Long value = get(Long.class, key, ParsingUtil::parseSnowflake, Number::longValue);
         return value == null ? defaultValue : value;
     }
 
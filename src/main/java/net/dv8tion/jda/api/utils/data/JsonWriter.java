@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils.data;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Writes a JSON value token by token.
+ * <br>This is used by {@link StreamingSerializableData} to write payloads without building a {@link DataObject} first.
+ *
+ * <p>Names must only be written inside of objects, and every value inside of an object must be preceded by a name.
+ * Methods throw {@link java.io.UncheckedIOException UncheckedIOException} if the underlying output fails
+ * and {@link IllegalStateException} if the tokens do not form valid JSON.
+ *
+ * @see StreamingSerializableData#writeJson(JsonWriter)
+ *
+ * @since 5.0.0
+ */
+public interface JsonWriter
+{
+    /**
+     * Starts a JSON object.
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter beginObject();
+
+    /**
+     * Ends the current JSON object.
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter endObject();
+
+    /**
+     * Starts a JSON array.
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter beginArray();
+
+    /**
+     * Ends the current JSON array.
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter endArray();
+
+    /**
+     * Writes the name of the next value in the current object.
+     *
+     * @param  name
+     *         The name
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter name(@Nonnull String name);
+
+    /**
+     * Writes a string, or null.
+     *
+     * @param  value
+     *         The string
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter value(@Nullable String value);
+
+    /**
+     * Writes an integer.
+     *
+     * @param  value
+     *         The integer
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter value(long value);
+
+    /**
+     * Writes a floating point number.
+     *
+     * @param  value
+     *         The number
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter value(double value);
+
+    /**
+     * Writes a boolean.
+     *
+     * @param  value
+     *         The boolean
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter value(boolean value);
+
+    /**
+     * Writes null.
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter nullValue();
+
+    /**
+     * Writes an arbitrary value.
+     * <br>This supports every value that can be used with {@link DataObject#put(String, Object)},
+     * including {@link SerializableData}, {@link SerializableArray}, maps and collections.
+     * Instances of {@link StreamingSerializableData} are written with {@link StreamingSerializableData#writeJson(JsonWriter)}.
+     *
+     * @param  value
+     *         The value
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    JsonWriter value(@Nullable Object value);
+
+    /**
+     * Writes a named value in the current object.
+     * <br>This is equivalent to {@code name(name).value(value)}.
+     *
+     * @param  name
+     *         The name
+     * @param  value
+     *         The value
+     *
+     * @return The JsonWriter instance. Useful for chaining.
+     */
+    @Nonnull
+    default JsonWriter put(@Nonnull String name, @Nullable Object value)
+    {
+        return name(name).value(value);
+    }
+}
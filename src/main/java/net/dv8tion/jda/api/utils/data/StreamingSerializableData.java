@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils.data;
+
+import net.dv8tion.jda.internal.utils.data.DataTreeWriter;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Allows custom serialization for JSON payloads of an object, without building a {@link DataObject} first.
+ *
+ * <p>Request bodies of this type are written directly into the connection when the request is sent.
+ * The {@link #toData()} representation is only built when it is needed elsewhere, for instance when the object
+ * is {@link DataObject#put(String, Object) put} into another {@link DataObject}.
+ *
+ * @since 5.0.0
+ */
+public interface StreamingSerializableData extends SerializableData
+{
+    /**
+     * Writes the JSON object for this object.
+     * <br>Implementations must write exactly one value, usually starting with {@link JsonWriter#beginObject()}.
+     *
+     * @param writer
+     *        The {@link JsonWriter}
+     */
+    void writeJson(@Nonnull JsonWriter writer);
+
+    /**
+     * Serialized {@link net.dv8tion.jda.api.utils.data.DataObject} for this object,
+     * built from the tokens written by {@link #writeJson(JsonWriter)}.
+     *
+     * @throws IllegalStateException
+     *         If {@link #writeJson(JsonWriter)} does not write an object
+     *
+     * @return {@link net.dv8tion.jda.api.utils.data.DataObject}
+     */
+    @Nonnull
+    @Override
+    default DataObject toData()
+    {
+        return DataTreeWriter.toData(this);
+    }
+}
@@ -16,9 +16,12 @@
 
 package net.dv8tion.jda.api.utils.data.etf;
 
+import net.dv8tion.jda.internal.utils.data.KeyTable;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -241,7 +244,7 @@ public class ExTermDecoder
 
     private static Object unpackAtom(ByteBuffer buffer, Charset charset, int length)
     {
-        String value = getString(buffer, charset, length);
+        String value = getKey(buffer, charset, length);
         switch (value)
         {
         case "true": return true;
@@ -253,9 +256,47 @@ public class ExTermDecoder
 
     private static String getString(ByteBuffer buffer, Charset charset, int length)
     {
-        byte[] array = new byte[length];
-        buffer.get(array);
-        return new String(array, charset);
+        if (!buffer.hasArray())
+        {
+            byte[] array = new byte[length];
+            buffer.get(array);
+            return new String(array, charset);
+        }
+
+        // Decode directly from the backing array instead of copying the bytes first
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, charset);
+        advance(buffer, length);
+        return value;
+    }
+
+    // Map keys and atoms are the same few strings in every payload
+    private static String getKey(ByteBuffer buffer, Charset charset, int length)
+    {
+        if (!buffer.hasArray())
+            return getString(buffer, charset, length);
+
+        // Only ASCII is cached, since the charsets of binaries and atoms only agree on those characters
+        String key = KeyTable.get(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        if (key == null)
+            return getString(buffer, charset, length);
+        advance(buffer, length);
+        return key;
+    }
+
+    private static String unpackKey(ByteBuffer buffer)
+    {
+        // Keys are always binaries in discord payloads
+        if (buffer.get(buffer.position()) != BINARY)
+            return (String) unpack0(buffer);
+        buffer.get();
+        int length = buffer.getInt();
+        return getKey(buffer, StandardCharsets.UTF_8, length);
+    }
+
+    private static void advance(ByteBuffer buffer, int length)
+    {
+        // This cast prevents issues with backwards compatibility in the ABI (java 11 made breaking changes)
+        ((Buffer) buffer).position(buffer.position() + length);
     }
 
     private static List<Object> unpackList0(ByteBuffer buffer)
@@ -274,11 +315,12 @@ public class ExTermDecoder
 
     private static Map<String, Object> unpackMap0(ByteBuffer buffer)
     {
-        Map<String, Object> map = new HashMap<>();
         int arity = buffer.getInt();
+        // Sized to avoid rehashing for the known amount of entries
+        Map<String, Object> map = new HashMap<>(arity < 12 ? 16 : (int) (arity / 0.75f) + 1);
         while (arity-- > 0)
         {
-            String key = (String) unpack0(buffer);
+            String key = unpackKey(buffer);
             Object value = unpack0(buffer);
             map.put(key, value);
         }
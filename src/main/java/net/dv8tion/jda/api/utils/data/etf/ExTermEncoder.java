@@ -63,17 +63,43 @@ public class ExTermEncoder
      */
     public static ByteBuffer pack(Object data)
     {
-        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        return pack(ByteBuffer.allocate(1024), data);
+    }
+
+    /**
+     * Encodes the provided object into the provided buffer, starting at the beginning of the buffer.
+     * <br>If the buffer is too small, a larger buffer is allocated and returned instead.
+     * Callers which encode many terms should keep the returned buffer and pass it to the next call,
+     * which avoids allocating and growing a new buffer for every term.
+     *
+     * <p>The type mapping is the same as for {@link #pack(Object)}.
+     *
+     * @param  buffer
+     *         The {@link ByteBuffer} to reuse, its content is overwritten
+     * @param  data
+     *         The object to encode
+     *
+     * @throws UnsupportedOperationException
+     *         If there is no type mapping for the provided object
+     *
+     * @return {@link ByteBuffer} with the encoded ETF term, which is either the provided buffer or a larger replacement
+     *
+     * @since  5.0.0
+     */
+    public static ByteBuffer pack(ByteBuffer buffer, Object data)
+    {
+        ((Buffer) buffer).clear();
+        buffer = realloc(buffer, 1);
         buffer.put((byte) 131);
 
-        ByteBuffer packed = pack(buffer, data);
+        ByteBuffer packed = packValue(buffer, data);
         // This cast prevents issues with backwards compatibility in the ABI (java 11 made breaking changes)
         ((Buffer) packed).flip();
         return packed;
     }
 
     @SuppressWarnings("unchecked")
-    private static ByteBuffer pack(ByteBuffer buffer, Object value)
+    private static ByteBuffer packValue(ByteBuffer buffer, Object value)
     {
         if (value instanceof String)
             return packBinary(buffer, (String) value);
@@ -118,7 +144,7 @@ public class ExTermEncoder
         if (buffer.remaining() >= length)
             return buffer;
 
-        ByteBuffer allocated = ByteBuffer.allocate((buffer.position() + length) << 1);
+        ByteBuffer allocated = ByteBuffer.allocate(Math.max(buffer.capacity(), buffer.position() + length) << 1);
         // This cast prevents issues with backwards compatibility in the ABI (java 11 made breaking changes)
         ((Buffer) buffer).flip();
         allocated.put(buffer);
@@ -134,7 +160,7 @@ public class ExTermEncoder
         for (Map.Entry<String, Object> entry : data.entrySet())
         {
             buffer = packBinary(buffer, entry.getKey());
-            buffer = pack(buffer, entry.getValue());
+            buffer = packValue(buffer, entry.getValue());
         }
 
         return buffer;
@@ -152,14 +178,14 @@ public class ExTermEncoder
         buffer.put(LIST);
         buffer.putInt(data.size());
         for (Object element : data)
-            buffer = pack(buffer, element);
+            buffer = packValue(buffer, element);
         return packNil(buffer);
     }
 
     private static ByteBuffer packBinary(ByteBuffer buffer, String value)
     {
         byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
-        buffer = realloc(buffer, encoded.length * 4 + 5);
+        buffer = realloc(buffer, encoded.length + 5);
         buffer.put(BINARY);
         buffer.putInt(encoded.length);
         buffer.put(encoded);
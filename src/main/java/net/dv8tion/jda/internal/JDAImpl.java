@@ -40,6 +40,7 @@ import net.dv8tion.jda.api.managers.AudioManager;
 import net.dv8tion.jda.api.managers.Presence;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.requests.Request;
+import net.dv8tion.jda.api.requests.RequestCoalescing;
 import net.dv8tion.jda.api.requests.Response;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.restaction.CommandCreateAction;
@@ -53,9 +54,11 @@ import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.entities.EntityBuilder;
+import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.entities.UserImpl;
 import net.dv8tion.jda.internal.handle.EventCache;
 import net.dv8tion.jda.internal.handle.GuildSetupController;
+import net.dv8tion.jda.internal.handle.PresenceUpdateHandler;
 import net.dv8tion.jda.internal.hooks.EventManagerProxy;
 import net.dv8tion.jda.internal.interactions.CommandDataImpl;
 import net.dv8tion.jda.internal.interactions.command.CommandImpl;
@@ -72,7 +75,10 @@ import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import net.dv8tion.jda.internal.utils.UnlockHook;
 import net.dv8tion.jda.internal.utils.cache.AbstractCacheView;
+import net.dv8tion.jda.internal.utils.cache.MemberCacheEvictor;
 import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeIndex;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
 import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
 import net.dv8tion.jda.internal.utils.config.MetaConfig;
 import net.dv8tion.jda.internal.utils.config.SessionConfig;
@@ -106,6 +112,15 @@ public class JDAImpl implements JDA
     protected final SnowflakeCacheViewImpl<PrivateChannel> privateChannelCache = new SnowflakeCacheViewImpl<>(PrivateChannel.class, Channel::getName);
     protected final LinkedList<Long> privateChannelLRU = new LinkedList<>();
 
+    protected final SnowflakeIndex<Role> roleIndex = new SnowflakeIndex<>(role -> {
+        GuildImpl guild = (GuildImpl) guildCache.get(role.getGuild().getIdLong());
+        return guild != null && guild.getRolesView().get(role.getIdLong()) == role;
+    });
+    protected final SnowflakeIndex<Emote> emoteIndex = new SnowflakeIndex<>(emote -> {
+        GuildImpl guild = (GuildImpl) guildCache.get(emote.getGuild().getIdLong());
+        return guild != null && guild.getEmotesView().get(emote.getIdLong()) == emote;
+    });
+
     protected final AbstractCacheView<AudioManager> audioManagers = new CacheView.SimpleCacheView<>(AudioManager.class, m -> m.getGuild().getName());
 
     protected final PresenceImpl presence;
@@ -136,6 +151,11 @@ public class JDAImpl implements JDA
     protected String clientId = null,  requiredScopes = "bot";
     protected ShardManager shardManager = null;
     protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
+    protected MemberCacheEvictor memberCacheEvictor = new MemberCacheEvictor(this, MemberCacheEviction.NONE);
+    protected final MemberBatchLoader memberLoader = new MemberBatchLoader(this);
+    protected long presenceCoalescingWindow = 0;
+    protected CdnCache cdnCache = null;
+    protected GatewayMetrics gatewayMetrics = GatewayMetrics.NONE;
 
     public JDAImpl(AuthorizationConfig authConfig)
     {
@@ -170,6 +190,16 @@ public class JDAImpl implements JDA
         return sessionConfig.isRawEvents();
     }
 
+    public boolean isDeduplicateStrings()
+    {
+        return sessionConfig.isDeduplicateStrings();
+    }
+
+    public boolean isBatchMemberRequests()
+    {
+        return sessionConfig.isBatchMemberRequests();
+    }
+
     public boolean isRelativeRateLimit()
     {
         return sessionConfig.isRelativeRateLimit();
@@ -234,6 +264,72 @@ public class JDAImpl implements JDA
         this.memberCachePolicy = policy;
     }
 
+    public void setMemberCacheEviction(MemberCacheEviction eviction)
+    {
+        this.memberCacheEvictor = new MemberCacheEvictor(this, eviction);
+    }
+
+    public void setRequestCoalescing(RequestCoalescing coalescing)
+    {
+        requester.getCoalescer().setConfig(coalescing);
+    }
+
+    public void setEventCacheLimit(EventCacheLimit limit)
+    {
+        eventCache.setLimit(limit);
+    }
+
+    public void setPresenceCoalescingWindow(long millis)
+    {
+        this.presenceCoalescingWindow = millis;
+    }
+
+    public long getPresenceCoalescingWindow()
+    {
+        return presenceCoalescingWindow;
+    }
+
+    public void setCdnCache(CdnCache cache)
+    {
+        this.cdnCache = cache;
+    }
+
+    public CdnCache getCdnCache()
+    {
+        return cdnCache;
+    }
+
+    public void setGatewayMetrics(GatewayMetrics metrics)
+    {
+        this.gatewayMetrics = metrics == null ? GatewayMetrics.NONE : metrics;
+        this.eventManager.setMetrics(this.gatewayMetrics);
+    }
+
+    public GatewayMetrics getGatewayMetrics()
+    {
+        return gatewayMetrics;
+    }
+
+    public MemberCacheEvictor getMemberCacheEvictor()
+    {
+        return memberCacheEvictor;
+    }
+
+    public SnowflakeIndex<Role> getRoleIndex()
+    {
+        return roleIndex;
+    }
+
+    public SnowflakeIndex<Emote> getEmoteIndex()
+    {
+        return emoteIndex;
+    }
+
+    public MemberBatchLoader getMemberLoader()
+    {
+        return memberLoader;
+    }
+
     public SessionController getSessionController()
     {
         return sessionConfig.getSessionController();
@@ -516,6 +612,12 @@ public class JDAImpl implements JDA
         return threadConfig.getCallbackPool();
     }
 
+    @Nonnull
+    public HashedWheelTimer getTimeoutTimer()
+    {
+        return threadConfig.getTimeoutTimer();
+    }
+
     @Nonnull
     @Override
     @SuppressWarnings("ConstantConditions") // this can't really happen unless you pass bad configs
@@ -611,14 +713,14 @@ public class JDAImpl implements JDA
     @Override
     public SnowflakeCacheView<Role> getRoleCache()
     {
-        return CacheView.allSnowflakes(() -> guildCache.stream().map(Guild::getRoleCache));
+        return roleIndex.view(() -> guildCache.stream().map(Guild::getRoleCache));
     }
 
     @Nonnull
     @Override
     public SnowflakeCacheView<Emote> getEmoteCache()
     {
-        return CacheView.allSnowflakes(() -> guildCache.stream().map(Guild::getEmoteCache));
+        return emoteIndex.view(() -> guildCache.stream().map(Guild::getEmoteCache));
     }
 
     @Nonnull
@@ -747,12 +849,14 @@ public class JDAImpl implements JDA
             return;
 
         setStatus(Status.SHUTTING_DOWN);
+        memberCacheEvictor.shutdown();
         shutdownInternals();
 
         WebSocketClient client = getClient();
         if (client != null)
         {
             client.getChunkManager().shutdown();
+            client.<PresenceUpdateHandler>getHandler("PRESENCE_UPDATE").clearPending();
             client.shutdown();
         }
     }
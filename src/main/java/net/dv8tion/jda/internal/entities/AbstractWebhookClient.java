@@ -25,6 +25,7 @@ import net.dv8tion.jda.api.interactions.components.LayoutComponent;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.restaction.WebhookMessageUpdateAction;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
 import net.dv8tion.jda.internal.requests.restaction.WebhookMessageActionImpl;
@@ -35,6 +36,7 @@ import javax.annotation.Nonnull;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public abstract class AbstractWebhookClient<T> implements WebhookClient<T>
@@ -74,6 +76,13 @@ public abstract class AbstractWebhookClient<T> implements WebhookClient<T>
         return sendRequest().applyMessage(message);
     }
 
+    @Nonnull
+    @Override
+    public WebhookMessageActionImpl<T> sendMessage(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values)
+    {
+        return sendRequest().applyTemplate(template, values);
+    }
+
     @Nonnull
     @Override
     public WebhookMessageActionImpl<T> sendFile(@Nonnull InputStream data, @Nonnull String name, @Nonnull AttachmentOption... options)
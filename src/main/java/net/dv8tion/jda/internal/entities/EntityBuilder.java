@@ -53,6 +53,8 @@ import net.dv8tion.jda.internal.entities.mixin.channel.middleman.AudioChannelMix
 import net.dv8tion.jda.internal.handle.EventCache;
 import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.ParsingUtil;
+import net.dv8tion.jda.internal.utils.StringInterner;
 import net.dv8tion.jda.internal.utils.UnlockHook;
 import net.dv8tion.jda.internal.utils.cache.MemberCacheViewImpl;
 import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
@@ -61,10 +63,7 @@ import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.slf4j.Logger;
 
 import javax.annotation.Nullable;
-import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.ToLongFunction;
@@ -105,6 +104,11 @@ public class EntityBuilder
         return api;
     }
 
+    private String intern(String value)
+    {
+        return api.isDeduplicateStrings() ? StringInterner.intern(value) : value;
+    }
+
     public SelfUser createSelfUser(DataObject self)
     {
         SelfUserImpl selfUser = (SelfUserImpl) (getJDA().hasSelfUser() ? getJDA().getSelfUser() : null);
@@ -157,7 +161,9 @@ public class EntityBuilder
                     continue;
                 }
                 final long emoteId = object.getLong("id");
-                emoteMap.put(emoteId, createEmote(guildObj, object));
+                EmoteImpl emote = createEmote(guildObj, object);
+                emoteMap.put(emoteId, emote);
+                getJDA().getEmoteIndex().put(emote);
             }
         }
     }
@@ -363,7 +369,7 @@ public class EntityBuilder
         if (newUser)
         {
             // Initial creation
-            userObj.setName(user.getString("username"))
+            userObj.setName(intern(user.getString("username")))
                    .setDiscriminator(user.get("discriminator").toString())
                    .setAvatarId(user.getString("avatar", null))
                    .setBot(user.getBoolean("bot"))
@@ -395,7 +401,7 @@ public class EntityBuilder
         long responseNumber = jda.getResponseTotal();
         if (!oldName.equals(newName))
         {
-            userObj.setName(newName);
+            userObj.setName(intern(newName));
             jda.handleEvent(
                 new UserUpdateNameEvent(
                     jda, responseNumber,
@@ -486,6 +492,7 @@ public class EntityBuilder
             if (member.isOwner())
                 guild.setOwner(member);
         }
+        getJDA().getMemberCacheEvictor().onCache(guild, member);
 
         long hashId = guild.getIdLong() ^ user.getIdLong();
         getJDA().getEventCache().playbackCache(EventCache.Type.USER, member.getIdLong());
@@ -508,7 +515,7 @@ public class EntityBuilder
         {
             // Create a brand new member
             member = new MemberImpl(guild, user);
-            member.setNickname(memberJson.getString("nick", null));
+            member.setNickname(intern(memberJson.getString("nick", null)));
             member.setAvatarId(memberJson.getString("avatar", null));
 
             long boostTimestamp = memberJson.isNull("premium_since")
@@ -535,6 +542,7 @@ public class EntityBuilder
         else
         {
             // Update cached member and fire events
+            member.updateLastActivity();
             List<Role> roles = new ArrayList<>(roleArray.length());
             for (int i = 0; i < roleArray.length(); i++)
             {
@@ -575,7 +583,7 @@ public class EntityBuilder
         String requestToSpeak = voiceStateJson.getString("request_to_speak_timestamp", null);
         OffsetDateTime timestamp = null;
         if (requestToSpeak != null)
-            timestamp = OffsetDateTime.parse(requestToSpeak);
+            timestamp = ParsingUtil.parseOffsetDateTime(requestToSpeak);
 
         // VoiceState is considered volatile so we don't expect anything to actually exist
         voiceState.setSelfMuted(voiceStateJson.getBoolean("self_mute"))
@@ -604,7 +612,7 @@ public class EntityBuilder
             String newNick = content.getString("nick", null);
             if (!Objects.equals(oldNick, newNick))
             {
-                member.setNickname(newNick);
+                member.setNickname(intern(newNick));
                 getJDA().handleEvent(
                     new GuildMemberUpdateNicknameEvent(
                         getJDA(), responseNumber,
@@ -658,9 +666,7 @@ public class EntityBuilder
 
         if (!content.isNull("joined_at") && !member.hasTimeJoined())
         {
-            String joinedAtRaw = content.getString("joined_at");
-            TemporalAccessor joinedAt = DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(joinedAtRaw);
-            long joinEpoch = Instant.from(joinedAt).toEpochMilli();
+            long joinEpoch = ParsingUtil.parseTimestamp(content.getString("joined_at"));
             member.setJoinDate(joinEpoch);
         }
 
@@ -772,6 +778,9 @@ public class EntityBuilder
         if (cacheGame && parsedActivity)
             presence.setActivities(activities);
         presence.setOnlineStatus(onlineStatus);
+        // The next presence update has to be parsed again
+        presence.setActivityFingerprint(0);
+        presence.setClientStatusFingerprint(0);
         if (clientStatusJson != null)
         {
             for (String key : clientStatusJson.keys())
@@ -1328,6 +1337,7 @@ public class EntityBuilder
                 role = new RoleImpl(id, guild);
                 playbackCache = roleView.getMap().put(id, role) == null;
             }
+            getJDA().getRoleIndex().put(role);
         }
         final int color = roleJson.getInt("color");
         role.setName(roleJson.getString("name"))
@@ -1416,7 +1426,7 @@ public class EntityBuilder
         final boolean pinned = jsonObject.getBoolean("pinned");
         final boolean tts = jsonObject.getBoolean("tts");
         final boolean mentionsEveryone = jsonObject.getBoolean("mention_everyone");
-        final OffsetDateTime editTime = jsonObject.isNull("edited_timestamp") ? null : OffsetDateTime.parse(jsonObject.getString("edited_timestamp"));
+        final OffsetDateTime editTime = jsonObject.isNull("edited_timestamp") ? null : ParsingUtil.parseOffsetDateTime(jsonObject.getString("edited_timestamp"));
         final String nonce = jsonObject.isNull("nonce") ? null : jsonObject.get("nonce").toString();
         final int flags = jsonObject.getInt("flags", 0);
 
@@ -1654,7 +1664,7 @@ public class EntityBuilder
         final String url = content.getString("url", null);
         final String title = content.getString("title", null);
         final String description = content.getString("description", null);
-        final OffsetDateTime timestamp = content.isNull("timestamp") ? null : OffsetDateTime.parse(content.getString("timestamp"));
+        final OffsetDateTime timestamp = content.isNull("timestamp") ? null : ParsingUtil.parseOffsetDateTime(content.getString("timestamp"));
         final int color = content.isNull("color") ? Role.DEFAULT_COLOR_RAW : content.getInt("color");
 
         final Thumbnail thumbnail;
@@ -2003,7 +2013,7 @@ public class EntityBuilder
             maxUses = object.getInt("max_uses");
             uses = object.getInt("uses");
             temporary = object.getBoolean("temporary");
-            timeCreated = OffsetDateTime.parse(object.getString("created_at"));
+            timeCreated = ParsingUtil.parseOffsetDateTime(object.getString("created_at"));
         }
         else
         {
@@ -2027,8 +2037,8 @@ public class EntityBuilder
         final String description = object.getString("description", null);
         final int uses = object.getInt("usage_count");
         final User creator = createUser(object.getObject("creator"));
-        final OffsetDateTime createdAt = OffsetDateTime.parse(object.getString("created_at"));
-        final OffsetDateTime updatedAt = OffsetDateTime.parse(object.getString("updated_at"));
+        final OffsetDateTime createdAt = ParsingUtil.parseOffsetDateTime(object.getString("created_at"));
+        final OffsetDateTime updatedAt = ParsingUtil.parseOffsetDateTime(object.getString("updated_at"));
         final long guildId = object.getLong("source_guild_id");
         final DataObject guildObject = object.getObject("serialized_source_guild");
         final String guildName = guildObject.getString("name");
@@ -1022,6 +1022,9 @@ public class GuildImpl implements Guild
         {
             // return member from cache if member tracking is enabled through intents
             Member member = getMemberById(id);
+            // restore the member if it was evicted to off-heap memory
+            if (member == null)
+                member = jda.getMemberCacheEvictor().restore(this, id);
             // if the join time is inaccurate we also have to load it through REST to update this information
             if (!update || (member != null && member.hasTimeJoined()))
                 return member;
@@ -1040,6 +1043,9 @@ public class GuildImpl implements Guild
         return new DeferredRestAction<>(jda, Member.class,
                 () -> getMember(id, update, jda),
                 () -> { // otherwise we need to update the member with a REST request first to get the nickname/roles
+                    jda.getMemberCacheEvictor().onCacheMiss(this, id);
+                    if (jda.isBatchMemberRequests() && jda.isIntent(GatewayIntent.GUILD_MEMBERS))
+                        return new FutureRestAction<>(jda, () -> jda.getMemberLoader().load(this, id));
                     Route.CompiledRoute route = Route.Guilds.GET_MEMBER.compile(getId(), Long.toUnsignedString(id));
                     return new RestActionImpl<>(jda, route, (resp, req) -> {
                         MemberImpl member = jda.getEntityBuilder().createMember(this, resp.getObject());
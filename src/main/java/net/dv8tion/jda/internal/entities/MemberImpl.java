@@ -27,6 +27,7 @@ import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.entities.mixin.channel.attribute.IPermissionContainerMixin;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.Helpers;
+import net.dv8tion.jda.internal.utils.ImageHash;
 import net.dv8tion.jda.internal.utils.PermissionUtil;
 
 import javax.annotation.Nonnull;
@@ -46,8 +47,11 @@ public class MemberImpl implements Member
     private GuildImpl guild;
     private User user;
     private String nickname;
-    private String avatarId;
+    private long avatarHigh, avatarLow; // binary representation of the avatar hash, see ImageHash
+    private byte avatarType;
+    private String avatarRaw; // only set for hashes which cannot be encoded
     private long joinDate, boostDate, timeOutEnd;
+    private long lastActivity; // races are fine, this is only used to order members for cache eviction
     private boolean pending = false;
 
     public MemberImpl(GuildImpl guild, User user)
@@ -56,6 +60,7 @@ public class MemberImpl implements Member
         this.guild = guild;
         this.user = user;
         this.joinDate = 0;
+        this.lastActivity = System.currentTimeMillis();
         boolean cacheState = api.isCacheFlagSet(CacheFlag.VOICE_STATE) || user.equals(api.getSelfUser());
         this.voiceState = cacheState ? new GuildVoiceStateImpl(this) : null;
     }
@@ -174,7 +179,7 @@ public class MemberImpl implements Member
     @Override
     public String getAvatarId()
     {
-        return avatarId;
+        return avatarType == ImageHash.RAW ? avatarRaw : ImageHash.toString(avatarType, avatarHigh, avatarLow);
     }
 
     @Nonnull
@@ -366,7 +371,17 @@ public class MemberImpl implements Member
 
     public MemberImpl setAvatarId(String avatarId)
     {
-        this.avatarId = avatarId;
+        this.avatarType = ImageHash.typeOf(avatarId);
+        if (avatarType == ImageHash.STATIC || avatarType == ImageHash.ANIMATED)
+        {
+            this.avatarHigh = ImageHash.high(avatarId);
+            this.avatarLow = ImageHash.low(avatarId);
+            this.avatarRaw = null;
+        }
+        else
+        {
+            this.avatarRaw = avatarId;
+        }
         return this;
     }
 
@@ -409,6 +424,16 @@ public class MemberImpl implements Member
         return timeOutEnd;
     }
 
+    public long getLastActivity()
+    {
+        return lastActivity;
+    }
+
+    public void updateLastActivity()
+    {
+        this.lastActivity = System.currentTimeMillis();
+    }
+
     @Override
     public boolean equals(Object o)
     {
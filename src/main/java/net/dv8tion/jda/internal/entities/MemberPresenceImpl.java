@@ -29,6 +29,9 @@ public class MemberPresenceImpl
     private List<Activity> activities = Collections.emptyList();
     private EnumMap<ClientType, OnlineStatus> clientStatus;
     private OnlineStatus status = OnlineStatus.OFFLINE;
+    // Fingerprints of the raw payloads the current values were parsed from, 0 if unknown
+    private long activityFingerprint;
+    private long clientStatusFingerprint;
 
     public void setActivities(List<Activity> activities)
     {
@@ -62,6 +65,26 @@ public class MemberPresenceImpl
         return status;
     }
 
+    public long getActivityFingerprint()
+    {
+        return activityFingerprint;
+    }
+
+    public void setActivityFingerprint(long activityFingerprint)
+    {
+        this.activityFingerprint = activityFingerprint;
+    }
+
+    public long getClientStatusFingerprint()
+    {
+        return clientStatusFingerprint;
+    }
+
+    public void setClientStatusFingerprint(long clientStatusFingerprint)
+    {
+        this.clientStatusFingerprint = clientStatusFingerprint;
+    }
+
     public void setOnlineStatus(ClientType type, OnlineStatus clientStatus)
     {
         if (this.clientStatus == null)
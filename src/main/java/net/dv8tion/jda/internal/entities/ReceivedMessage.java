@@ -39,6 +39,7 @@ import net.dv8tion.jda.internal.requests.Route;
 import net.dv8tion.jda.internal.requests.restaction.AuditableRestActionImpl;
 import net.dv8tion.jda.internal.requests.restaction.MessageActionImpl;
 import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.MentionLexer;
 import org.apache.commons.collections4.Bag;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.bag.HashBag;
@@ -47,9 +48,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.OffsetDateTime;
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ReceivedMessage extends AbstractMessage
 {
@@ -82,6 +82,7 @@ public class ReceivedMessage extends AbstractMessage
     // LAZY EVALUATED
     protected String altContent = null;
     protected String strippedContent = null;
+    protected volatile MentionLexer mentionTokens = null;
 
     protected List<User> userMentions = null;
     protected List<Member> memberMentions = null;
@@ -357,9 +358,9 @@ public class ReceivedMessage extends AbstractMessage
         return String.format("https://discord.com/channels/%s/%s/%s", isFromGuild() ? getGuild().getId() : "@me", getChannel().getId(), getId());
     }
 
-    private User matchUser(Matcher matcher)
+    private User matchUser(int token)
     {
-        long userId = MiscUtil.parseSnowflake(matcher.group(1));
+        long userId = getMentionTokens().getId(token);
         if (!mentionedUsers.contains(userId))
             return null;
         User user = getJDA().getUserById(userId);
@@ -384,9 +385,9 @@ public class ReceivedMessage extends AbstractMessage
         return processMentions(MentionType.USER, new HashBag<>(), false, this::matchUser);
     }
 
-    private TextChannel matchTextChannel(Matcher matcher)
+    private TextChannel matchTextChannel(int token)
     {
-        long channelId = MiscUtil.parseSnowflake(matcher.group(1));
+        long channelId = getMentionTokens().getId(token);
         return getJDA().getTextChannelById(channelId);
     }
 
@@ -407,9 +408,9 @@ public class ReceivedMessage extends AbstractMessage
         return processMentions(MentionType.CHANNEL, new HashBag<>(), false, this::matchTextChannel);
     }
 
-    private Role matchRole(Matcher matcher)
+    private Role matchRole(int token)
     {
-        long roleId = MiscUtil.parseSnowflake(matcher.group(1));
+        long roleId = getMentionTokens().getId(token);
         if (!mentionedRoles.contains(roleId))
             return null;
         if (getChannelType().isGuild())
@@ -659,29 +660,61 @@ public class ReceivedMessage extends AbstractMessage
         {
             if (altContent != null)
                 return altContent;
-            String tmp = content;
+            MentionLexer tokens = getMentionTokens();
+            if (tokens.size() == 0)
+                return altContent = content;
+            StringBuilder builder = new StringBuilder(content.length());
+            int last = 0;
+            for (int i = 0; i < tokens.size(); i++)
+            {
+                String display = getDisplay(tokens, i);
+                if (display == null)
+                    continue;
+                builder.append(content, last, tokens.getStart(i)).append(display);
+                last = tokens.getEnd(i);
+            }
+            return altContent = builder.append(content, last, content.length()).toString();
+        }
+    }
+
+    // The replacement of a mention in the display content, or null to keep the mention
+    private String getDisplay(MentionLexer tokens, int token)
+    {
+        long id = tokens.getId(token);
+        switch (tokens.getType(token))
+        {
+        case USER:
             for (User user : getMentionedUsers())
             {
-                String name;
-                if (isFromGuild() && getGuild().isMember(user))
-                    name = getGuild().getMember(user).getEffectiveName();
-                else
-                    name = user.getName();
-                tmp = tmp.replaceAll("<@!?" + Pattern.quote(user.getId()) + '>', '@' + Matcher.quoteReplacement(name));
+                if (user.getIdLong() != id)
+                    continue;
+                Member mentioned = isFromGuild() ? getGuild().getMember(user) : null;
+                return '@' + (mentioned != null ? mentioned.getEffectiveName() : user.getName());
             }
-            for (Emote emote : getEmotes())
+            return null;
+        case ROLE:
+            for (Role role : getMentionedRoles())
             {
-                tmp = tmp.replace(emote.getAsMention(), ":" + emote.getName() + ":");
+                if (role.getIdLong() == id)
+                    return '@' + role.getName();
             }
-            for (TextChannel mentionedChannel : getMentionedChannels())
+            return null;
+        case CHANNEL:
+            for (TextChannel mentioned : getMentionedChannels())
             {
-                tmp = tmp.replace(mentionedChannel.getAsMention(), '#' + mentionedChannel.getName());
+                if (mentioned.getIdLong() == id)
+                    return '#' + mentioned.getName();
             }
-            for (Role mentionedRole : getMentionedRoles())
+            return null;
+        case EMOTE:
+            for (Emote emote : getEmotes())
             {
-                tmp = tmp.replace(mentionedRole.getAsMention(), '@' + mentionedRole.getName());
+                if (emote.getIdLong() == id)
+                    return ':' + emote.getName() + ':';
             }
-            return altContent = tmp;
+            return null;
+        default:
+            return null;
         }
     }
 
@@ -801,11 +834,12 @@ public class ReceivedMessage extends AbstractMessage
         return components;
     }
 
-    private Emote matchEmote(Matcher m)
+    private Emote matchEmote(int token)
     {
-        long emoteId = MiscUtil.parseSnowflake(m.group(2));
-        String name = m.group(1);
-        boolean animated = m.group(0).startsWith("<a:");
+        MentionLexer tokens = getMentionTokens();
+        long emoteId = tokens.getId(token);
+        String name = tokens.getName(token);
+        boolean animated = tokens.isAnimated(token);
         Emote emote = getJDA().getEmoteById(emoteId);
         if (emote == null)
             emote = new EmoteImpl(emoteId, api).setName(name).setAnimated(animated);
@@ -1071,19 +1105,26 @@ public class ReceivedMessage extends AbstractMessage
         this.memberMentions = Collections.unmodifiableList(members);
     }
 
-    private <T, C extends Collection<T>> C processMentions(MentionType type, C collection, boolean distinct, Function<Matcher, T> map)
+    private MentionLexer getMentionTokens()
     {
-        Matcher matcher = type.getPattern().matcher(getContentRaw());
-        while (matcher.find())
+        // The content never changes, so concurrent calls produce equal token lists
+        MentionLexer tokens = mentionTokens;
+        if (tokens == null)
+            mentionTokens = tokens = MentionLexer.tokenize(content);
+        return tokens;
+    }
+
+    private <T, C extends Collection<T>> C processMentions(MentionType type, C collection, boolean distinct, IntFunction<T> map)
+    {
+        MentionLexer tokens = getMentionTokens();
+        for (int i = 0; i < tokens.size(); i++)
         {
-            try
-            {
-                T elem = map.apply(matcher);
-                if (elem == null || (distinct && collection.contains(elem)))
-                    continue;
-                collection.add(elem);
-            }
-            catch (NumberFormatException ignored) {}
+            if (tokens.getType(i) != type)
+                continue;
+            T elem = map.apply(i);
+            if (elem == null || (distinct && collection.contains(elem)))
+                continue;
+            collection.add(elem);
         }
         return collection;
     }
@@ -27,6 +27,7 @@ import net.dv8tion.jda.internal.requests.DeferredRestAction;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
 import net.dv8tion.jda.internal.utils.Helpers;
+import net.dv8tion.jda.internal.utils.ImageHash;
 
 import javax.annotation.Nonnull;
 import java.util.EnumSet;
@@ -40,7 +41,9 @@ public class UserImpl extends UserById implements User
 
     protected short discriminator;
     protected String name;
-    protected String avatarId;
+    protected long avatarHigh, avatarLow; // binary representation of the avatar hash, see ImageHash
+    protected byte avatarType;
+    protected String avatarRaw; // only set for hashes which cannot be encoded
     protected Profile profile;
     protected long privateChannel = 0L;
     protected boolean bot;
@@ -71,7 +74,7 @@ public class UserImpl extends UserById implements User
     @Override
     public String getAvatarId()
     {
-        return avatarId;
+        return avatarType == ImageHash.RAW ? avatarRaw : ImageHash.toString(avatarType, avatarHigh, avatarLow);
     }
 
     @Nonnull
@@ -201,7 +204,17 @@ public class UserImpl extends UserById implements User
 
     public UserImpl setAvatarId(String avatarId)
     {
-        this.avatarId = avatarId;
+        this.avatarType = ImageHash.typeOf(avatarId);
+        if (avatarType == ImageHash.STATIC || avatarType == ImageHash.ANIMATED)
+        {
+            this.avatarHigh = ImageHash.high(avatarId);
+            this.avatarLow = ImageHash.low(avatarId);
+            this.avatarRaw = null;
+        }
+        else
+        {
+            this.avatarRaw = avatarId;
+        }
         return this;
     }
 
@@ -15,116 +15,263 @@
  */
 package net.dv8tion.jda.internal.handle;
 
-import gnu.trove.iterator.TLongObjectIterator;
 import gnu.trove.map.TLongObjectMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.utils.EventCacheLimit;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.utils.CacheConsumer;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class EventCache
 {
     public static final Logger LOG = JDALogger.getLog(EventCache.class);
     /** Sequence difference after which events will be removed from cache */
     public static final long TIMEOUT_AMOUNT = 100;
-    private final EnumMap<Type, TLongObjectMap<List<CacheNode>>> eventCache = new EnumMap<>(Type.class);
+    /** Amount of independently locked partitions, must be a power of two */
+    private static final int STRIPES = 16;
 
-    public EventCache() {}
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    // Nodes in order of insertion, which follows the sequence except for events that were cached again during playback
+    private final Queue<CacheNode> sequence = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean resync = new AtomicBoolean();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile EventCacheLimit limit = EventCacheLimit.UNBOUNDED;
 
-    public synchronized void timeout(final long responseTotal)
+    public EventCache()
     {
-        if (eventCache.isEmpty())
-            return;
-        AtomicInteger count = new AtomicInteger();
-        eventCache.forEach((type, map) ->
+        for (int i = 0; i < STRIPES; i++)
+            stripes[i] = new Stripe();
+    }
+
+    public void setLimit(EventCacheLimit limit)
+    {
+        this.limit = limit;
+    }
+
+    public EventCacheLimit getLimit()
+    {
+        return limit;
+    }
+
+    public void timeout(final long responseTotal)
+    {
+        int count = 0;
+        synchronized (sequence)
         {
-            if (map.isEmpty())
-                return;
-            TLongObjectIterator<List<CacheNode>> iterator = map.iterator();
-            while (iterator.hasNext())
+            CacheNode node;
+            // Only the expired head of the queue is visited, removed nodes are skipped lazily
+            while ((node = sequence.peek()) != null && (node.removed || responseTotal - node.responseTotal > TIMEOUT_AMOUNT))
             {
-                iterator.advance();
-                long triggerId = iterator.key();
-                List<CacheNode> cache = iterator.value();
-                //Remove when this node is more than 100 events ago
-                cache.removeIf(node ->
+                sequence.poll();
+                if (remove(node))
                 {
-                    boolean remove = responseTotal - node.responseTotal > TIMEOUT_AMOUNT;
-                    if (remove)
-                    {
-                        count.incrementAndGet();
-                        LOG.trace("Removing type {}/{} from event cache with payload {}", type, triggerId, node.event);
-                    }
-                    return remove;
-                });
-                if (cache.isEmpty())
-                    iterator.remove();
+                    count++;
+                    LOG.trace("Removing type {}/{} from event cache with payload {}", node.type, node.triggerId, node.event);
+                    node.release();
+                }
             }
-        });
-        int amount = count.get();
-        if (amount > 0)
-            LOG.debug("Removed {} events from cache that were too old to be recycled", amount);
+        }
+        if (count > 0)
+        {
+            expired.add(count);
+            LOG.debug("Removed {} events from cache that were too old to be recycled", count);
+        }
     }
 
-    public synchronized void cache(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer handler)
+    public void cache(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer handler)
     {
-        TLongObjectMap<List<CacheNode>> triggerCache =
-                eventCache.computeIfAbsent(type, k -> new TLongObjectHashMap<>());
-
-        List<CacheNode> items = triggerCache.get(triggerId);
-        if (items == null)
+        CacheNode node = new CacheNode(type, triggerId, responseTotal, event, handler);
+        Stripe stripe = getStripe(type, triggerId);
+        synchronized (stripe)
         {
-            items = new LinkedList<>();
-            triggerCache.put(triggerId, items);
+            TLongObjectMap<List<CacheNode>> triggerCache = stripe.cache.computeIfAbsent(type, k -> new TLongObjectHashMap<>());
+            List<CacheNode> items = triggerCache.get(triggerId);
+            if (items == null)
+            {
+                items = new ArrayList<>(2);
+                triggerCache.put(triggerId, items);
+            }
+            items.add(node);
         }
+        sequence.add(node);
 
-        items.add(new CacheNode(responseTotal, event, handler));
+        if (size.incrementAndGet() > limit.getLimit())
+            overflow();
     }
 
-    public synchronized void playbackCache(Type type, long triggerId)
+    public void playbackCache(Type type, long triggerId)
     {
-        TLongObjectMap<List<CacheNode>> typeCache = this.eventCache.get(type);
-        if (typeCache == null)
+        List<CacheNode> items;
+        Stripe stripe = getStripe(type, triggerId);
+        synchronized (stripe)
+        {
+            items = stripe.remove(type, triggerId);
+        }
+        if (items == null || items.isEmpty())
             return;
 
-        List<CacheNode> items = typeCache.remove(triggerId);
-        if (items != null && !items.isEmpty())
+        size.addAndGet(-items.size());
+        replayed.add(items.size());
+        EventCache.LOG.debug("Replaying {} events from the EventCache for type {} with id: {}",
+            items.size(), type, triggerId);
+        // Replay outside of the lock, the handlers might cache the event again
+        for (CacheNode item : items)
         {
-            EventCache.LOG.debug("Replaying {} events from the EventCache for type {} with id: {}",
-                items.size(), type, triggerId);
-            for (CacheNode item : items)
-                item.execute();
+            item.execute();
+            item.release();
         }
     }
 
-    public synchronized int size()
+    public int size()
     {
-        return (int) eventCache.values().stream()
-                .mapToLong(typeMap ->
-                    typeMap.valueCollection().stream().mapToLong(List::size).sum())
-                .sum();
+        return size.get();
     }
 
-    public synchronized void clear()
+    public long getReplayCount()
     {
-        eventCache.clear();
+        return replayed.sum();
     }
 
-    public synchronized void clear(Type type, long id)
+    public long getExpiredCount()
     {
-        TLongObjectMap<List<CacheNode>> typeCache = this.eventCache.get(type);
-        if (typeCache == null)
+        return expired.sum();
+    }
+
+    public long getDroppedCount()
+    {
+        return dropped.sum();
+    }
+
+    /**
+     * Whether the cache overflowed with the {@link EventCacheLimit.Overflow#RESYNC RESYNC} policy since the last call.
+     * <br>The caller is responsible for starting a new session.
+     *
+     * @return True, if a resync was requested
+     */
+    public boolean pollResync()
+    {
+        return resync.getAndSet(false);
+    }
+
+    public void clear()
+    {
+        resync.set(false);
+        clearAll();
+    }
+
+    public void clear(Type type, long id)
+    {
+        List<CacheNode> events;
+        Stripe stripe = getStripe(type, id);
+        synchronized (stripe)
+        {
+            events = stripe.remove(type, id);
+        }
+        if (events == null)
             return;
+        size.addAndGet(-events.size());
+        events.forEach(CacheNode::release);
+        LOG.debug("Clearing cache for type {} with ID {} (Size: {})", type, id, events.size());
+    }
 
-        List<CacheNode> events = typeCache.remove(id);
-        if (events != null)
-            LOG.debug("Clearing cache for type {} with ID {} (Size: {})", type, id, events.size());
+    private int clearAll()
+    {
+        int count = 0;
+        for (Stripe stripe : stripes)
+        {
+            synchronized (stripe)
+            {
+                for (TLongObjectMap<List<CacheNode>> typeCache : stripe.cache.values())
+                {
+                    for (List<CacheNode> items : typeCache.valueCollection())
+                    {
+                        count += items.size();
+                        items.forEach(CacheNode::remove);
+                    }
+                }
+                stripe.cache.clear();
+            }
+        }
+        size.addAndGet(-count);
+        synchronized (sequence)
+        {
+            sequence.clear();
+        }
+        return count;
+    }
+
+    private void overflow()
+    {
+        EventCacheLimit limit = this.limit;
+        if (limit.getOverflow() == EventCacheLimit.Overflow.RESYNC)
+        {
+            int count = clearAll();
+            dropped.add(count);
+            if (!resync.getAndSet(true))
+                LOG.warn("Event cache exceeded limit of {} events, dropped {} events and requesting a new session", limit.getLimit(), count);
+            return;
+        }
+
+        int count = 0;
+        synchronized (sequence)
+        {
+            CacheNode node;
+            while (size.get() > limit.getLimit() && (node = sequence.poll()) != null)
+            {
+                if (remove(node))
+                {
+                    count++;
+                    LOG.trace("Dropping type {}/{} from event cache with payload {}", node.type, node.triggerId, node.event);
+                    node.release();
+                }
+            }
+        }
+        if (count > 0)
+        {
+            dropped.add(count);
+            LOG.debug("Dropped {} events from cache due to limit of {} events", count, limit.getLimit());
+        }
+    }
+
+    private boolean remove(CacheNode node)
+    {
+        Stripe stripe = getStripe(node.type, node.triggerId);
+        synchronized (stripe)
+        {
+            if (node.removed)
+                return false;
+            TLongObjectMap<List<CacheNode>> typeCache = stripe.cache.get(node.type);
+            List<CacheNode> items = typeCache == null ? null : typeCache.get(node.triggerId);
+            if (items != null)
+            {
+                items.remove(node);
+                if (items.isEmpty())
+                    typeCache.remove(node.triggerId);
+            }
+            node.removed = true;
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    private Stripe getStripe(Type type, long triggerId)
+    {
+        int hash = Long.hashCode(triggerId) * 31 + type.ordinal();
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES - 1)];
     }
 
     public enum Type
@@ -132,19 +279,53 @@ public class EventCache
         USER, MEMBER, GUILD, CHANNEL, ROLE, RELATIONSHIP, CALL
     }
 
-    private class CacheNode
+    private static class Stripe
+    {
+        private final EnumMap<Type, TLongObjectMap<List<CacheNode>>> cache = new EnumMap<>(Type.class);
+
+        // Must hold the lock of this stripe
+        private List<CacheNode> remove(Type type, long triggerId)
+        {
+            TLongObjectMap<List<CacheNode>> typeCache = cache.get(type);
+            if (typeCache == null)
+                return null;
+            List<CacheNode> items = typeCache.remove(triggerId);
+            if (items != null)
+                items.forEach(CacheNode::remove);
+            return items;
+        }
+    }
+
+    private static class CacheNode
     {
+        private final Type type;
+        private final long triggerId;
         private final long responseTotal;
-        private final DataObject event;
         private final CacheConsumer callback;
+        private DataObject event;
+        // Guarded by the stripe lock, read without lock by the sequence queue to skip removed nodes
+        private volatile boolean removed;
 
-        public CacheNode(long responseTotal, DataObject event, CacheConsumer callback)
+        public CacheNode(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer callback)
         {
+            this.type = type;
+            this.triggerId = triggerId;
             this.responseTotal = responseTotal;
             this.event = event;
             this.callback = callback;
         }
 
+        void remove()
+        {
+            removed = true;
+        }
+
+        // The node might stay in the sequence queue until it expires, the payload is not needed anymore
+        void release()
+        {
+            event = null;
+        }
+
         void execute()
         {
             callback.execute(responseTotal, event);
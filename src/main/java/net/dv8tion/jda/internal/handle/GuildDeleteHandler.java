@@ -69,6 +69,9 @@ public class GuildDeleteHandler extends SocketHandler
         SnowflakeCacheViewImpl<VoiceChannel> voiceView = getJDA().getVoiceChannelsView();
         SnowflakeCacheViewImpl<Category> categoryView = getJDA().getCategoriesView();
         guildView.remove(id);
+        getJDA().getMemberCacheEvictor().onGuildRemove(id);
+        getJDA().getRoleIndex().removeAll(guild.getRoleCache());
+        getJDA().getEmoteIndex().removeAll(guild.getEmoteCache());
         try (UnlockHook hook = storeView.writeLock())
         {
             guild.getStoreChannelCache()
@@ -111,11 +111,13 @@ public class GuildEmojisUpdateHandler extends SocketHandler
 
                 // finally, update the emote
                 emoteMap.put(emote.getIdLong(), emote);
+                getJDA().getEmoteIndex().put(emote);
                 // check for updated fields and fire events
                 handleReplace(oldEmote, emote);
             }
             for (Emote e : oldEmotes)
                 emoteMap.remove(e.getIdLong());
+            getJDA().getEmoteIndex().removeAll(oldEmotes);
         }
         //cleanup old emotes that don't exist anymore
         for (Emote e : oldEmotes)
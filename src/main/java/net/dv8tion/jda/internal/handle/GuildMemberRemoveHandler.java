@@ -60,6 +60,7 @@ public class GuildMemberRemoveHandler extends SocketHandler
 
         // Update the memberCount
         guild.onMemberRemove();
+        getJDA().getMemberCacheEvictor().onMemberRemove(id, userId);
         CacheView.SimpleCacheView<MemberPresenceImpl> presences = guild.getPresenceView();
         if (presences != null)
             presences.remove(userId);
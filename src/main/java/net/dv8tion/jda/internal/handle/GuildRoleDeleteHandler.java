@@ -55,6 +55,7 @@ public class GuildRoleDeleteHandler extends SocketHandler
             WebSocketClient.LOG.debug("GUILD_ROLE_DELETE was received for a Role that is not yet cached: {}", content);
             return null;
         }
+        getJDA().getRoleIndex().remove(removedRole);
 
         //Now that the role is removed from the Guild, remove it from all users and emotes.
         guild.getMembersView().forEach(m ->
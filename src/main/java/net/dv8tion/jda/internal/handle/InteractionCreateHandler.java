@@ -29,6 +29,7 @@ import net.dv8tion.jda.api.interactions.components.Component;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.interactions.InteractionImpl;
+import net.dv8tion.jda.internal.interactions.InteractionResponder;
 import net.dv8tion.jda.internal.interactions.command.CommandAutoCompleteInteractionImpl;
 import net.dv8tion.jda.internal.interactions.command.MessageContextInteractionImpl;
 import net.dv8tion.jda.internal.interactions.command.SlashCommandInteractionImpl;
@@ -47,12 +48,8 @@ public class InteractionCreateHandler extends SocketHandler
     @Override
     protected Long handleInternally(DataObject content)
     {
-        int type = content.getInt("type");
-        if (content.getInt("version", 1) != 1)
-        {
-            WebSocketClient.LOG.debug("Received interaction with version {}. This version is currently unsupported by this version of JDA. Consider updating!", content.getInt("version", 1));
+        if (!isSupported(content))
             return null;
-        }
 
         long guildId = content.getUnsignedLong("guild_id", 0);
         if (api.getGuildSetupController().isLocked(guildId))
@@ -60,64 +57,109 @@ public class InteractionCreateHandler extends SocketHandler
         if (guildId != 0 && api.getGuildById(guildId) == null)
             return null; // discard event if it is not from a guild we are currently in
 
-        switch (InteractionType.fromKey(type))
+        handleInteraction(content, responseNumber, null);
+        return null;
+    }
+
+    /**
+     * Handles an interaction received through an {@link net.dv8tion.jda.api.interactions.InteractionWebhook InteractionWebhook}.
+     * <br>Unlike gateway events, this can be called concurrently and is not cached while the guild is being set up.
+     *
+     * @param  content
+     *         The interaction payload
+     * @param  responder
+     *         The pending http response, used by the first callback of the interaction
+     *
+     * @return True, if the interaction was dispatched
+     */
+    public boolean handleWebhook(DataObject content, InteractionResponder responder)
+    {
+        if (!isSupported(content))
+            return false;
+
+        long guildId = content.getUnsignedLong("guild_id", 0);
+        if (guildId != 0 && (api.getGuildSetupController().isLocked(guildId) || api.getGuildById(guildId) == null))
+            return false;
+
+        handleInteraction(content, api.getResponseTotal(), responder);
+        return true;
+    }
+
+    private boolean isSupported(DataObject content)
+    {
+        if (content.getInt("version", 1) != 1)
+        {
+            WebSocketClient.LOG.debug("Received interaction with version {}. This version is currently unsupported by this version of JDA. Consider updating!", content.getInt("version", 1));
+            return false;
+        }
+        return true;
+    }
+
+    private void handleInteraction(DataObject content, long responseNumber, InteractionResponder responder)
+    {
+        switch (InteractionType.fromKey(content.getInt("type")))
         {
             case COMMAND: // slash commands
-                handleCommand(content);
+                handleCommand(content, responseNumber, responder);
                 break;
             case COMPONENT: // buttons/components
-                handleAction(content);
+                handleAction(content, responseNumber, responder);
                 break;
             case COMMAND_AUTOCOMPLETE:
                 api.handleEvent(
                     new CommandAutoCompleteInteractionEvent(api, responseNumber,
-                        new CommandAutoCompleteInteractionImpl(api, content)));
+                        withResponder(new CommandAutoCompleteInteractionImpl(api, content), responder)));
                 break;
             default:
                 api.handleEvent(
                     new GenericInteractionCreateEvent(api, responseNumber,
-                        new InteractionImpl(api, content)));
+                        withResponder(new InteractionImpl(api, content), responder)));
         }
-
-        return null;
     }
 
-    private void handleCommand(DataObject content)
+    private void handleCommand(DataObject content, long responseNumber, InteractionResponder responder)
     {
         switch (Command.Type.fromId(content.getObject("data").getInt("type")))
         {
         case SLASH:
             api.handleEvent(
                 new SlashCommandInteractionEvent(api, responseNumber,
-                    new SlashCommandInteractionImpl(api, content)));
+                    withResponder(new SlashCommandInteractionImpl(api, content), responder)));
             break;
         case MESSAGE:
             api.handleEvent(
                 new MessageContextInteractionEvent(api, responseNumber,
-                    new MessageContextInteractionImpl(api, content)));
+                    withResponder(new MessageContextInteractionImpl(api, content), responder)));
             break;
         case USER:
             api.handleEvent(
                 new UserContextInteractionEvent(api, responseNumber,
-                    new UserContextInteractionImpl(api, content)));
+                    withResponder(new UserContextInteractionImpl(api, content), responder)));
             break;
         }
     }
 
-    private void handleAction(DataObject content)
+    private void handleAction(DataObject content, long responseNumber, InteractionResponder responder)
     {
         switch (Component.Type.fromKey(content.getObject("data").getInt("component_type")))
         {
         case BUTTON:
             api.handleEvent(
                 new ButtonInteractionEvent(api, responseNumber,
-                    new ButtonInteractionImpl(api, content)));
+                    withResponder(new ButtonInteractionImpl(api, content), responder)));
             break;
         case SELECT_MENU:
             api.handleEvent(
                 new SelectMenuInteractionEvent(api, responseNumber,
-                    new SelectMenuInteractionImpl(api, content)));
+                    withResponder(new SelectMenuInteractionImpl(api, content), responder)));
             break;
         }
     }
+
+    private static <T extends InteractionImpl> T withResponder(T interaction, InteractionResponder responder)
+    {
+        if (responder != null)
+            interaction.setResponder(responder);
+        return interaction;
+    }
 }
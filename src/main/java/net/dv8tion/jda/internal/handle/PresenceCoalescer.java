@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.handle;
+
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds back presence updates for a short window and only handles the most recent update of each member.
+ * <br>Pending updates are replayed in the order of their first update by {@link #processPending()},
+ * which the websocket thread calls after every gateway payload. Heartbeat acknowledgements are payloads as well,
+ * so an update is held back for at most its window plus one heartbeat interval.
+ */
+public class PresenceCoalescer
+{
+    private static final Logger LOG = JDALogger.getLog(PresenceCoalescer.class);
+
+    private final PresenceUpdateHandler handler;
+    private final long window;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Insertion order is the order of the first update, which is also the order of the deadlines
+    private final LinkedHashMap<Key, Pending> pending = new LinkedHashMap<>();
+
+    public PresenceCoalescer(PresenceUpdateHandler handler, long window)
+    {
+        this.handler = handler;
+        this.window = window;
+    }
+
+    public void offer(long guildId, long userId, long responseTotal, DataObject payload)
+    {
+        MiscUtil.locked(lock, () -> {
+            Key key = new Key(guildId, userId);
+            Pending update = pending.get(key);
+            if (update != null)
+            {
+                update.responseTotal = responseTotal;
+                update.payload = payload;
+                return;
+            }
+            pending.put(key, new Pending(System.currentTimeMillis() + window, responseTotal, payload));
+        });
+    }
+
+    public void clear()
+    {
+        MiscUtil.locked(lock, pending::clear);
+    }
+
+    /**
+     * Replays the updates whose window has passed.
+     * <br>This must be called on the websocket thread, since the replay updates the presence cache.
+     */
+    public void processPending()
+    {
+        List<Pending> due = MiscUtil.locked(lock, () -> {
+            if (pending.isEmpty())
+                return Collections.emptyList();
+            long now = System.currentTimeMillis();
+            List<Pending> list = new ArrayList<>();
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (iterator.hasNext())
+            {
+                Pending update = iterator.next();
+                if (update.deadline > now)
+                    break;
+                iterator.remove();
+                list.add(update);
+            }
+            return list;
+        });
+
+        for (Pending update : due)
+        {
+            try
+            {
+                handler.replay(update.responseTotal, update.payload);
+            }
+            catch (Exception e)
+            {
+                LOG.error("Failed to handle coalesced presence update", e);
+            }
+        }
+    }
+
+    private static final class Key
+    {
+        private final long guildId, userId;
+
+        private Key(long guildId, long userId)
+        {
+            this.guildId = guildId;
+            this.userId = userId;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(guildId * 31 + userId);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            return guildId == other.guildId && userId == other.userId;
+        }
+    }
+
+    private static final class Pending
+    {
+        private final long deadline;
+        private long responseTotal;
+        private DataObject payload;
+
+        private Pending(long deadline, long responseTotal, DataObject payload)
+        {
+            this.deadline = deadline;
+            this.responseTotal = responseTotal;
+            this.payload = payload;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import net.dv8tion.jda.internal.entities.EntityBuilder;
 import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.entities.MemberPresenceImpl;
+import net.dv8tion.jda.internal.utils.DataFingerprint;
 import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import net.dv8tion.jda.internal.utils.UnlockHook;
@@ -45,10 +46,45 @@ import java.util.List;
 public class PresenceUpdateHandler extends SocketHandler
 {
     private static final Logger log = JDALogger.getLog(PresenceUpdateHandler.class);
+    private final boolean cachePresences;
+    private final boolean cacheActivities;
+    private final boolean cacheClientStatus;
+    private PresenceCoalescer coalescer;
+    private boolean replaying;
 
     public PresenceUpdateHandler(JDAImpl api)
     {
         super(api);
+        // The cache flags cannot change during the session
+        this.cachePresences = api.getCacheFlags().stream().anyMatch(CacheFlag::isPresence);
+        this.cacheActivities = api.isCacheFlagSet(CacheFlag.ACTIVITY);
+        this.cacheClientStatus = api.isCacheFlagSet(CacheFlag.CLIENT_STATUS);
+    }
+
+    public synchronized void clearPending()
+    {
+        if (coalescer != null)
+            coalescer.clear();
+    }
+
+    public synchronized void processPending()
+    {
+        if (coalescer != null)
+            coalescer.processPending();
+    }
+
+    // Handles an update which was held back by the coalescer
+    synchronized void replay(long responseTotal, DataObject payload)
+    {
+        replaying = true;
+        try
+        {
+            handle(responseTotal, payload);
+        }
+        finally
+        {
+            replaying = false;
+        }
     }
 
     @Override
@@ -60,7 +96,7 @@ public class PresenceUpdateHandler extends SocketHandler
             log.debug("Received PRESENCE_UPDATE without guild_id. Ignoring event.");
             return null;
         }
-        if (api.getCacheFlags().stream().noneMatch(CacheFlag::isPresence))
+        if (!cachePresences)
             return null;
 
         //Do a pre-check to see if this is for a Guild, and if it is, if the guild is currently locked or not cached.
@@ -81,6 +117,12 @@ public class PresenceUpdateHandler extends SocketHandler
             return null; // technically this should be impossible
         DataObject jsonUser = content.getObject("user");
         final long userId = jsonUser.getUnsignedLong("id");
+        if (!replaying && getCoalescer() != null)
+        {
+            coalescer.offer(guildId, userId, responseNumber, allContent);
+            return null;
+        }
+
         MemberImpl member = (MemberImpl) guild.getMemberById(userId);
         MemberPresenceImpl presence = presences.get(userId);
         OnlineStatus status = OnlineStatus.fromKey(content.getString("status"));
@@ -101,16 +143,30 @@ public class PresenceUpdateHandler extends SocketHandler
         //Now that we've update the User's info, lets see if we need to set the specific Presence information.
         // This is stored in the Member objects.
         //We set the activities to null to prevent parsing if the cache was disabled
-        final DataArray activityArray = !getJDA().isCacheFlagSet(CacheFlag.ACTIVITY) || content.isNull("activities") ? null : content.getArray("activities");
-        List<Activity> newActivities = new ArrayList<>();
-        boolean parsedActivity = parseActivities(userId, activityArray, newActivities);
-
-        if (getJDA().isCacheFlagSet(CacheFlag.CLIENT_STATUS) && !content.isNull("client_status"))
-            handleClientStatus(content, presence);
+        final DataArray activityArray = !cacheActivities || content.isNull("activities") ? null : content.getArray("activities");
+        // Skip parsing if the activities are identical to the last update
+        long activityFingerprint = activityArray == null ? 0 : DataFingerprint.of(activityArray);
+        if (activityArray != null && activityFingerprint != presence.getActivityFingerprint())
+        {
+            List<Activity> newActivities = new ArrayList<>(activityArray.length());
+            // Check if activities changed
+            if (parseActivities(userId, activityArray, newActivities))
+            {
+                handleActivities(newActivities, member, presence);
+                presence.setActivityFingerprint(activityFingerprint);
+            }
+        }
 
-        // Check if activities changed
-        if (parsedActivity)
-            handleActivities(newActivities, member, presence);
+        if (cacheClientStatus && !content.isNull("client_status"))
+        {
+            DataObject clientStatus = content.getObject("client_status");
+            long clientStatusFingerprint = DataFingerprint.of(clientStatus);
+            if (clientStatusFingerprint != presence.getClientStatusFingerprint())
+            {
+                handleClientStatus(clientStatus, presence);
+                presence.setClientStatusFingerprint(clientStatusFingerprint);
+            }
+        }
 
         //The member is already cached, so modify the presence values and fire events as needed.
 
@@ -204,9 +260,15 @@ public class PresenceUpdateHandler extends SocketHandler
         }
     }
 
-    private void handleClientStatus(DataObject content, MemberPresenceImpl presence)
+    private PresenceCoalescer getCoalescer()
+    {
+        if (coalescer == null && getJDA().getPresenceCoalescingWindow() > 0)
+            coalescer = new PresenceCoalescer(this, getJDA().getPresenceCoalescingWindow());
+        return coalescer;
+    }
+
+    private void handleClientStatus(DataObject json, MemberPresenceImpl presence)
     {
-        DataObject json = content.getObject("client_status");
         EnumSet<ClientType> types = EnumSet.of(ClientType.UNKNOWN);
         for (String key : json.keys())
         {
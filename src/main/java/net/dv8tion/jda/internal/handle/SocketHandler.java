@@ -15,6 +15,7 @@
  */
 package net.dv8tion.jda.internal.handle;
 
+import net.dv8tion.jda.api.utils.GatewayMetrics;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 
@@ -31,12 +32,16 @@ public abstract class SocketHandler
 
     public final synchronized void handle(long responseTotal, DataObject o)
     {
+        GatewayMetrics metrics = api.getGatewayMetrics();
+        long start = metrics == GatewayMetrics.NONE ? 0 : System.nanoTime();
         this.allContent = o;
         this.responseNumber = responseTotal;
         final Long guildId = handleInternally(o.getObject("d"));
         if (guildId != null)
             getJDA().getGuildSetupController().cacheEvent(guildId, o);
         this.allContent = null;
+        if (metrics != GatewayMetrics.NONE)
+            metrics.onEventHandled(api, o.getString("t", "UNKNOWN"), System.nanoTime() - start);
     }
 
     protected JDAImpl getJDA()
@@ -28,6 +28,7 @@ import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.entities.mixin.channel.middleman.AudioChannelMixin;
 import net.dv8tion.jda.internal.managers.AudioManagerImpl;
 import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.ParsingUtil;
 
 import java.time.OffsetDateTime;
 import java.util.Objects;
@@ -77,7 +78,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
         long requestToSpeakTimestamp = 0L;
         if (requestToSpeak != null)
         {
-            requestToSpeakTime = OffsetDateTime.parse(requestToSpeak);
+            requestToSpeakTime = ParsingUtil.parseOffsetDateTime(requestToSpeak);
             requestToSpeakTimestamp = requestToSpeakTime.toInstant().toEpochMilli();
         }
 
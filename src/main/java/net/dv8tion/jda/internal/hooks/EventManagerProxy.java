@@ -19,6 +19,7 @@ package net.dv8tion.jda.internal.hooks;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.api.hooks.InterfacedEventManager;
+import net.dv8tion.jda.api.utils.GatewayMetrics;
 import net.dv8tion.jda.internal.JDAImpl;
 
 import javax.annotation.Nonnull;
@@ -30,6 +31,7 @@ public class EventManagerProxy implements IEventManager
 {
     private final ExecutorService executor;
     private IEventManager subject;
+    private volatile GatewayMetrics metrics = GatewayMetrics.NONE;
 
     public EventManagerProxy(IEventManager subject, ExecutorService executor)
     {
@@ -47,6 +49,11 @@ public class EventManagerProxy implements IEventManager
         return subject;
     }
 
+    public void setMetrics(GatewayMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
     @Override
     public void register(@Nonnull Object listener)
     {
@@ -82,6 +89,8 @@ public class EventManagerProxy implements IEventManager
 
     private void handleInternally(@Nonnull GenericEvent event)
     {
+        GatewayMetrics metrics = this.metrics;
+        long start = metrics == GatewayMetrics.NONE ? 0 : System.nanoTime();
         // don't allow mere exceptions to obstruct the socket handler
         try
         {
@@ -91,6 +100,8 @@ public class EventManagerProxy implements IEventManager
         {
             JDAImpl.LOG.error("The EventManager.handle() call had an uncaught exception", e);
         }
+        if (metrics != GatewayMetrics.NONE)
+            metrics.onEventDispatched(event.getJDA(), event.getClass(), System.nanoTime() - start);
     }
 
     @Nonnull
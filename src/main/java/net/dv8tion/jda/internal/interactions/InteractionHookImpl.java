@@ -30,11 +30,11 @@ import net.dv8tion.jda.internal.requests.restaction.WebhookMessageActionImpl;
 import net.dv8tion.jda.internal.requests.restaction.WebhookMessageUpdateActionImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
 
 import javax.annotation.Nonnull;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
@@ -45,7 +45,7 @@ public class InteractionHookImpl extends AbstractWebhookClient<Message> implemen
     public static final String TIMEOUT_MESSAGE = "Timed out waiting for interaction acknowledgement";
     private final DeferrableInteractionImpl interaction;
     private final List<TriggerRestAction<?>> readyCallbacks = new LinkedList<>();
-    private final Future<?> timeoutHandle;
+    private final HashedWheelTimer.Timeout timeoutHandle;
     private final ReentrantLock mutex = new ReentrantLock();
     private Exception exception;
     private boolean isReady;
@@ -56,7 +56,7 @@ public class InteractionHookImpl extends AbstractWebhookClient<Message> implemen
         super(api.getSelfUser().getApplicationIdLong(), interaction.getToken(), api);
         this.interaction = interaction;
         // 10 second timeout for our failure
-        this.timeoutHandle = api.getGatewayPool().schedule(() -> this.fail(new TimeoutException(TIMEOUT_MESSAGE)), 10, TimeUnit.SECONDS);
+        this.timeoutHandle = ((JDAImpl) api).getTimeoutTimer().schedule(() -> this.fail(new TimeoutException(TIMEOUT_MESSAGE)), 10, TimeUnit.SECONDS);
     }
 
     public boolean ack()
@@ -72,7 +72,7 @@ public class InteractionHookImpl extends AbstractWebhookClient<Message> implemen
     public void ready()
     {
         MiscUtil.locked(mutex, () -> {
-            timeoutHandle.cancel(false);
+            timeoutHandle.cancel();
             isReady = true;
             readyCallbacks.forEach(TriggerRestAction::run);
         });
@@ -43,6 +43,8 @@ public class InteractionImpl implements Interaction
     //This is used to give a proper error when an interaction is ack'd twice
     // By default, discord only responds with "unknown interaction" which is horrible UX so we add a check manually here
     private boolean isAck;
+    // Set for interactions received through an InteractionWebhook, until the first callback claims the http response
+    private InteractionResponder responder;
 
     public InteractionImpl(JDAImpl jda, DataObject data)
     {
@@ -84,6 +86,19 @@ public class InteractionImpl implements Interaction
         return wasAck;
     }
 
+    public synchronized void setResponder(InteractionResponder responder)
+    {
+        this.responder = responder;
+    }
+
+    @Nullable
+    public synchronized InteractionResponder claimResponder()
+    {
+        InteractionResponder responder = this.responder;
+        this.responder = null;
+        return responder != null && responder.claim() ? responder : null;
+    }
+
     @Override
     public synchronized boolean isAcknowledged()
     {
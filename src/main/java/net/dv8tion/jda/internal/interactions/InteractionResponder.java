@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.interactions;
+
+import net.dv8tion.jda.api.interactions.InteractionWebhook;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pending HTTP response of an interaction received through an {@link InteractionWebhook}.
+ *
+ * <p>The first callback of the interaction is sent in this response, instead of a separate request.
+ * Once the response is claimed, by the callback or by the timeout of the webhook, all other callbacks use the REST api.
+ */
+public class InteractionResponder
+{
+    public static final Logger LOG = JDALogger.getLog(InteractionResponder.class);
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final InteractionWebhook.ResponseSender sender;
+
+    public InteractionResponder(InteractionWebhook.ResponseSender sender)
+    {
+        this.sender = sender;
+    }
+
+    public boolean claim()
+    {
+        return claimed.compareAndSet(false, true);
+    }
+
+    // Only called after a successful claim
+    public void respond(RequestBody body)
+    {
+        Buffer buffer = new Buffer();
+        try
+        {
+            body.writeTo(buffer);
+        }
+        catch (IOException e)
+        {
+            send(new InteractionWebhook.Response(500));
+            throw new UncheckedIOException(e);
+        }
+
+        MediaType contentType = body.contentType();
+        try
+        {
+            sender.send(new InteractionWebhook.Response(200, contentType == null ? null : contentType.toString(), buffer.readByteArray()));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean reject(InteractionWebhook.Response response)
+    {
+        if (!claim())
+            return false;
+        send(response);
+        return true;
+    }
+
+    private void send(InteractionWebhook.Response response)
+    {
+        try
+        {
+            sender.send(response);
+        }
+        catch (IOException e)
+        {
+            LOG.debug("Failed to send interaction response with status {}", response.getStatus(), e);
+        }
+    }
+}
@@ -32,8 +32,10 @@ import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.entities.UserImpl;
 import net.dv8tion.jda.internal.interactions.InteractionImpl;
+import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -173,4 +175,18 @@ public class CommandInteractionPayloadImpl extends InteractionImpl implements Co
     {
         return options;
     }
+
+    @Nullable
+    @Override
+    public OptionMapping getOption(@Nonnull String name)
+    {
+        Checks.notNull(name, "Name");
+        // Avoids the stream of the default implementation, this is called for every option of every command
+        for (OptionMapping option : options)
+        {
+            if (option.getName().equals(name))
+                return option;
+        }
+        return null;
+    }
 }
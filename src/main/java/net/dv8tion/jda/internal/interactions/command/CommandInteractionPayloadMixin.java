@@ -68,4 +68,11 @@ public interface CommandInteractionPayloadMixin extends CommandInteractionPayloa
     {
         return getCommandPayload().getOptions();
     }
+
+    @Nullable
+    @Override
+    default OptionMapping getOption(@Nonnull String name)
+    {
+        return getCommandPayload().getOption(name);
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.interactions.command;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.requests.CompletedRestAction;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.requests.Route;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Computes the requests which turn the current command list into the provided one.
+ *
+ * <p>Commands are matched by type and name, and compared by their canonical form.
+ * The canonical form only contains the fields which {@link CommandData#toData()} can set, with the defaults of Discord filled in,
+ * so fields which are only present in responses, like ids and versions, do not cause updates.
+ */
+public class CommandListDiff
+{
+    public static final Logger LOG = JDALogger.getLog(CommandListDiff.class);
+
+    private final JDAImpl api;
+    private final GuildImpl guild;
+    private final List<CommandData> commands;
+    private final DataArray current;
+
+    public CommandListDiff(JDAImpl api, GuildImpl guild, List<CommandData> commands, DataArray current)
+    {
+        this.api = api;
+        this.guild = guild;
+        this.commands = commands;
+        this.current = current;
+    }
+
+    public RestAction<List<Command>> apply()
+    {
+        Map<String, DataObject> existing = new HashMap<>();
+        for (int i = 0; i < current.length(); i++)
+        {
+            DataObject command = current.getObject(i);
+            existing.put(getKey(command.getInt("type", 1), command.getString("name")), command);
+        }
+
+        String applicationId = api.getSelfUser().getApplicationId();
+        List<RestAction<Command>> updates = new ArrayList<>(commands.size());
+        int created = 0, edited = 0;
+        for (CommandData command : commands)
+        {
+            DataObject data = command.toData();
+            DataObject old = existing.remove(getKey(command.getType().getId(), command.getName()));
+            if (old == null)
+            {
+                Route.CompiledRoute route = guild == null
+                    ? Route.Interactions.CREATE_COMMAND.compile(applicationId)
+                    : Route.Interactions.CREATE_GUILD_COMMAND.compile(applicationId, guild.getId());
+                updates.add(request(route, data));
+                created++;
+            }
+            else if (!canonicalize(old).equals(canonicalize(data)))
+            {
+                Route.CompiledRoute route = guild == null
+                    ? Route.Interactions.EDIT_COMMAND.compile(applicationId, old.getString("id"))
+                    : Route.Interactions.EDIT_GUILD_COMMAND.compile(applicationId, guild.getId(), old.getString("id"));
+                updates.add(request(route, data));
+                edited++;
+            }
+            else
+            {
+                updates.add(new CompletedRestAction<>(api, new CommandImpl(api, guild, old)));
+            }
+        }
+
+        List<RestAction<Void>> deletes = new ArrayList<>(existing.size());
+        for (DataObject old : existing.values())
+        {
+            Route.CompiledRoute route = guild == null
+                ? Route.Interactions.DELETE_COMMAND.compile(applicationId, old.getString("id"))
+                : Route.Interactions.DELETE_GUILD_COMMAND.compile(applicationId, guild.getId(), old.getString("id"));
+            deletes.add(new RestActionImpl<>(api, route));
+        }
+
+        LOG.debug("Updating commands of {}: {} created, {} edited, {} deleted, {} unchanged",
+                guild == null ? "application" : guild, created, edited, deletes.size(), commands.size() - created - edited);
+
+        // Unchanged commands are already completed, so an unchanged list does not make any further requests
+        RestAction<List<Command>> result = commands.isEmpty()
+            ? new CompletedRestAction<>(api, Collections.emptyList())
+            : RestAction.allOf(updates);
+        if (deletes.isEmpty())
+            return result;
+        // Deletes go first, so renamed commands do not exceed the command limit
+        return RestAction.allOf(deletes).flatMap(v -> result);
+    }
+
+    private RestAction<Command> request(Route.CompiledRoute route, DataObject data)
+    {
+        return new RestActionImpl<>(api, route, data, (response, request) -> new CommandImpl(api, guild, response.getObject()));
+    }
+
+    private static String getKey(int type, String name)
+    {
+        return type + " " + name;
+    }
+
+    /**
+     * Converts a command into a string which is equal for all representations of the same command.
+     *
+     * @param  command
+     *         The command, either from {@link CommandData#toData()} or from a response
+     *
+     * @return The canonical form
+     */
+    public static String canonicalize(DataObject command)
+    {
+        // Round trip through json, so local values like lists and enums have the same types as parsed responses
+        DataObject json = DataObject.fromJson(command.toJson());
+        StringBuilder builder = new StringBuilder();
+        int type = json.getInt("type", 1);
+        builder.append("{type:").append(type)
+               .append(",name:").append(quote(json.getString("name")))
+               .append(",description:").append(quote(json.getString("description", "")))
+               .append(",default_permission:").append(json.getBoolean("default_permission", true))
+               .append(",options:");
+        appendOptions(builder, json.optArray("options").orElseGet(DataArray::empty));
+        return builder.append('}').toString();
+    }
+
+    private static void appendOptions(StringBuilder builder, DataArray options)
+    {
+        builder.append('[');
+        for (int i = 0; i < options.length(); i++)
+        {
+            DataObject option = options.getObject(i);
+            if (i > 0)
+                builder.append(',');
+            builder.append("{type:").append(option.getInt("type"))
+                   .append(",name:").append(quote(option.getString("name")))
+                   .append(",description:").append(quote(option.getString("description", "")))
+                   .append(",required:").append(option.getBoolean("required", false))
+                   .append(",autocomplete:").append(option.getBoolean("autocomplete", false))
+                   .append(",min_value:").append(number(option.opt("min_value").orElse(null)))
+                   .append(",max_value:").append(number(option.opt("max_value").orElse(null)));
+
+            builder.append(",choices:[");
+            DataArray choices = option.optArray("choices").orElseGet(DataArray::empty);
+            for (int j = 0; j < choices.length(); j++)
+            {
+                DataObject choice = choices.getObject(j);
+                Object value = choice.get("value");
+                if (j > 0)
+                    builder.append(',');
+                builder.append(quote(choice.getString("name"))).append('=')
+                       .append(value instanceof Number ? number(value) : quote(String.valueOf(value)));
+            }
+
+            // The order of channel types has no meaning
+            DataArray channelTypes = option.optArray("channel_types").orElseGet(DataArray::empty);
+            int[] types = new int[channelTypes.length()];
+            for (int j = 0; j < types.length; j++)
+                types[j] = channelTypes.getInt(j);
+            Arrays.sort(types);
+            builder.append("],channel_types:").append(Arrays.toString(types))
+                   .append(",options:");
+            appendOptions(builder, option.optArray("options").orElseGet(DataArray::empty));
+            builder.append('}');
+        }
+        builder.append(']');
+    }
+
+    // Integer values may be serialized as 1 or 1.0
+    private static String number(Object value)
+    {
+        if (value == null)
+            return "null";
+        BigDecimal decimal = new BigDecimal(value.toString()).stripTrailingZeros();
+        return decimal.signum() == 0 ? "0" : decimal.toPlainString();
+    }
+
+    private static String quote(String value)
+    {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.exceptions.HttpException;
+import net.dv8tion.jda.internal.utils.IOUtil;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AttachmentDownloadTask
+{
+    private static final Logger LOG = JDALogger.getLog(AttachmentDownloadTask.class);
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(?:\\d+|\\*)");
+    private static final long MIN_SEGMENT_SIZE = 1 << 20;
+    /** Amount of bytes transferred at once, cancellation is checked in between */
+    private static final long CHUNK_SIZE = 1 << 20;
+
+    private final OkHttpClient httpClient;
+    private final String url;
+    private final long size;
+    private final Path path;
+    private final boolean resume;
+    private final int maxSegments;
+
+    private final CompletableFuture<Path> future = new CompletableFuture<>();
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private final AtomicInteger pendingSegments = new AtomicInteger();
+    private FileChannel channel;
+    private long[] segmentStarts;
+    private long end;
+
+    public AttachmentDownloadTask(Message.Attachment attachment, Path path, boolean resume, int maxSegments)
+    {
+        this.httpClient = attachment.getJDA().getHttpClient();
+        this.url = attachment.getUrl();
+        this.size = attachment.getSize();
+        this.path = path;
+        this.resume = resume;
+        this.maxSegments = maxSegments;
+    }
+
+    public CompletableFuture<Path> start()
+    {
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled())
+                calls.forEach(Call::cancel);
+            if (channel != null)
+                IOUtil.silentClose(channel);
+        });
+
+        long offset;
+        try
+        {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            offset = resume ? channel.size() : 0;
+            if (offset > size)
+                offset = 0;
+            channel.truncate(offset);
+            if (offset > 0 && offset == size)
+            {
+                future.complete(path);
+                return future;
+            }
+        }
+        catch (IOException e)
+        {
+            future.completeExceptionally(new UncheckedIOException(e));
+            return future;
+        }
+
+        int segments = (int) Math.max(1, Math.min(maxSegments, (size - offset) / MIN_SEGMENT_SIZE));
+        if (segments == 1)
+        {
+            // Open range, the server decides where the file ends
+            pendingSegments.set(1);
+            end = -1;
+            segmentStarts = new long[] { offset };
+        }
+        else
+        {
+            pendingSegments.set(segments);
+            end = size - 1;
+            segmentStarts = new long[segments];
+            long segmentSize = (size - offset) / segments;
+            for (int i = 0; i < segments; i++)
+                segmentStarts[i] = offset + i * segmentSize;
+        }
+
+        // Only the first segment is requested until the server confirms that it supports ranges
+        fetch(0);
+        return future;
+    }
+
+    private void fetch(int segment)
+    {
+        long start = segmentStarts[segment];
+        long last = getSegmentEnd(segment);
+        Request.Builder builder = new Request.Builder()
+            .url(url)
+            .addHeader("user-agent", Requester.USER_AGENT)
+            .addHeader("accept-encoding", "identity"); // ranges refer to the encoded body
+        if (start > 0 || last >= 0)
+            builder.addHeader("range", "bytes=" + start + "-" + (last < 0 ? "" : last));
+
+        Call call = httpClient.newCall(builder.build());
+        calls.add(call);
+        call.enqueue(FunctionalCallback
+            .onFailure((c, e) -> fail(new UncheckedIOException(e)))
+            .onSuccess((c, response) -> {
+                try (Response r = response)
+                {
+                    onResponse(segment, response);
+                }
+                catch (IOException e)
+                {
+                    fail(new UncheckedIOException(e));
+                }
+                catch (Throwable e)
+                {
+                    fail(e);
+                }
+            }).build());
+    }
+
+    private void onResponse(int segment, Response response) throws IOException
+    {
+        if (future.isDone())
+            return;
+
+        long start = segmentStarts[segment];
+        long last = getSegmentEnd(segment);
+        int code = response.code();
+        if (code == 206)
+        {
+            Matcher matcher = CONTENT_RANGE.matcher(String.valueOf(response.header("content-range")));
+            if (!matcher.matches() || Long.parseLong(matcher.group(1)) != start)
+            {
+                fail(new HttpException("Invalid content range in response: " + response.header("content-range")));
+                return;
+            }
+
+            if (segment == 0 && segmentStarts.length > 1)
+            {
+                // Extend the file first, positional transfers beyond the end of the file are ignored
+                channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+                for (int i = 1; i < segmentStarts.length; i++)
+                    fetch(i);
+            }
+
+            long length = last < 0 ? Long.parseLong(matcher.group(2)) - start + 1 : last - start + 1;
+            transfer(response.body().source(), start, length);
+            if (pendingSegments.decrementAndGet() == 0)
+                future.complete(path);
+        }
+        else if (code == 200 && segment == 0)
+        {
+            if (start > 0 || last >= 0)
+                LOG.debug("Server ignored range request for {}, downloading the entire file", url);
+            channel.truncate(0);
+            long length = response.body().contentLength();
+            long written = transfer(response.body().source(), 0, length);
+            channel.truncate(written);
+            future.complete(path);
+        }
+        else if (code == 416 && last < 0)
+        {
+            // The requested offset is the end of the file, which means it was already complete
+            future.complete(path);
+        }
+        else
+        {
+            fail(new HttpException(code + ": " + response.message()));
+        }
+    }
+
+    // Writes the body at the provided position, length is -1 if unknown
+    private long transfer(BufferedSource source, long position, long length) throws IOException
+    {
+        long written = 0;
+        while (length < 0 || written < length)
+        {
+            if (future.isDone())
+                return written;
+            long chunk = length < 0 ? CHUNK_SIZE : Math.min(CHUNK_SIZE, length - written);
+            long count = channel.transferFrom(source, position + written, chunk);
+            if (count <= 0)
+                break;
+            written += count;
+        }
+
+        if (length >= 0 && written < length)
+            throw new IOException("Connection closed after " + written + " of " + length + " bytes");
+        return written;
+    }
+
+    private long getSegmentEnd(int segment)
+    {
+        if (segment + 1 < segmentStarts.length)
+            return segmentStarts[segment + 1] - 1;
+        return end;
+    }
+
+    private void fail(Throwable error)
+    {
+        if (future.completeExceptionally(error))
+            calls.forEach(Call::cancel);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.exceptions.RateLimitedException;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.AuditableRestAction;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * RestAction which is completed by a future that might be shared with other actions.
+ * <br>The supplier is called once per execution, cancelling the returned future does not cancel the shared future.
+ * The checks are run before the supplier is called, and the deadline only fails this execution.
+ */
+public class FutureRestAction<T> implements AuditableRestAction<T>
+{
+    private final JDAImpl api;
+    private final Supplier<? extends CompletableFuture<T>> futureSupplier;
+    private BooleanSupplier checks;
+    private long deadline = 0;
+
+    public FutureRestAction(JDAImpl api, Supplier<? extends CompletableFuture<T>> futureSupplier)
+    {
+        this.api = api;
+        this.futureSupplier = futureSupplier;
+    }
+
+    @Nonnull
+    @Override
+    public AuditableRestAction<T> reason(@Nullable String reason)
+    {
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public JDA getJDA()
+    {
+        return api;
+    }
+
+    @Nonnull
+    @Override
+    public AuditableRestAction<T> setCheck(@Nullable BooleanSupplier checks)
+    {
+        this.checks = checks;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public BooleanSupplier getCheck()
+    {
+        return checks;
+    }
+
+    @Nonnull
+    @Override
+    public AuditableRestAction<T> timeout(long timeout, @Nonnull TimeUnit unit)
+    {
+        Checks.notNull(unit, "TimeUnit");
+        return deadline(timeout <= 0 ? 0 : System.currentTimeMillis() + unit.toMillis(timeout));
+    }
+
+    @Nonnull
+    @Override
+    public AuditableRestAction<T> deadline(long timestamp)
+    {
+        this.deadline = timestamp;
+        return this;
+    }
+
+    @Override
+    public void queue(@Nullable Consumer<? super T> success, @Nullable Consumer<? super Throwable> failure)
+    {
+        Consumer<? super T> finalSuccess = success == null ? RestAction.getDefaultSuccess() : success;
+        Consumer<? super Throwable> finalFailure = failure == null ? RestAction.getDefaultFailure() : failure;
+        start().whenComplete((value, error) -> {
+            if (error == null)
+                finalSuccess.accept(value);
+            else
+                finalFailure.accept(unwrap(error));
+        });
+    }
+
+    @Override
+    public T complete(boolean shouldQueue) throws RateLimitedException
+    {
+        try
+        {
+            return start().get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable error = unwrap(e);
+            if (error instanceof RateLimitedException)
+                throw (RateLimitedException) error;
+            if (error instanceof RuntimeException)
+                throw (RuntimeException) error;
+            if (error instanceof Error)
+                throw (Error) error;
+            throw new IllegalStateException(error);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<T> submit(boolean shouldQueue)
+    {
+        return start();
+    }
+
+    private CompletableFuture<T> start()
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long deadline = getDeadline();
+        // Same order as the requester, the deadline is checked before the checks
+        if (deadline > 0 && deadline < System.currentTimeMillis())
+        {
+            future.completeExceptionally(new TimeoutException("RestAction has timed out"));
+            return future;
+        }
+        try
+        {
+            if (checks != null && !checks.getAsBoolean())
+            {
+                future.completeExceptionally(new CancellationException("RestAction has been cancelled"));
+                return future;
+            }
+        }
+        catch (Exception e)
+        {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        HashedWheelTimer.Timeout timeout = null;
+        if (deadline > 0)
+        {
+            // The deadline is exclusive, the callbacks must not run on the timer thread
+            timeout = api.getTimeoutTimer().schedule(() -> api.getCallbackPool().execute(
+                () -> future.completeExceptionally(new TimeoutException("RestAction has timed out"))),
+                deadline - System.currentTimeMillis() + 1, TimeUnit.MILLISECONDS);
+        }
+        HashedWheelTimer.Timeout timeoutHandle = timeout;
+        futureSupplier.get().whenComplete((value, error) -> {
+            if (timeoutHandle != null)
+                timeoutHandle.cancel();
+            if (error == null)
+                future.complete(value);
+            else
+                future.completeExceptionally(unwrap(error));
+        });
+        return future;
+    }
+
+    private long getDeadline()
+    {
+        long defaultTimeout = RestActionImpl.getDefaultTimeout();
+        return deadline > 0
+            ? deadline
+            : defaultTimeout > 0
+                ? System.currentTimeMillis() + defaultTimeout
+                : 0;
+    }
+
+    private static Throwable unwrap(Throwable error)
+    {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null)
+            return error.getCause();
+        return error;
+    }
+}
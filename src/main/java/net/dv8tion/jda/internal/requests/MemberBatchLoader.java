@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent member lookups of a guild into batched member chunk requests.
+ * <br>Lookups for an id which is already requested share the pending future.
+ * Ids which are not included in the chunk response, or whose chunk request failed, are loaded through REST.
+ */
+public class MemberBatchLoader
+{
+    public static final Logger LOG = JDALogger.getLog(MemberBatchLoader.class);
+    public static final long BATCH_WINDOW = 20; // milliseconds
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final JDAImpl api;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guild ID -> User ID -> Pending lookup (queued or requested)
+    private final TLongObjectMap<TLongObjectMap<CompletableFuture<Member>>> inFlight = new TLongObjectHashMap<>();
+    // Guild ID -> Batch which has not been sent yet
+    private final TLongObjectMap<Batch> queued = new TLongObjectHashMap<>();
+
+    public MemberBatchLoader(JDAImpl api)
+    {
+        this.api = api;
+    }
+
+    public CompletableFuture<Member> load(GuildImpl guild, long userId)
+    {
+        long guildId = guild.getIdLong();
+        Batch full = null;
+        CompletableFuture<Member> future;
+        lock.lock();
+        try
+        {
+            TLongObjectMap<CompletableFuture<Member>> pending = inFlight.get(guildId);
+            if (pending == null)
+                inFlight.put(guildId, pending = new TLongObjectHashMap<>());
+            future = pending.get(userId);
+            if (future != null)
+                return future;
+
+            future = new CompletableFuture<>();
+            pending.put(userId, future);
+            Batch batch = queued.get(guildId);
+            if (batch == null)
+            {
+                batch = new Batch(guild);
+                queued.put(guildId, batch);
+                Batch scheduled = batch;
+                batch.flushHandle = api.getGatewayPool().schedule(() -> flush(scheduled), BATCH_WINDOW, TimeUnit.MILLISECONDS);
+            }
+            batch.members.put(userId, future);
+            if (batch.members.size() >= MAX_BATCH_SIZE)
+            {
+                full = batch;
+                queued.remove(guildId);
+                batch.flushHandle.cancel(false);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        CompletableFuture<Member> result = future;
+        result.whenComplete((member, error) -> done(guildId, userId, result));
+        if (full != null)
+            send(full);
+        return result;
+    }
+
+    private void flush(Batch batch)
+    {
+        boolean removed = MiscUtil.locked(lock, () -> {
+            long guildId = batch.guild.getIdLong();
+            if (queued.get(guildId) != batch)
+                return false;
+            queued.remove(guildId);
+            return true;
+        });
+        if (removed)
+            send(batch);
+    }
+
+    private void send(Batch batch)
+    {
+        try
+        {
+            MemberChunkManager chunkManager = api.getClient().getChunkManager();
+            CompletableFuture<Void> handle = chunkManager.chunkGuild(batch.guild, false, batch.members.keys(), (last, list) ->
+                list.forEach(member -> {
+                    CompletableFuture<Member> future = batch.members.get(member.getIdLong());
+                    if (future != null)
+                        future.complete(member);
+                })
+            );
+            handle.whenComplete((v, error) -> {
+                if (error != null)
+                    LOG.debug("Member chunk request failed for guild {}, loading {} members through REST", batch.guild.getId(), batch.members.size(), error);
+                fallback(batch);
+            });
+        }
+        catch (Exception e)
+        {
+            LOG.error("Failed to send member chunk request for guild {}", batch.guild.getId(), e);
+            fallback(batch);
+        }
+    }
+
+    private void fallback(Batch batch)
+    {
+        if (!batch.fallback.compareAndSet(false, true))
+            return;
+        // Remaining ids were not found by the chunk request, the REST response decides whether the member exists
+        batch.members.forEachEntry((userId, future) -> {
+            if (!future.isDone())
+                retrieve(batch.guild, userId).queue(future::complete, future::completeExceptionally);
+            return true;
+        });
+    }
+
+    private RestActionImpl<Member> retrieve(GuildImpl guild, long userId)
+    {
+        Route.CompiledRoute route = Route.Guilds.GET_MEMBER.compile(guild.getId(), Long.toUnsignedString(userId));
+        return new RestActionImpl<>(api, route, (resp, req) -> {
+            MemberImpl member = api.getEntityBuilder().createMember(guild, resp.getObject());
+            api.getEntityBuilder().updateMemberCache(member);
+            return member;
+        });
+    }
+
+    private void done(long guildId, long userId, CompletableFuture<Member> future)
+    {
+        MiscUtil.locked(lock, () -> {
+            TLongObjectMap<CompletableFuture<Member>> pending = inFlight.get(guildId);
+            if (pending == null || pending.get(userId) != future)
+                return;
+            pending.remove(userId);
+            if (pending.isEmpty())
+                inFlight.remove(guildId);
+        });
+    }
+
+    private static class Batch
+    {
+        private final TLongObjectMap<CompletableFuture<Member>> members = new TLongObjectHashMap<>();
+        private final AtomicBoolean fallback = new AtomicBoolean();
+        private final GuildImpl guild;
+        private Future<?> flushHandle;
+
+        private Batch(GuildImpl guild)
+        {
+            this.guild = guild;
+        }
+    }
+}
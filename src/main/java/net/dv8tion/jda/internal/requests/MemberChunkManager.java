@@ -25,6 +25,7 @@ import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.entities.EntityBuilder;
 import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,7 +39,6 @@ public class MemberChunkManager
     private final WebSocketClient client;
     private final ReentrantLock lock = new ReentrantLock();
     private final TLongObjectMap<ChunkRequest> requests = new TLongObjectHashMap<>();
-    private Future<?> timeoutHandle;
 
     public MemberChunkManager(WebSocketClient client)
     {
@@ -55,23 +55,19 @@ public class MemberChunkManager
         MiscUtil.locked(lock, requests::clear);
     }
 
-    private void init()
+    public void shutdown()
     {
         MiscUtil.locked(lock, () -> {
-            if (timeoutHandle == null)
-                timeoutHandle = client.getJDA().getGatewayPool().scheduleAtFixedRate(new TimeoutHandler(), 5, 5, TimeUnit.SECONDS);
+            requests.forEachValue(request -> {
+                request.cancelTimeout();
+                return true;
+            });
+            requests.clear();
         });
     }
 
-    public void shutdown()
-    {
-        if (timeoutHandle != null)
-            timeoutHandle.cancel(false);
-    }
-
     public CompletableFuture<Void> chunkGuild(GuildImpl guild, boolean presence, BiConsumer<Boolean, List<Member>> handler)
     {
-        init();
         DataObject request = DataObject.empty()
                 .put("guild_id", guild.getId())
                 .put("presences", presence)
@@ -85,7 +81,6 @@ public class MemberChunkManager
 
     public CompletableFuture<Void> chunkGuild(GuildImpl guild, String query, int limit, BiConsumer<Boolean, List<Member>> handler)
     {
-        init();
         DataObject request = DataObject.empty()
                 .put("guild_id", guild.getId())
                 .put("limit", Math.min(100, Math.max(1, limit)))
@@ -98,7 +93,6 @@ public class MemberChunkManager
 
     public CompletableFuture<Void> chunkGuild(GuildImpl guild, boolean presence, long[] userIds, BiConsumer<Boolean, List<Member>> handler)
     {
-        init();
         DataObject request = DataObject.empty()
                 .put("guild_id", guild.getId())
                 .put("presences", presence)
@@ -125,6 +119,7 @@ public class MemberChunkManager
             if (lastChunk || request.isCancelled())
             {
                 requests.remove(key);
+                request.cancelTimeout();
                 request.complete(null);
             }
             return true;
@@ -158,6 +153,7 @@ public class MemberChunkManager
         private final DataObject request;
         private final long nonce;
         private long startTime;
+        private HashedWheelTimer.Timeout timeout;
 
         public ChunkRequest(BiConsumer<Boolean, List<Member>> handler, GuildImpl guild, DataObject request)
         {
@@ -185,9 +181,23 @@ public class MemberChunkManager
         public DataObject getRequest()
         {
             startTime = System.currentTimeMillis();
+            cancelTimeout();
+            timeout = client.getJDA().getTimeoutTimer().schedule(this::onTimeout, MAX_CHUNK_AGE, TimeUnit.MILLISECONDS);
             return request;
         }
 
+        public void cancelTimeout()
+        {
+            if (timeout != null)
+                timeout.cancel();
+        }
+
+        private void onTimeout()
+        {
+            cancelRequest(this);
+            completeExceptionally(new TimeoutException());
+        }
+
         private List<Member> toMembers(DataObject chunk)
         {
             EntityBuilder builder = guild.getJDA().getEntityBuilder();
@@ -228,24 +238,8 @@ public class MemberChunkManager
         {
             client.cancelChunkRequest(getNonce());
             cancelRequest(this);
+            cancelTimeout();
             return super.cancel(mayInterruptIfRunning);
         }
     }
-
-    private class TimeoutHandler implements Runnable
-    {
-        @Override
-        public void run()
-        {
-            MiscUtil.locked(lock, () ->
-            {
-                requests.forEachValue(request -> {
-                    if (request.getAge() > MAX_CHUNK_AGE)
-                        request.completeExceptionally(new TimeoutException());
-                    return true;
-                });
-                requests.valueCollection().removeIf(ChunkRequest::isDone);
-            });
-        }
-    }
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+import net.dv8tion.jda.api.requests.restaction.pagination.MessagePaginationAction;
+import net.dv8tion.jda.api.utils.MessagePurge;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.mixin.channel.middleman.MessageChannelMixin;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class MessagePurgeEngine
+{
+    private static final Logger LOG = JDALogger.getLog(MessagePurgeEngine.class);
+    private static final int BULK_SIZE = 100;
+    private static final int MAX_BULK_IN_FLIGHT = 2;
+    private static final int MAX_SINGLE_IN_FLIGHT = 5;
+    /** Amount of queued messages after which no further pages are loaded */
+    private static final int MAX_QUEUED = 1000;
+    /** Bulk delete only accepts messages younger than 14 days, with some slack for clock drift and queueing */
+    private static final long BULK_DELETE_AGE = TimeUnit.DAYS.toMillis(14) - TimeUnit.SECONDS.toMillis(10);
+
+    private final JDAImpl api;
+    private final MessageChannel channel;
+    private final MessagePaginationAction history;
+    private final Predicate<? super Message> filter;
+    private final Consumer<? super MessagePurge.Progress> progressListener;
+    private final int limit;
+    private final boolean canBulkDelete;
+    private final boolean canDeleteOthers;
+    private final Route.CompiledRoute singleRoute;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CompletableFuture<MessagePurge.Progress> future = new CompletableFuture<>();
+    private final TLongList bulkQueue = new TLongArrayList();
+    private final TLongList singleQueue = new TLongArrayList();
+    private int bulkInFlight, singleInFlight, inFlightMessages;
+    private int scanned, matched, deleted, skipped;
+    private boolean fetching, exhausted;
+
+    public MessagePurgeEngine(MessageChannel channel, MessagePaginationAction history, long[] ids,
+                              Predicate<? super Message> filter, int limit, Consumer<? super MessagePurge.Progress> progressListener)
+    {
+        this.api = (JDAImpl) channel.getJDA();
+        this.channel = channel;
+        this.history = history;
+        this.filter = filter;
+        this.limit = limit;
+        this.progressListener = progressListener;
+        // Only guild channels support bulk delete, which also requires MESSAGE_MANAGE
+        this.canDeleteOthers = channel instanceof MessageChannelMixin && ((MessageChannelMixin<?>) channel).canDeleteOtherUsersMessages();
+        this.canBulkDelete = canDeleteOthers && channel.getType().isGuild();
+        this.singleRoute = Route.Messages.DELETE_MESSAGE.compile(channel.getId(), "0");
+
+        if (ids != null)
+        {
+            long boundary = getBulkBoundary();
+            TLongSet unique = new TLongHashSet(ids.length);
+            for (long id : ids)
+            {
+                if (!unique.add(id))
+                    continue;
+                scanned++;
+                matched++;
+                enqueue(id, boundary);
+            }
+            exhausted = true;
+        }
+    }
+
+    public CompletableFuture<MessagePurge.Progress> start()
+    {
+        if (history != null)
+            history.cache(false);
+        MiscUtil.locked(lock, this::pump);
+        return future;
+    }
+
+    // -- Pipeline --
+
+    // Must hold the lock
+    private void pump()
+    {
+        if (future.isDone())
+            return;
+
+        while (bulkInFlight < MAX_BULK_IN_FLIGHT && (bulkQueue.size() >= BULK_SIZE || (isSourceDone() && !bulkQueue.isEmpty())))
+            submitBulk();
+
+        int window = getSingleWindow();
+        while (singleInFlight < window && !singleQueue.isEmpty())
+            submitSingle(singleQueue.removeAt(singleQueue.size() - 1));
+
+        // Load the next page while the current one is being deleted
+        if (!isSourceDone() && !fetching && bulkQueue.size() + singleQueue.size() < MAX_QUEUED)
+            fetch();
+
+        if (isSourceDone() && bulkQueue.isEmpty() && singleQueue.isEmpty() && bulkInFlight == 0 && singleInFlight == 0)
+            future.complete(getProgress());
+    }
+
+    private void fetch()
+    {
+        fetching = true;
+        history.submit().whenComplete((messages, error) -> {
+            MiscUtil.locked(lock, () -> onPage(messages, error));
+            notifyProgress();
+        });
+    }
+
+    private void submitBulk()
+    {
+        long boundary = getBulkBoundary();
+        List<String> ids = new ArrayList<>(BULK_SIZE);
+        while (ids.size() < BULK_SIZE && !bulkQueue.isEmpty())
+        {
+            long id = bulkQueue.removeAt(bulkQueue.size() - 1);
+            // Messages might have aged past the boundary while queued
+            if (id > boundary)
+                ids.add(Long.toUnsignedString(id));
+            else
+                singleQueue.add(id);
+        }
+
+        if (ids.isEmpty())
+            return;
+        if (ids.size() == 1)
+        {
+            // Bulk delete requires at least 2 messages
+            singleQueue.add(MiscUtil.parseSnowflake(ids.get(0)));
+            return;
+        }
+
+        int amount = ids.size();
+        bulkInFlight++;
+        inFlightMessages += amount;
+        ((MessageChannelMixin<?>) channel).bulkDeleteMessages(ids).submit().whenComplete((v, error) -> {
+            MiscUtil.locked(lock, () -> {
+                bulkInFlight--;
+                inFlightMessages -= amount;
+                if (error == null)
+                    deleted += amount;
+                else if (!handleError(error, amount))
+                    return;
+                pump();
+            });
+            notifyProgress();
+        });
+    }
+
+    private void submitSingle(long id)
+    {
+        singleInFlight++;
+        inFlightMessages++;
+        channel.deleteMessageById(id).submit().whenComplete((v, error) -> {
+            MiscUtil.locked(lock, () -> {
+                singleInFlight--;
+                inFlightMessages--;
+                if (error == null)
+                    deleted++;
+                else if (!handleError(error, 1))
+                    return;
+                pump();
+            });
+            notifyProgress();
+        });
+    }
+
+    // Must hold the lock
+    private void onPage(List<Message> messages, Throwable error)
+    {
+        fetching = false;
+        if (error != null)
+        {
+            fail(error);
+            return;
+        }
+
+        // The history returns fewer messages than requested once the end is reached
+        if (messages.size() < history.getLimit())
+            exhausted = true;
+
+        long boundary = getBulkBoundary();
+        long selfId = api.getSelfUser().getIdLong();
+        for (Message message : messages)
+        {
+            if (matched >= limit)
+            {
+                exhausted = true;
+                break;
+            }
+            scanned++;
+            if (!filter.test(message))
+                continue;
+            if (!canDeleteOthers && message.getAuthor().getIdLong() != selfId)
+            {
+                skipped++;
+                continue;
+            }
+            matched++;
+            enqueue(message.getIdLong(), boundary);
+        }
+        pump();
+    }
+
+    // Returns true if the purge continues
+    private boolean handleError(Throwable error, int amount)
+    {
+        if (error instanceof CompletionException && error.getCause() != null)
+            error = error.getCause();
+        if (error instanceof ErrorResponseException && ((ErrorResponseException) error).getErrorResponse() == ErrorResponse.UNKNOWN_MESSAGE)
+        {
+            skipped += amount;
+            return true;
+        }
+        fail(error);
+        return false;
+    }
+
+    private void fail(Throwable error)
+    {
+        LOG.debug("Purge of channel {} failed after deleting {} messages", channel.getId(), deleted, error);
+        bulkQueue.clear();
+        singleQueue.clear();
+        future.completeExceptionally(error);
+    }
+
+    // -- Helpers --
+
+    private void enqueue(long id, long boundary)
+    {
+        if (canBulkDelete && id > boundary)
+            bulkQueue.add(id);
+        else
+            singleQueue.add(id);
+    }
+
+    private boolean isSourceDone()
+    {
+        return exhausted || history == null;
+    }
+
+    private long getBulkBoundary()
+    {
+        return TimeUtil.getDiscordTimestamp(System.currentTimeMillis() - BULK_DELETE_AGE);
+    }
+
+    private int getSingleWindow()
+    {
+        // Start with a single request to learn the bucket, then follow the remaining uses it reports
+        int remaining = api.getRequester().getRateLimiter().getRemaining(singleRoute);
+        if (remaining < 1)
+            return 1;
+        return Math.min(remaining, MAX_SINGLE_IN_FLIGHT);
+    }
+
+    private MessagePurge.Progress getProgress()
+    {
+        int pending = bulkQueue.size() + singleQueue.size() + inFlightMessages;
+        return new MessagePurge.Progress(scanned, deleted, skipped, pending);
+    }
+
+    private void notifyProgress()
+    {
+        if (progressListener == null || future.isCompletedExceptionally() || future.isCancelled())
+            return;
+        MessagePurge.Progress progress = MiscUtil.locked(lock, this::getProgress);
+        try
+        {
+            progressListener.accept(progress);
+        }
+        catch (Exception e)
+        {
+            LOG.error("Uncaught exception from purge progress listener", e);
+        }
+    }
+}
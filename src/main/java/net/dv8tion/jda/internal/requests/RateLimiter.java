@@ -65,6 +65,12 @@ public abstract class RateLimiter
         return rateLimit != null && rateLimit > 0L;
     }
 
+    // Returns -1 if the bucket is not known yet
+    public int getRemaining(Route.CompiledRoute route)
+    {
+        return -1;
+    }
+
     public abstract int cancelRequests();
 
     public void init() {}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.requests.Request;
+import net.dv8tion.jda.api.requests.RequestCoalescing;
+import net.dv8tion.jda.api.requests.Response;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.internal.utils.IOUtil;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-flight handling and response cache for GET requests, see {@link RequestCoalescing}.
+ * <br>The first request for a compiled route becomes the leader which is executed by the rate limiter,
+ * subsequent requests for the same route wait for the response of the leader.
+ */
+public class RequestCoalescer
+{
+    private static final Map<Route, RequestCoalescing.Endpoint> ENDPOINTS = new HashMap<>();
+
+    static
+    {
+        for (RequestCoalescing.Endpoint endpoint : RequestCoalescing.Endpoint.values())
+            ENDPOINTS.put(getRoute(endpoint), endpoint);
+    }
+
+    private final Requester requester;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Route.CompiledRoute, Group> inFlight = new HashMap<>();
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private volatile RequestCoalescing config = RequestCoalescing.NONE;
+
+    public RequestCoalescer(Requester requester)
+    {
+        this.requester = requester;
+    }
+
+    public void setConfig(RequestCoalescing config)
+    {
+        this.config = config;
+        cache.clear();
+    }
+
+    public RequestCoalescing getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Attempts to complete the request with a cached response or attach it to a pending request.
+     *
+     * @return True, if the request does not need to be queued
+     */
+    public boolean offer(Request<?> request)
+    {
+        RequestCoalescing config = this.config;
+        if (!config.isEnabled())
+            return false;
+        Route.CompiledRoute route = request.getRoute();
+        if (route.getMethod() != Method.GET)
+        {
+            // Any modification of the resource invalidates the cached response
+            if (config.isCaching())
+                cache.remove(route.getCompiledRoute());
+            return false;
+        }
+        if (request.getHeaders() != null && !request.getHeaders().isEmpty())
+            return false;
+
+        CachedResponse cached = cache.get(route.getCompiledRoute());
+        if (cached != null)
+        {
+            if (cached.isValid())
+            {
+                if (!request.isSkipped())
+                    request.handleResponse(cached.toResponse());
+                return true;
+            }
+            cache.remove(route.getCompiledRoute(), cached);
+        }
+
+        return MiscUtil.locked(lock, () -> {
+            Group group = inFlight.get(route);
+            if (group == null)
+            {
+                inFlight.put(route, new Group(request));
+                return false;
+            }
+            group.followers.add(request);
+            return true;
+        });
+    }
+
+    /**
+     * Completes the leader and all waiting requests with a copy of the provided response.
+     *
+     * @return False, if the request is not a leader and has to handle the response itself
+     */
+    public boolean complete(Request<?> request, okhttp3.Response response, Set<String> cfRays) throws IOException
+    {
+        if (!config.isEnabled())
+            return false;
+        Group group = remove(request);
+        if (group == null)
+            return false;
+
+        byte[] body = readBody(response);
+        RequestCoalescing.Endpoint endpoint = ENDPOINTS.get(request.getRoute().getBaseRoute());
+        long cacheTime = endpoint == null ? 0 : config.getCacheTime(endpoint);
+        if (response.isSuccessful() && cacheTime > 0)
+            cacheResponse(request.getRoute(), new CachedResponse(copy(response, body), body, cfRays, System.currentTimeMillis() + cacheTime));
+
+        for (Request<?> follower : group.followers)
+        {
+            try
+            {
+                if (!follower.isSkipped())
+                    follower.handleResponse(new Response(copy(response, body), -1, cfRays));
+            }
+            catch (Exception e)
+            {
+                Requester.LOG.error("There was an unexpected error while handling a coalesced REST response", e);
+                follower.handleResponse(new Response(e, cfRays));
+            }
+        }
+        // The leader is handled last, errors are handled by the requester
+        request.handleResponse(new Response(copy(response, body), -1, cfRays));
+        return true;
+    }
+
+    /**
+     * Called when a request failed without a response, the waiting requests are queued again and elect a new leader.
+     */
+    public void release(Request<?> request)
+    {
+        if (!config.isEnabled())
+            return;
+        Group group = remove(request);
+        if (group == null)
+            return;
+        for (Request<?> follower : group.followers)
+        {
+            try
+            {
+                requester.request(follower);
+            }
+            catch (RejectedExecutionException ex)
+            {
+                follower.onCancelled();
+            }
+        }
+    }
+
+    private Group remove(Request<?> request)
+    {
+        return MiscUtil.locked(lock, () -> {
+            Group group = inFlight.get(request.getRoute());
+            if (group == null || group.leader != request)
+                return null;
+            inFlight.remove(request.getRoute());
+            return group;
+        });
+    }
+
+    private void cacheResponse(Route.CompiledRoute route, CachedResponse response)
+    {
+        if (cache.size() >= config.getCacheSize())
+        {
+            cache.values().removeIf(cached -> !cached.isValid());
+            if (cache.size() >= config.getCacheSize())
+                return;
+        }
+        cache.put(route.getCompiledRoute(), response);
+    }
+
+    private static Route getRoute(RequestCoalescing.Endpoint endpoint)
+    {
+        switch (endpoint)
+        {
+        case USER:                return Route.Users.GET_USER;
+        case MEMBER:              return Route.Guilds.GET_MEMBER;
+        case GUILD:               return Route.Guilds.GET_GUILD;
+        case BANS:                return Route.Guilds.GET_BANS;
+        case BAN:                 return Route.Guilds.GET_BAN;
+        case EMOTES:              return Route.Emotes.GET_EMOTES;
+        case EMOTE:               return Route.Emotes.GET_EMOTE;
+        case VANITY_URL:          return Route.Guilds.GET_VANITY_URL;
+        case VOICE_REGIONS:       return Route.Guilds.GET_VOICE_REGIONS;
+        case GUILD_WEBHOOKS:      return Route.Guilds.GET_WEBHOOKS;
+        case CHANNEL_WEBHOOKS:    return Route.Channels.GET_WEBHOOKS;
+        case WEBHOOK:             return Route.Webhooks.GET_WEBHOOK;
+        case MESSAGE:             return Route.Messages.GET_MESSAGE;
+        case PINNED_MESSAGES:     return Route.Messages.GET_PINNED_MESSAGES;
+        case THREAD_MEMBER:       return Route.Channels.GET_THREAD_MEMBER;
+        case THREAD_MEMBERS:      return Route.Channels.LIST_THREAD_MEMBERS;
+        case INVITE:              return Route.Invites.GET_INVITE;
+        case GUILD_INVITES:       return Route.Invites.GET_GUILD_INVITES;
+        case CHANNEL_INVITES:     return Route.Invites.GET_CHANNEL_INVITES;
+        case TEMPLATE:            return Route.Templates.GET_TEMPLATE;
+        case APPLICATION_INFO:    return Route.Applications.GET_BOT_APPLICATION;
+        case COMMANDS:            return Route.Interactions.GET_COMMANDS;
+        case GUILD_COMMANDS:      return Route.Interactions.GET_GUILD_COMMANDS;
+        case COMMAND_PERMISSIONS: return Route.Interactions.GET_ALL_COMMAND_PERMISSIONS;
+        default: throw new AssertionError("Missing route for endpoint " + endpoint);
+        }
+    }
+
+    private static byte[] readBody(okhttp3.Response response) throws IOException
+    {
+        if (response.body() == null)
+            return new byte[0];
+        InputStream stream = IOUtil.getBody(response);
+        return stream == null ? new byte[0] : IOUtil.readFully(stream);
+    }
+
+    private static okhttp3.Response copy(okhttp3.Response response, byte[] body)
+    {
+        ResponseBody original = response.body();
+        return response.newBuilder()
+                .removeHeader("content-encoding")
+                .body(ResponseBody.create(original == null ? null : original.contentType(), body))
+                .build();
+    }
+
+    private static class Group
+    {
+        private final Request<?> leader;
+        private final List<Request<?>> followers = new ArrayList<>();
+
+        private Group(Request<?> leader)
+        {
+            this.leader = leader;
+        }
+    }
+
+    private static class CachedResponse
+    {
+        private final okhttp3.Response response;
+        private final byte[] body;
+        private final Set<String> cfRays;
+        private final long expires;
+
+        private CachedResponse(okhttp3.Response response, byte[] body, Set<String> cfRays, long expires)
+        {
+            this.response = response;
+            this.body = body;
+            this.cfRays = cfRays;
+            this.expires = expires;
+        }
+
+        private boolean isValid()
+        {
+            return expires > System.currentTimeMillis();
+        }
+
+        private Response toResponse()
+        {
+            return new Response(copy(response, body), -1, cfRays);
+        }
+    }
+}
@@ -57,6 +57,7 @@ public class Requester
     protected final JDAImpl api;
     protected final AuthorizationConfig authConfig;
     private final RateLimiter rateLimiter;
+    private final RequestCoalescer coalescer;
 
     private final OkHttpClient httpClient;
 
@@ -79,6 +80,7 @@ public class Requester
         this.authConfig = authConfig;
         this.api = (JDAImpl) api;
         this.rateLimiter = new BotRateLimiter(this);
+        this.coalescer = new RequestCoalescer(this);
         this.httpClient = this.api.getHttpClient();
     }
 
@@ -107,7 +109,12 @@ public class Requester
             throw new RejectedExecutionException("The Requester has been stopped! No new requests can be requested!");
 
         if (apiRequest.shouldQueue())
-            rateLimiter.queueRequest(apiRequest);
+        {
+            // Fails the request once the deadline is reached while it is still waiting in the queue
+            apiRequest.scheduleTimeout(api.getTimeoutTimer());
+            if (!coalescer.offer(apiRequest))
+                rateLimiter.queueRequest(apiRequest);
+        }
         else
             execute(apiRequest, true);
     }
@@ -190,6 +197,7 @@ public class Requester
         okhttp3.Response lastResponse = null;
         try
         {
+            apiRequest.setExecuting(true);
             LOG.trace("Executing request {} {}", apiRequest.getRoute().getMethod(), url);
             int attempt = 0;
             do
@@ -234,7 +242,10 @@ public class Requester
                 LOG.debug("Received response with following cf-rays: {}", rays);
 
             if (retryAfter == null)
-                apiRequest.handleResponse(new Response(lastResponse, -1, rays));
+            {
+                if (!coalescer.complete(apiRequest, lastResponse, rays))
+                    apiRequest.handleResponse(new Response(lastResponse, -1, rays));
+            }
             else if (handleOnRatelimit)
                 apiRequest.handleResponse(new Response(lastResponse, retryAfter, rays));
 
@@ -262,6 +273,7 @@ public class Requester
         }
         finally
         {
+            apiRequest.setExecuting(false);
             for (okhttp3.Response r : responses)
             {
                 if (r == null)
@@ -312,6 +324,11 @@ public class Requester
         return rateLimiter;
     }
 
+    public RequestCoalescer getCoalescer()
+    {
+        return coalescer;
+    }
+
     public void setRetryOnTimeout(boolean retryOnTimeout)
     {
         this.retryOnTimeout = retryOnTimeout;
@@ -25,9 +25,11 @@ import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.RestFuture;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.data.StreamingSerializableData;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.JsonRequestBody;
 import okhttp3.RequestBody;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.slf4j.Logger;
@@ -133,7 +135,7 @@ public class RestActionImpl<T> implements RestAction<T>
 
     public RestActionImpl(JDA api, Route.CompiledRoute route, DataObject data, BiFunction<Response, Request<T>, T> handler)
     {
-        this(api, route, data == null ? null : RequestBody.create(Requester.MEDIA_TYPE_JSON, data.toJson()), handler);
+        this(api, route, data == null ? null : new JsonRequestBody(data, Requester.MEDIA_TYPE_JSON), handler);
         this.rawData = data;
     }
 
@@ -245,14 +247,21 @@ public class RestActionImpl<T> implements RestAction<T>
     {
         this.rawData = object;
 
-        return object == null ? null : RequestBody.create(Requester.MEDIA_TYPE_JSON, object.toJson());
+        return object == null ? null : new JsonRequestBody(object, Requester.MEDIA_TYPE_JSON);
+    }
+
+    protected RequestBody getRequestBody(StreamingSerializableData data)
+    {
+        this.rawData = data;
+
+        return data == null ? null : new JsonRequestBody(data, Requester.MEDIA_TYPE_JSON);
     }
 
     protected RequestBody getRequestBody(DataArray array)
     {
         this.rawData = array;
 
-        return array == null ? null : RequestBody.create(Requester.MEDIA_TYPE_JSON, array.toJson());
+        return array == null ? null : new JsonRequestBody(array, Requester.MEDIA_TYPE_JSON);
     }
 
     private CheckWrapper getFinisher()
@@ -30,11 +30,13 @@ import net.dv8tion.jda.api.exceptions.ParsingException;
 import net.dv8tion.jda.api.managers.AudioManager;
 import net.dv8tion.jda.api.requests.CloseCode;
 import net.dv8tion.jda.api.utils.Compression;
+import net.dv8tion.jda.api.utils.GatewayMetrics;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.SessionController;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.api.utils.data.DataType;
+import net.dv8tion.jda.api.utils.data.etf.ExTermEncoder;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.audio.ConnectionRequest;
 import net.dv8tion.jda.internal.audio.ConnectionStage;
@@ -58,6 +60,7 @@ import java.lang.ref.SoftReference;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -91,6 +94,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected volatile String sessionId = null;
     protected final Object readLock = new Object();
     protected Decompressor decompressor;
+    protected final Object etfLock = new Object();
+    protected ByteBuffer etfBuffer = ByteBuffer.allocate(1024);
 
     protected final ReentrantLock queueLock = new ReentrantLock();
     protected final ScheduledExecutorService executor;
@@ -266,7 +271,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         {
             LOG.trace("<- {}", message);
             if (encoding == GatewayEncoding.ETF)
-                socket.sendBinary(message.toETF());
+                socket.sendBinary(encodeETF(message));
             else
                 socket.sendText(message.toString());
             this.messagesSent.getAndIncrement();
@@ -284,6 +289,16 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
+    protected byte[] encodeETF(DataObject message)
+    {
+        synchronized (etfLock)
+        {
+            etfBuffer = ExTermEncoder.pack(etfBuffer, message);
+            // The socket holds on to the payload until it is written, so the shared buffer cannot be sent directly
+            return Arrays.copyOf(etfBuffer.array(), etfBuffer.limit());
+        }
+    }
+
     protected void setupSendingThread()
     {
         ratelimitThread = new WebSocketSendingThread(this);
@@ -356,7 +371,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             {
                 case ZLIB:
                     if (decompressor == null || decompressor.getType() != Compression.ZLIB)
-                        decompressor = new ZlibDecompressor(api.getMaxBufferSize());
+                        decompressor = new ZlibDecompressor(api.getMaxBufferSize(), api, api.getGatewayMetrics());
                     break;
                 default:
                     throw new IllegalStateException("Unknown compression");
@@ -752,9 +767,13 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         api.getStoreChannelsView().clear();
         api.getCategoriesView().clear();
         api.getGuildsView().clear();
+        api.getRoleIndex().clear();
+        api.getEmoteIndex().clear();
         api.getUsersView().clear();
+        api.getMemberCacheEvictor().clear();
         api.getPrivateChannelsView().clear();
         api.getEventCache().clear();
+        this.<PresenceUpdateHandler>getHandler("PRESENCE_UPDATE").clearPending();
         api.getGuildSetupController().clearCache();
         chunkManager.clear();
     }
@@ -822,6 +841,11 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             LOG.error("Encountered exception on lifecycle level\nJSON: {}", content, ex);
             api.handleEvent(new ExceptionEvent(api, ex, true));
         }
+        // The members selected by the last eviction sweep are removed on this thread, like any other cache update
+        api.getMemberCacheEvictor().processPending();
+        // Coalesced presence updates are replayed on this thread for the same reason
+        if (api.getPresenceCoalescingWindow() > 0)
+            this.<PresenceUpdateHandler>getHandler("PRESENCE_UPDATE").processPending();
     }
 
     protected void onEvent(DataObject content)
@@ -871,7 +895,9 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             case WebSocketCode.HEARTBEAT_ACK:
                 LOG.trace("Got Heartbeat Ack (OP 11).");
                 missedHeartbeats = 0;
-                api.setGatewayPing(System.currentTimeMillis() - heartbeatStartTime);
+                long ping = System.currentTimeMillis() - heartbeatStartTime;
+                api.setGatewayPing(ping);
+                api.getGatewayMetrics().onHeartbeatAcknowledged(api, ping);
                 break;
             default:
                 LOG.debug("Got unknown op-code: {} with content: {}", opCode, content);
@@ -969,24 +995,51 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 JDAInfo.VERSION, type, content, ex);
         }
 
-        if (responseTotal % EventCache.TIMEOUT_AMOUNT == 0)
-            jda.getEventCache().timeout(responseTotal);
+        EventCache eventCache = jda.getEventCache();
+        eventCache.timeout(responseTotal);
+        GatewayMetrics metrics = jda.getGatewayMetrics();
+        if (metrics != GatewayMetrics.NONE)
+            metrics.onEventCacheSize(jda, eventCache.size());
+        if (eventCache.pollResync())
+        {
+            LOG.warn("Event cache overflowed, invalidating session to reload the cache");
+            invalidate();
+            close(1000, INVALIDATE_REASON);
+        }
     }
 
     @Override
     public void onTextMessage(WebSocket websocket, byte[] data)
     {
-        handleEvent(DataObject.fromJson(data));
+        GatewayMetrics metrics = api.getGatewayMetrics();
+        if (metrics == GatewayMetrics.NONE)
+        {
+            handleEvent(DataObject.fromLazyJson(data));
+            return;
+        }
+
+        metrics.onPayloadReceived(api, data.length);
+        long start = System.nanoTime();
+        DataObject message = DataObject.fromLazyJson(data);
+        metrics.onPayloadDecoded(api, System.nanoTime() - start);
+        handleEvent(message);
     }
 
     @Override
     public void onBinaryMessage(WebSocket websocket, byte[] binary) throws DataFormatException
     {
+        GatewayMetrics metrics = api.getGatewayMetrics();
+        boolean measure = metrics != GatewayMetrics.NONE;
+        if (measure)
+            metrics.onPayloadReceived(api, binary.length);
         DataObject message;
         // Only acquire lock for decompression and unlock for event handling
         synchronized (readLock)
         {
+            long start = measure ? System.nanoTime() : 0;
             message = handleBinary(binary);
+            if (measure && message != null)
+                metrics.onPayloadDecoded(api, System.nanoTime() - start);
         }
         if (message != null)
             handleEvent(message);
@@ -1019,7 +1072,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             if (encoding == GatewayEncoding.ETF)
                 return DataObject.fromETF(data);
             else
-                return DataObject.fromJson(data);
+                return DataObject.fromLazyJson(data); // most handlers only read a few fields of large payloads
         }
         catch (ParsingException e)
         {
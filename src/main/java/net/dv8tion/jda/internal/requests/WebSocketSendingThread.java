@@ -21,6 +21,7 @@ import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.GuildVoiceState;
 import net.dv8tion.jda.api.managers.AudioManager;
+import net.dv8tion.jda.api.utils.GatewayMetrics;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.audio.ConnectionRequest;
@@ -159,6 +160,9 @@ class WebSocketSendingThread implements Runnable
             client.maybeUnlock();
         }
 
+        GatewayMetrics metrics = api.getGatewayMetrics();
+        if (attemptedToSend && metrics != GatewayMetrics.NONE)
+            metrics.onSendQueueSize(api, chunkQueue.size() + ratelimitQueue.size());
         scheduleNext();
     }
 
@@ -197,6 +197,18 @@ public class BotRateLimiter extends RateLimiter
         return bucket == null ? 0L : bucket.getRateLimit();
     }
 
+    @Override
+    public int getRemaining(Route.CompiledRoute route)
+    {
+        return MiscUtil.locked(bucketLock, () -> {
+            Bucket bucket = getBucket(route, false);
+            if (bucket == null)
+                return -1;
+            // The bucket resets before the next request
+            return bucket.getReset() <= getNow() ? bucket.getLimit() : bucket.getRemaining();
+        });
+    }
+
     @Override
     @SuppressWarnings("rawtypes")
     protected void queueRequest(Request request)
@@ -21,11 +21,13 @@ import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.requests.Request;
+import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.Response;
 import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.interactions.command.CommandImpl;
+import net.dv8tion.jda.internal.interactions.command.CommandListDiff;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
 import net.dv8tion.jda.internal.utils.Checks;
@@ -127,6 +129,19 @@ public class CommandListUpdateActionImpl extends RestActionImpl<List<Command>> i
         return this;
     }
 
+    @Nonnull
+    @Override
+    public RestAction<List<Command>> diff()
+    {
+        List<CommandData> commands = new ArrayList<>(this.commands);
+        String applicationId = api.getSelfUser().getApplicationId();
+        Route.CompiledRoute route = guild == null
+            ? Route.Interactions.GET_COMMANDS.compile(applicationId)
+            : Route.Interactions.GET_GUILD_COMMANDS.compile(applicationId, guild.getId());
+        return new RestActionImpl<DataArray>(api, route, (response, request) -> response.getArray())
+            .flatMap(current -> new CommandListDiff(api, guild, commands, current).apply());
+    }
+
     @Override
     protected RequestBody finalizeData()
     {
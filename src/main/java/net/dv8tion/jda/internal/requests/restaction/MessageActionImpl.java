@@ -27,8 +27,10 @@ import net.dv8tion.jda.api.requests.Request;
 import net.dv8tion.jda.api.requests.Response;
 import net.dv8tion.jda.api.requests.restaction.MessageAction;
 import net.dv8tion.jda.api.utils.AttachmentOption;
-import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.data.JsonWriter;
+import net.dv8tion.jda.api.utils.data.StreamingSerializableData;
 import net.dv8tion.jda.internal.requests.Requester;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
@@ -36,6 +38,8 @@ import net.dv8tion.jda.internal.utils.AllowedMentionsImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.IOUtil;
+import net.dv8tion.jda.internal.utils.JsonRequestBody;
+import net.dv8tion.jda.internal.utils.data.DataTreeWriter;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 
@@ -43,6 +47,7 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
@@ -54,6 +59,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
 {
     private static final String CONTENT_TOO_BIG = Helpers.format("A message may not exceed %d characters. Please limit your input!", Message.MAX_CONTENT_LENGTH);
     protected static boolean defaultFailOnInvalidReply = false;
+    private static final String[] TEMPLATE_FIELDS = { "content", "embeds", "components", "tts" };
     protected final Map<String, InputStream> files = new HashMap<>();
     protected final Set<InputStream> ownedResources = new HashSet<>();
     protected final StringBuilder content;
@@ -66,6 +72,8 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
     protected boolean tts = false, override = false;
     protected boolean failOnInvalidReply = defaultFailOnInvalidReply;
     protected long messageReference;
+    // Serialized content, embeds, components and tts of a MessageTemplate
+    protected byte[] template;
 
     protected final String messageId;
     private InteractionHook hook = null;
@@ -151,6 +159,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
     public boolean isEmpty()
     {
         return !isEdit() // PATCH can be technically empty since you can update stuff like components or remove embeds etc
+            && template == null
             && Helpers.isBlank(content)
             && (embeds == null || embeds.isEmpty() || !hasPermission(Permission.MESSAGE_EMBED_LINKS));
     }
@@ -181,6 +190,15 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
         return content(content).tts(message.isTTS());
     }
 
+    @Nonnull
+    @Override
+    public MessageActionImpl applyTemplate(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values)
+    {
+        Checks.notNull(template, "Template");
+        this.template = template.render(values);
+        return this;
+    }
+
     @Nonnull
     @Override
     public MessageActionImpl referenceById(long messageId)
@@ -483,7 +501,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
             builder.addFormDataPart("files[" + (index++) + "]", entry.getKey(), body);
         }
         if (messageReference != 0L || components != null || retainedAttachments != null || !isEmpty())
-            builder.addFormDataPart("payload_json", getJSON().toString());
+            builder.addFormDataPart("payload_json", template == null ? getJSON().toString() : new String(getTemplateJSON(), StandardCharsets.UTF_8));
         // clear remaining resources, they will be closed after being sent
         files.clear();
         ownedResources.clear();
@@ -492,64 +510,63 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
 
     protected RequestBody asJSON()
     {
-        return RequestBody.create(Requester.MEDIA_TYPE_JSON, getJSON().toJson());
+        if (template != null)
+            return RequestBody.create(Requester.MEDIA_TYPE_JSON, getTemplateJSON());
+        // The body is written when the request is executed, and again on retries,
+        // so it uses a snapshot which is not affected by changes to this action after it was queued
+        return new JsonRequestBody((StreamingSerializableData) new Snapshot()::write, Requester.MEDIA_TYPE_JSON);
+    }
+
+    protected byte[] getTemplateJSON()
+    {
+        DataObject fields = getJSON();
+        for (String key : TEMPLATE_FIELDS)
+            fields.remove(key);
+        return withFields(template, fields);
+    }
+
+    /**
+     * Adds the provided fields to a serialized JSON object.
+     *
+     * @param  json
+     *         The serialized object
+     * @param  fields
+     *         The fields to add, which must not be present in the object
+     *
+     * @return The serialized object with the added fields
+     */
+    public static byte[] withFields(byte[] json, DataObject fields)
+    {
+        if (fields.keys().isEmpty())
+            return json;
+        byte[] serialized = fields.toJson();
+        // Replace the closing brace of the object with the fields, without their opening brace
+        byte[] result = new byte[json.length + serialized.length - 1];
+        System.arraycopy(json, 0, result, 0, json.length - 1);
+        result[json.length - 1] = ',';
+        System.arraycopy(serialized, 1, result, json.length, serialized.length - 1);
+        return result;
     }
 
     protected DataObject getJSON()
     {
-        final DataObject obj = DataObject.empty();
-        if (override)
-        {
-            if (embeds == null)
-                obj.put("embeds", DataArray.empty());
-            else
-                obj.put("embeds", DataArray.fromCollection(embeds));
-            if (content.length() == 0)
-                obj.putNull("content");
-            else
-                obj.put("content", content.toString());
-            if (nonce == null)
-                obj.putNull("nonce");
-            else
-                obj.put("nonce", nonce);
-            if (components == null)
-                obj.put("components", DataArray.empty());
-            else
-                obj.put("components", DataArray.fromCollection(components));
-            if (retainedAttachments != null)
-                obj.put("attachments", DataArray.fromCollection(retainedAttachments.stream()
-                        .map(id -> DataObject.empty()
-                            .put("id", id))
-                        .collect(Collectors.toList())));
-            else
-                obj.put("attachments", DataArray.empty());
-        }
-        else
-        {
-            if (embeds != null)
-                obj.put("embeds", DataArray.fromCollection(embeds));
-            if (content.length() > 0)
-                obj.put("content", content.toString());
-            if (nonce != null)
-                obj.put("nonce", nonce);
-            if (components != null)
-                obj.put("components", DataArray.fromCollection(components));
-            if (retainedAttachments != null)
-                obj.put("attachments", DataArray.fromCollection(retainedAttachments.stream()
-                        .map(id -> DataObject.empty()
-                            .put("id", id))
-                        .collect(Collectors.toList())));
-        }
-        if (messageReference != 0)
+        return DataTreeWriter.toData(this::writeJson);
+    }
+
+    protected void writeJson(JsonWriter writer)
+    {
+        new Snapshot().write(writer);
+    }
+
+    private static void writeArray(JsonWriter writer, String name, Collection<?> elements)
+    {
+        writer.name(name).beginArray();
+        if (elements != null)
         {
-            obj.put("message_reference", DataObject.empty()
-                .put("message_id", messageReference)
-                .put("channel_id", channel.getId())
-                .put("fail_if_not_exists", failOnInvalidReply));
+            for (Object element : elements)
+                writer.value(element);
         }
-        obj.put("tts", tts);
-        obj.put("allowed_mentions", allowedMentions);
-        return obj;
+        writer.endArray();
     }
 
     protected void checkFileAmount()
@@ -615,4 +632,71 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
         LOG.warn("Found unclosed resources in MessageAction instance, closing on finalization step!");
         clearResources();
     }
+
+    // Copy of the mutable state of the action, taken when the request body is created
+    private final class Snapshot
+    {
+        private final String content = MessageActionImpl.this.content.toString();
+        private final List<MessageEmbed> embeds = copy(MessageActionImpl.this.embeds);
+        private final List<ActionRow> components = copy(MessageActionImpl.this.components);
+        private final List<String> retainedAttachments = copy(MessageActionImpl.this.retainedAttachments);
+        private final DataObject allowedMentions = MessageActionImpl.this.allowedMentions.toData();
+        private final String nonce = MessageActionImpl.this.nonce;
+        private final boolean tts = MessageActionImpl.this.tts, override = MessageActionImpl.this.override;
+        private final boolean failOnInvalidReply = MessageActionImpl.this.failOnInvalidReply;
+        private final long messageReference = MessageActionImpl.this.messageReference;
+
+        private void write(JsonWriter writer)
+        {
+            writer.beginObject();
+            if (override)
+            {
+                writeArray(writer, "embeds", embeds);
+                writer.put("content", content.isEmpty() ? null : content);
+                writer.put("nonce", nonce);
+                writeArray(writer, "components", components);
+                writeAttachments(writer);
+            }
+            else
+            {
+                if (embeds != null)
+                    writeArray(writer, "embeds", embeds);
+                if (!content.isEmpty())
+                    writer.put("content", content);
+                if (nonce != null)
+                    writer.put("nonce", nonce);
+                if (components != null)
+                    writeArray(writer, "components", components);
+                if (retainedAttachments != null)
+                    writeAttachments(writer);
+            }
+            if (messageReference != 0)
+            {
+                writer.name("message_reference").beginObject()
+                    .put("message_id", messageReference)
+                    .put("channel_id", channel.getId())
+                    .put("fail_if_not_exists", failOnInvalidReply)
+                    .endObject();
+            }
+            writer.put("tts", tts);
+            writer.put("allowed_mentions", allowedMentions);
+            writer.endObject();
+        }
+
+        private void writeAttachments(JsonWriter writer)
+        {
+            writer.name("attachments").beginArray();
+            if (retainedAttachments != null)
+            {
+                for (String id : retainedAttachments)
+                    writer.beginObject().put("id", id).endObject();
+            }
+            writer.endArray();
+        }
+
+        private <T> List<T> copy(List<T> list)
+        {
+            return list == null ? null : new ArrayList<>(list);
+        }
+    }
 }
@@ -26,6 +26,7 @@ import net.dv8tion.jda.api.requests.Request;
 import net.dv8tion.jda.api.requests.Response;
 import net.dv8tion.jda.api.requests.restaction.WebhookMessageAction;
 import net.dv8tion.jda.api.utils.AttachmentOption;
+import net.dv8tion.jda.api.utils.MessageTemplate;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.requests.Requester;
@@ -39,6 +40,7 @@ import okhttp3.RequestBody;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -57,6 +59,8 @@ public class WebhookMessageActionImpl<T>
 
     private boolean ephemeral, tts;
     private String username, avatarUrl;
+    // Serialized content, embeds, components and tts of a MessageTemplate
+    private byte[] template;
 
     public WebhookMessageActionImpl(JDA api, MessageChannel channel, Route.CompiledRoute route, Function<DataObject, T> transformer)
     {
@@ -102,6 +106,15 @@ public class WebhookMessageActionImpl<T>
         return this;
     }
 
+    @Nonnull
+    @Override
+    public WebhookMessageActionImpl<T> applyTemplate(@Nonnull MessageTemplate template, @Nonnull Map<String, ?> values)
+    {
+        Checks.notNull(template, "Template");
+        this.template = template.render(values);
+        return this;
+    }
+
 //    @Nonnull
 //    @Override
 //    public WebhookMessageActionImpl<T> setUsername(@Nullable String name)
@@ -170,8 +183,11 @@ public class WebhookMessageActionImpl<T>
     private DataObject toData()
     {
         DataObject data = DataObject.empty();
-        data.put("content", content.toString());
-        data.put("tts", tts);
+        if (template == null)
+        {
+            data.put("content", content.toString());
+            data.put("tts", tts);
+        }
 
         if (username != null)
             data.put("username", username);
@@ -179,9 +195,9 @@ public class WebhookMessageActionImpl<T>
             data.put("avatar_url", avatarUrl);
         if (ephemeral)
             data.put("flags", 64);
-        if (!embeds.isEmpty())
+        if (template == null && !embeds.isEmpty())
             data.put("embeds", DataArray.fromCollection(embeds));
-        if (!components.isEmpty())
+        if (template == null && !components.isEmpty())
             data.put("components", DataArray.fromCollection(components));
         data.put("allowed_mentions", allowedMentions);
         return data;
@@ -191,8 +207,9 @@ public class WebhookMessageActionImpl<T>
     protected RequestBody finalizeData()
     {
         DataObject data = toData();
+        byte[] json = template == null ? null : MessageActionImpl.withFields(template, data);
         if (files.isEmpty())
-            return getRequestBody(data);
+            return json == null ? getRequestBody(data) : RequestBody.create(Requester.MEDIA_TYPE_JSON, json);
 
         MultipartBody.Builder body = new MultipartBody.Builder().setType(MultipartBody.FORM);
         int i = 0;
@@ -202,7 +219,7 @@ public class WebhookMessageActionImpl<T>
             body.addFormDataPart("files[" + (i++) + "]", file.getKey(), stream);
         }
 
-        body.addFormDataPart("payload_json", data.toString());
+        body.addFormDataPart("payload_json", json == null ? data.toString() : new String(json, StandardCharsets.UTF_8));
         files.clear();
         return body.build();
     }
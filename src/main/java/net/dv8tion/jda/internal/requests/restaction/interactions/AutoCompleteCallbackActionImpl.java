@@ -95,6 +95,12 @@ public class AutoCompleteCallbackActionImpl extends InteractionCallbackImpl<Void
         return this;
     }
 
+    @Override
+    protected Void handleWebhookResponse()
+    {
+        return null;
+    }
+
     @Override
     protected DataObject toData()
     {
@@ -42,6 +42,19 @@ public abstract class DeferrableCallbackActionImpl extends InteractionCallbackIm
         request.onSuccess(hook);
     }
 
+    @Override
+    protected InteractionHook handleWebhookResponse()
+    {
+        hook.ready();
+        return hook;
+    }
+
+    @Override
+    protected void handleWebhookFailure(Throwable error)
+    {
+        hook.fail(new InteractionFailureException());
+    }
+
     @Override
     public void handleResponse(Response response, Request<InteractionHook> request)
     {
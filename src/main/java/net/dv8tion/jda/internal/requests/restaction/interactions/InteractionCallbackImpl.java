@@ -20,6 +20,8 @@ import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.restaction.interactions.InteractionCallbackAction;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.interactions.InteractionImpl;
+import net.dv8tion.jda.internal.interactions.InteractionResponder;
+import net.dv8tion.jda.internal.requests.CallbackContext;
 import net.dv8tion.jda.internal.requests.Requester;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
@@ -32,6 +34,7 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 public abstract class InteractionCallbackImpl<T> extends RestActionImpl<T> implements InteractionCallbackAction<T>
@@ -47,6 +50,11 @@ public abstract class InteractionCallbackImpl<T> extends RestActionImpl<T> imple
 
     protected abstract DataObject toData();
 
+    // Called once the callback was sent in the response of an interaction webhook, returns the result of this action
+    protected abstract T handleWebhookResponse();
+
+    protected void handleWebhookFailure(Throwable error) {}
+
     @Override
     protected RequestBody finalizeData()
     {
@@ -91,7 +99,28 @@ public abstract class InteractionCallbackImpl<T> extends RestActionImpl<T> imple
             return;
         }
 
-        super.queue(success, failure);
+        InteractionResponder responder = claimResponder();
+        if (responder == null)
+        {
+            super.queue(success, failure);
+            return;
+        }
+
+        Consumer<? super T> onSuccess = success != null ? success : RestAction.getDefaultSuccess();
+        Consumer<? super Throwable> onFailure = failure != null ? failure : RestAction.getDefaultFailure();
+        respond(responder).whenCompleteAsync((result, error) -> {
+            try (CallbackContext __ = CallbackContext.getInstance())
+            {
+                if (error != null)
+                    onFailure.accept(error);
+                else
+                    onSuccess.accept(result);
+            }
+            catch (Throwable t)
+            {
+                LOG.error("Encountered error while processing callback consumer", t);
+            }
+        }, api.getCallbackPool());
     }
 
     @Nonnull
@@ -106,6 +135,32 @@ public abstract class InteractionCallbackImpl<T> extends RestActionImpl<T> imple
             return future;
         }
 
-        return super.submit(shouldQueue);
+        InteractionResponder responder = claimResponder();
+        return responder == null ? super.submit(shouldQueue) : respond(responder);
+    }
+
+    // The http response of a webhook interaction can only be used if this action would not be cancelled by its checks
+    private InteractionResponder claimResponder()
+    {
+        BooleanSupplier check = getCheck();
+        if (check != null && !check.getAsBoolean())
+            return null;
+        return interaction.claimResponder();
+    }
+
+    private CompletableFuture<T> respond(InteractionResponder responder)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try
+        {
+            responder.respond(finalizeData());
+            future.complete(handleWebhookResponse());
+        }
+        catch (Throwable e)
+        {
+            handleWebhookFailure(e);
+            future.completeExceptionally(e);
+        }
+        return future;
     }
 }
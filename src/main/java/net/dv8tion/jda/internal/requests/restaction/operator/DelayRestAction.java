@@ -18,6 +18,7 @@ package net.dv8tion.jda.internal.requests.restaction.operator;
 
 import net.dv8tion.jda.api.exceptions.RateLimitedException;
 import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.internal.JDAImpl;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -28,6 +29,9 @@ import java.util.function.Consumer;
 
 public class DelayRestAction<T> extends RestActionOperator<T, T>
 {
+    // Shorter delays would lose too much precision on the timeout timer
+    private static final long MIN_TIMER_DELAY = TimeUnit.SECONDS.toMillis(1);
+
     private final TimeUnit unit;
     private final long delay;
     private final ScheduledExecutorService scheduler;
@@ -37,17 +41,13 @@ public class DelayRestAction<T> extends RestActionOperator<T, T>
         super(action);
         this.unit = unit;
         this.delay = delay;
-        this.scheduler = scheduler == null ? action.getJDA().getRateLimitPool() : scheduler;
+        this.scheduler = scheduler;
     }
 
     @Override
     public void queue(@Nullable Consumer<? super T> success, @Nullable Consumer<? super Throwable> failure)
     {
-        action.queue((result) ->
-            scheduler.schedule(() ->
-                doSuccess(success, result),
-            delay, unit),
-        contextWrap(failure));
+        action.queue((result) -> schedule(() -> doSuccess(success, result)), contextWrap(failure));
     }
 
     @Override
@@ -65,6 +65,17 @@ public class DelayRestAction<T> extends RestActionOperator<T, T>
         }
     }
 
+    private void schedule(Runnable task)
+    {
+        JDAImpl api = (JDAImpl) action.getJDA();
+        if (scheduler != null)
+            scheduler.schedule(task, delay, unit);
+        else if (unit.toMillis(delay) >= MIN_TIMER_DELAY)
+            api.getTimeoutTimer().schedule(() -> api.getCallbackPool().execute(task), delay, unit);
+        else
+            api.getRateLimitPool().schedule(task, delay, unit);
+    }
+
     @Nonnull
     @Override
     public CompletableFuture<T> submit(boolean shouldQueue)
@@ -151,8 +151,6 @@ public class AuditLogPaginationActionImpl
                 DataObject webhook = webhookMap.get(entry.getLong("target_id", 0));
                 AuditLogEntry result = builder.createAuditLogEntry((GuildImpl) guild, entry, user, webhook);
                 list.add(result);
-                if (this.useCache)
-                    this.cached.add(result);
                 this.last = result;
                 this.lastKey = last.getIdLong();
             }
@@ -162,6 +160,8 @@ public class AuditLogPaginationActionImpl
             }
         }
 
+        if (this.useCache)
+            this.cached.addAll(list);
         request.onSuccess(list);
     }
 
@@ -91,8 +91,6 @@ public class MessagePaginationActionImpl
             {
                 Message msg = builder.createMessage(array.getObject(i), channel, false);
                 messages.add(msg);
-                if (useCache)
-                    cached.add(msg);
                 last = msg;
                 lastKey = last.getIdLong();
             }
@@ -109,6 +107,8 @@ public class MessagePaginationActionImpl
             }
         }
 
+        if (useCache)
+            cached.addAll(messages);
         request.onSuccess(messages);
     }
 
@@ -321,6 +321,23 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
         }
     }
 
+    @Nonnull
+    @Override
+    public PrefetchingIterator<T> prefetchingIterator(int bufferedPages)
+    {
+        Checks.positive(bufferedPages, "Buffered pages");
+        return new PrefetchingPaginator<>(this, bufferedPages).iterator();
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<?> forEachPrefetchedAsync(int bufferedPages, @Nonnull final Procedure<? super T> action)
+    {
+        Checks.positive(bufferedPages, "Buffered pages");
+        Checks.notNull(action, "Procedure");
+        return new PrefetchingPaginator<>(this, bufferedPages).forEachAsync(action);
+    }
+
     protected List<T> getRemainingCache()
     {
         int index = getIteratorIndex();
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests.restaction.pagination;
+
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.restaction.pagination.PaginationAction;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.api.utils.Procedure;
+import net.dv8tion.jda.internal.requests.CallbackContext;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads the pages of a {@link PaginationActionImpl} ahead of the consumer.
+ * <br>At most one page request is in flight at a time, since every request continues after the last key of the previous page.
+ */
+public class PrefetchingPaginator<T>
+{
+    private static final Logger LOG = JDALogger.getLog(PaginationAction.class);
+
+    private final PaginationActionImpl<T, ?> action;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Deque<List<T>> pages = new ArrayDeque<>();
+    private Runnable listener;
+    private Throwable error;
+    private boolean fetching, end, closed;
+
+    public PrefetchingPaginator(PaginationActionImpl<T, ?> action, int capacity)
+    {
+        this.action = action;
+        this.capacity = capacity;
+        action.cache(false);
+        if (action.getMaxLimit() > 0)
+            action.limit(action.getMaxLimit());
+    }
+
+    public PaginationAction.PrefetchingIterator<T> iterator()
+    {
+        MiscUtil.locked(lock, this::fetchIfNeeded);
+        return new PrefetchingIteratorImpl();
+    }
+
+    public CompletableFuture<?> forEachAsync(Procedure<? super T> procedure)
+    {
+        CompletableFuture<?> task = new CompletableFuture<>();
+        AtomicBoolean draining = new AtomicBoolean();
+        Runnable drain = () -> {
+            // Pages might arrive while another thread is draining, check again after releasing the flag
+            while (!task.isDone() && hasAvailable() && draining.compareAndSet(false, true))
+            {
+                try
+                {
+                    drain(task, procedure);
+                }
+                catch (Throwable e)
+                {
+                    task.completeExceptionally(e);
+                    close();
+                    if (e instanceof Error)
+                        throw (Error) e;
+                }
+                finally
+                {
+                    draining.set(false);
+                }
+            }
+        };
+        task.whenComplete((v, e) -> close());
+        MiscUtil.locked(lock, () -> {
+            listener = drain;
+            fetchIfNeeded();
+        });
+        return task;
+    }
+
+    public void close()
+    {
+        MiscUtil.locked(lock, () -> {
+            closed = true;
+            pages.clear();
+            changed.signalAll();
+        });
+    }
+
+    private void drain(CompletableFuture<?> task, Procedure<? super T> procedure)
+    {
+        List<T> page;
+        while ((page = poll()) != null)
+        {
+            for (T it : page)
+            {
+                if (task.isDone())
+                    return;
+                if (!procedure.execute(it))
+                {
+                    task.complete(null);
+                    return;
+                }
+            }
+        }
+
+        Throwable failure = MiscUtil.locked(lock, () -> error);
+        if (failure != null)
+            task.completeExceptionally(failure);
+        else if (MiscUtil.locked(lock, () -> end))
+            task.complete(null);
+    }
+
+    private boolean hasAvailable()
+    {
+        return MiscUtil.locked(lock, () -> !pages.isEmpty() || end || error != null);
+    }
+
+    private List<T> poll()
+    {
+        return MiscUtil.locked(lock, () -> {
+            List<T> page = pages.poll();
+            fetchIfNeeded();
+            return page;
+        });
+    }
+
+    private List<T> take()
+    {
+        if (CallbackContext.isCallbackContext())
+            throw new IllegalStateException("Preventing use of blocking iteration in callback threads! This operation can be a deadlock cause");
+        lock.lock();
+        try
+        {
+            while (pages.isEmpty() && !end && !closed && error == null)
+                changed.awaitUninterruptibly();
+            List<T> page = pages.poll();
+            if (page != null)
+            {
+                fetchIfNeeded();
+                return page;
+            }
+            if (error != null && !closed)
+            {
+                if (error instanceof ErrorResponseException)
+                    throw (ErrorResponseException) error.fillInStackTrace();
+                if (error instanceof RuntimeException)
+                    throw (RuntimeException) error;
+                if (error instanceof Error)
+                    throw (Error) error;
+                throw new CompletionException(error);
+            }
+            return null;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Must hold the lock
+    private void fetchIfNeeded()
+    {
+        if (fetching || end || closed || error != null || pages.size() >= capacity)
+            return;
+        fetching = true;
+        action.submit().whenComplete(this::onPage);
+    }
+
+    private void onPage(List<T> page, Throwable failure)
+    {
+        Runnable listener = MiscUtil.locked(lock, () -> {
+            fetching = false;
+            if (closed)
+                return null;
+            if (failure != null)
+            {
+                LOG.debug("Failed to load page of {}", action.getClass().getSimpleName(), failure);
+                error = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            }
+            else if (page.isEmpty())
+            {
+                end = true;
+            }
+            else
+            {
+                pages.add(page);
+                fetchIfNeeded();
+            }
+            changed.signalAll();
+            return this.listener;
+        });
+        if (listener != null)
+            listener.run();
+    }
+
+    private class PrefetchingIteratorImpl implements PaginationAction.PrefetchingIterator<T>
+    {
+        private Iterator<T> current = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!current.hasNext())
+            {
+                List<T> page = take();
+                if (page == null)
+                    return false;
+                current = page.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException("Reached End of pagination task!");
+            return current.next();
+        }
+
+        @Override
+        public void close()
+        {
+            current = Collections.emptyIterator();
+            PrefetchingPaginator.this.close();
+        }
+    }
+}
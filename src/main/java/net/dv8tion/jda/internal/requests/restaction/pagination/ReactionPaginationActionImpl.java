@@ -112,8 +112,6 @@ public class ReactionPaginationActionImpl
             {
                 final User user = builder.createUser(array.getObject(i));
                 users.add(user);
-                if (useCache)
-                    cached.add(user);
                 last = user;
                 lastKey = last.getIdLong();
             }
@@ -123,6 +121,8 @@ public class ReactionPaginationActionImpl
             }
         }
 
+        if (useCache)
+            cached.addAll(users);
         request.onSuccess(users);
     }
 
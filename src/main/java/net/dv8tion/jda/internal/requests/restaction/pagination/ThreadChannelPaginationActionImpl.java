@@ -93,8 +93,6 @@ public class ThreadChannelPaginationActionImpl extends PaginationActionImpl<Thre
                 ThreadChannel thread = builder.createThreadChannel(threadObj, getGuild().getIdLong());
                 list.add(thread);
 
-                if (this.useCache)
-                    this.cached.add(thread);
                 this.last = thread;
                 this.lastKey = last.getIdLong();
             }
@@ -104,6 +102,8 @@ public class ThreadChannelPaginationActionImpl extends PaginationActionImpl<Thre
             }
         }
 
+        if (this.useCache)
+            this.cached.addAll(list);
         request.onSuccess(list);
     }
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 64-bit structural hash of raw payload data, used to detect unchanged payloads without parsing them.
+ * <br>Maps are hashed independently of their key order, lists depend on their order.
+ *
+ * <p>Values of unknown types are hashed by identity, which means the payload is never considered unchanged.
+ * A fingerprint is never {@code 0}, which can be used as the initial value.
+ */
+public final class DataFingerprint
+{
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private DataFingerprint() {}
+
+    public static long of(DataArray array)
+    {
+        return nonZero(hash(array.toList()));
+    }
+
+    public static long of(DataObject object)
+    {
+        return nonZero(hash(object.toMap()));
+    }
+
+    private static long hash(Object value)
+    {
+        if (value == null)
+            return SEED;
+        if (value instanceof CharSequence)
+            return hashString((CharSequence) value);
+        if (value instanceof Double || value instanceof Float)
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()));
+        if (value instanceof Number)
+            return mix(((Number) value).longValue());
+        if (value instanceof Boolean)
+            return (Boolean) value ? mix(SEED + 1) : mix(SEED + 2);
+        if (value instanceof Map)
+        {
+            long hash = mix(SEED + 3);
+            // Sum is independent of the iteration order
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                hash += mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+            return hash;
+        }
+        if (value instanceof List)
+        {
+            long hash = mix(SEED + 4);
+            for (Object element : (List<?>) value)
+                hash = mix(hash * 31 + hash(element));
+            return hash;
+        }
+        if (value instanceof DataObject)
+            return hash(((DataObject) value).toMap());
+        if (value instanceof DataArray)
+            return hash(((DataArray) value).toList());
+        return mix(System.identityHashCode(value));
+    }
+
+    private static long hashString(CharSequence value)
+    {
+        long hash = SEED ^ value.length();
+        for (int i = 0; i < value.length(); i++)
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        return mix(hash);
+    }
+
+    // Finalizer of MurmurHash3
+    private static long mix(long hash)
+    {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1AC00F3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long nonZero(long hash)
+    {
+        return hash == 0 ? 1 : hash;
+    }
+}
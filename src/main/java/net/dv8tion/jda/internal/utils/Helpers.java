@@ -18,7 +18,6 @@ package net.dv8tion.jda.internal.utils;
 
 import javax.annotation.Nullable;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.function.Consumer;
@@ -47,8 +46,7 @@ public final class Helpers
 
     public static long toTimestamp(String iso8601String)
     {
-        TemporalAccessor joinedAt = DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(iso8601String);
-        return Instant.from(joinedAt).toEpochMilli();
+        return ParsingUtil.parseTimestamp(iso8601String);
     }
 
     public static OffsetDateTime toOffsetDateTime(@Nullable TemporalAccessor temporal)
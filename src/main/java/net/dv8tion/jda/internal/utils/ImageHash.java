@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+/**
+ * Binary representation of CDN image hashes such as avatars.
+ * <br>Discord uses 32 lowercase hex characters, optionally prefixed with {@code a_} for animated images.
+ * These can be stored in two longs instead of a 32 character string.
+ * Hashes with a different format are kept as {@link #RAW} strings.
+ */
+public final class ImageHash
+{
+    public static final byte NONE = 0;
+    public static final byte STATIC = 1;
+    public static final byte ANIMATED = 2;
+    public static final byte RAW = 3;
+
+    private static final String ANIMATED_PREFIX = "a_";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ImageHash() {}
+
+    public static byte typeOf(String hash)
+    {
+        if (hash == null)
+            return NONE;
+        int start = hash.startsWith(ANIMATED_PREFIX) ? 2 : 0;
+        if (hash.length() - start != 32)
+            return RAW;
+        for (int i = start; i < hash.length(); i++)
+        {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f'))
+                return RAW;
+        }
+        return start == 0 ? STATIC : ANIMATED;
+    }
+
+    public static long high(String hash)
+    {
+        return parse(hash, hash.length() - 32);
+    }
+
+    public static long low(String hash)
+    {
+        return parse(hash, hash.length() - 16);
+    }
+
+    public static String toString(byte type, long high, long low)
+    {
+        if (type != STATIC && type != ANIMATED)
+            return null;
+        int start = type == ANIMATED ? 2 : 0;
+        char[] chars = new char[start + 32];
+        if (type == ANIMATED)
+        {
+            chars[0] = 'a';
+            chars[1] = '_';
+        }
+        write(chars, start, high);
+        write(chars, start + 16, low);
+        return new String(chars);
+    }
+
+    private static long parse(String hash, int offset)
+    {
+        long value = 0;
+        for (int i = 0; i < 16; i++)
+            value = value << 4 | Character.digit(hash.charAt(offset + i), 16);
+        return value;
+    }
+
+    private static void write(char[] chars, int offset, long value)
+    {
+        for (int i = 15; i >= 0; i--)
+        {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import net.dv8tion.jda.internal.utils.data.GeneratorJsonWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * Request body which serializes its JSON value when the request is written.
+ * <br>This skips the intermediate byte arrays of {@link net.dv8tion.jda.api.utils.data.DataObject#toJson()},
+ * at the cost of an unknown content length.
+ */
+public class JsonRequestBody extends RequestBody
+{
+    private final Object value;
+    private final MediaType type;
+
+    /**
+     * @param value
+     *        Any value supported by {@link net.dv8tion.jda.api.utils.data.JsonWriter#value(Object)}
+     * @param type
+     *        The content type
+     */
+    public JsonRequestBody(Object value, MediaType type)
+    {
+        this.value = value;
+        this.type = type;
+    }
+
+    @Nullable
+    @Override
+    public MediaType contentType()
+    {
+        return type;
+    }
+
+    @Override
+    public void writeTo(@Nonnull BufferedSink sink) throws IOException
+    {
+        GeneratorJsonWriter.write(value, sink.outputStream());
+    }
+}
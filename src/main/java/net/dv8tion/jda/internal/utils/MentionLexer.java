@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import net.dv8tion.jda.api.entities.Message;
+
+import java.util.Arrays;
+
+/**
+ * Tokenizes the user, role, channel, and emote mentions of a message in a single pass.
+ * <br>This matches the same text as the patterns of {@link Message.MentionType}, tokens are stored in parallel arrays.
+ */
+public class MentionLexer
+{
+    private static final Message.MentionType[] TYPES = Message.MentionType.values();
+    private static final MentionLexer EMPTY = new MentionLexer("", 0);
+
+    private final String content;
+    private long[] ids;
+    private int[] starts;
+    private int[] ends;
+    private byte[] types;
+    private int size;
+
+    private MentionLexer(String content, int capacity)
+    {
+        this.content = content;
+        this.ids = new long[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.types = new byte[capacity];
+    }
+
+    public static MentionLexer tokenize(String content)
+    {
+        int next = content.indexOf('<');
+        if (next < 0)
+            return EMPTY;
+        MentionLexer lexer = new MentionLexer(content, 4);
+        while (next >= 0)
+        {
+            int end = lexer.readToken(next);
+            next = content.indexOf('<', end > 0 ? end : next + 1);
+        }
+        return lexer;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public Message.MentionType getType(int index)
+    {
+        return TYPES[types[index]];
+    }
+
+    public long getId(int index)
+    {
+        return ids[index];
+    }
+
+    public int getStart(int index)
+    {
+        return starts[index];
+    }
+
+    public int getEnd(int index)
+    {
+        return ends[index];
+    }
+
+    public boolean isAnimated(int index)
+    {
+        return content.charAt(starts[index] + 1) == 'a';
+    }
+
+    public String getName(int index)
+    {
+        // <:name:id> or <a:name:id>
+        int nameStart = starts[index] + (isAnimated(index) ? 3 : 2);
+        return content.substring(nameStart, content.lastIndexOf(':', ends[index] - 1));
+    }
+
+    // Returns the end of the token or -1 if there is no token at this position
+    private int readToken(int start)
+    {
+        int length = content.length();
+        int i = start + 1;
+        if (i >= length)
+            return -1;
+        Message.MentionType type;
+        switch (content.charAt(i))
+        {
+        case '@':
+            i++;
+            if (i < length && content.charAt(i) == '&')
+            {
+                type = Message.MentionType.ROLE;
+                i++;
+            }
+            else
+            {
+                type = Message.MentionType.USER;
+                if (i < length && content.charAt(i) == '!')
+                    i++;
+            }
+            break;
+        case '#':
+            type = Message.MentionType.CHANNEL;
+            i++;
+            break;
+        case 'a':
+            if (i + 1 >= length || content.charAt(i + 1) != ':')
+                return -1;
+            i++;
+        case ':':
+            type = Message.MentionType.EMOTE;
+            i = readName(i + 1);
+            if (i < 0)
+                return -1;
+            break;
+        default:
+            return -1;
+        }
+
+        int idStart = i;
+        while (i < length && isDigit(content.charAt(i)))
+            i++;
+        if (i == idStart || i >= length || content.charAt(i) != '>')
+            return -1;
+        long id;
+        try
+        {
+            id = parseId(idStart, i);
+        }
+        catch (NumberFormatException ignored)
+        {
+            return i + 1; // invalid snowflakes are skipped like they are by the patterns
+        }
+        add(type, id, start, i + 1);
+        return i + 1;
+    }
+
+    // Reads [a-zA-Z0-9_]+ followed by a colon and returns the index after the colon
+    private int readName(int start)
+    {
+        int i = start;
+        int length = content.length();
+        while (i < length && isNameChar(content.charAt(i)))
+            i++;
+        if (i == start || i >= length || content.charAt(i) != ':')
+            return -1;
+        return i + 1;
+    }
+
+    private long parseId(int start, int end)
+    {
+        // 18 digits always fit into a signed long, longer ids have to be checked for overflow
+        if (end - start > 18)
+            return Long.parseUnsignedLong(content.substring(start, end));
+        long id = 0;
+        for (int i = start; i < end; i++)
+            id = id * 10 + (content.charAt(i) - '0');
+        return id;
+    }
+
+    private void add(Message.MentionType type, long id, int start, int end)
+    {
+        if (size == ids.length)
+        {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        ids[size] = id;
+        starts[size] = start;
+        ends[size] = end;
+        types[size] = (byte) type.ordinal();
+        size++;
+    }
+
+    private static boolean isDigit(char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNameChar(char c)
+    {
+        return isDigit(c) || c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
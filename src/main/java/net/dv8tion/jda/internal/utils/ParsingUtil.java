@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Allocation-free parsers for the fixed formats used by the Discord API.
+ * <br>Input which does not match the expected format is passed to the equivalent JDK parser,
+ * which produces the same results and exceptions as before.
+ */
+public final class ParsingUtil
+{
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long INVALID = Long.MIN_VALUE;
+    // Epoch nanoseconds fit into a long between 1677 and 2262
+    private static final int MIN_YEAR = 1678;
+    private static final int MAX_YEAR = 2261;
+
+    private ParsingUtil() {}
+
+    /**
+     * Parses an unsigned decimal snowflake, like {@link Long#parseUnsignedLong(String)}.
+     *
+     * @param  input
+     *         The snowflake string
+     *
+     * @throws NumberFormatException
+     *         If the input is not a valid unsigned long
+     *
+     * @return The snowflake
+     */
+    public static long parseSnowflake(String input)
+    {
+        int length = input.length();
+        // Up to 19 digits always fit into 64 bits
+        if (length == 0 || length > 19)
+            return Long.parseUnsignedLong(input);
+        long value = 0;
+        for (int i = 0; i < length; i++)
+        {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return Long.parseUnsignedLong(input); // throws
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp with offset, like {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+     *
+     * @param  input
+     *         The timestamp, for instance {@code 2021-08-18T12:34:56.789000+00:00}
+     *
+     * @throws java.time.format.DateTimeParseException
+     *         If the input is not a valid timestamp
+     *
+     * @return The epoch milliseconds
+     */
+    public static long parseTimestamp(String input)
+    {
+        long nanos = parseEpochNanos(input, false);
+        if (nanos == INVALID)
+        {
+            TemporalAccessor temporal = DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(input);
+            return Instant.from(temporal).toEpochMilli();
+        }
+        return Math.floorDiv(nanos, NANOS_PER_MILLI);
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp with offset, like {@link OffsetDateTime#parse(CharSequence)}.
+     *
+     * @param  input
+     *         The timestamp, for instance {@code 2021-08-18T12:34:56.789000+00:00}
+     *
+     * @throws java.time.format.DateTimeParseException
+     *         If the input is not a valid timestamp
+     *
+     * @return The OffsetDateTime
+     */
+    public static OffsetDateTime parseOffsetDateTime(String input)
+    {
+        // Only UTC is handled here, since other offsets have to be retained
+        long nanos = parseEpochNanos(input, true);
+        if (nanos == INVALID)
+            return OffsetDateTime.parse(input);
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND));
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    // Returns INVALID if the input does not match yyyy-MM-ddTHH:mm:ss[.S{0,9}](Z|+HH:mm|-HH:mm)
+    private static long parseEpochNanos(String input, boolean utcOnly)
+    {
+        int length = input.length();
+        if (length < 20)
+            return INVALID;
+        if (input.charAt(4) != '-' || input.charAt(7) != '-' || (input.charAt(10) != 'T' && input.charAt(10) != 't')
+                || input.charAt(13) != ':' || input.charAt(16) != ':')
+            return INVALID;
+
+        int year = digits(input, 0, 4);
+        int month = digits(input, 5, 2);
+        int day = digits(input, 8, 2);
+        int hour = digits(input, 11, 2);
+        int minute = digits(input, 14, 2);
+        int second = digits(input, 17, 2);
+        if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59)
+            return INVALID;
+
+        int index = 19;
+        long fraction = 0;
+        if (input.charAt(index) == '.')
+        {
+            int start = ++index;
+            while (index < length && index - start < 9)
+            {
+                int digit = input.charAt(index) - '0';
+                if (digit < 0 || digit > 9)
+                    break;
+                fraction = fraction * 10 + digit;
+                index++;
+            }
+            // The JDK also accepts a decimal point without digits
+            for (int i = index - start; i < 9; i++)
+                fraction *= 10;
+        }
+
+        if (index >= length)
+            return INVALID;
+        int offsetSeconds;
+        char sign = input.charAt(index);
+        if (sign == 'Z' || sign == 'z')
+        {
+            if (index + 1 != length)
+                return INVALID;
+            offsetSeconds = 0;
+        }
+        else if (sign == '+' || sign == '-')
+        {
+            if (index + 6 != length || input.charAt(index + 3) != ':')
+                return INVALID;
+            int offsetHours = digits(input, index + 1, 2);
+            int offsetMinutes = digits(input, index + 4, 2);
+            if (offsetHours < 0 || offsetMinutes < 0 || offsetMinutes > 59 || offsetHours * 60 + offsetMinutes > 18 * 60)
+                return INVALID;
+            offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+            if (sign == '-')
+                offsetSeconds = -offsetSeconds;
+            if (utcOnly && offsetSeconds != 0)
+                return INVALID;
+        }
+        else
+        {
+            return INVALID;
+        }
+
+        long epochSecond = epochDay(year, month, day) * 86400 + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return epochSecond * NANOS_PER_SECOND + fraction;
+    }
+
+    // Returns -1 if any character is not a digit
+    private static int digits(String input, int start, int count)
+    {
+        int value = 0;
+        for (int i = start; i < start + count; i++)
+        {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month)
+    {
+        switch (month)
+        {
+        case 2:
+            boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    // Days since 1970-01-01 in the proleptic gregorian calendar
+    private static long epochDay(int year, int month, int day)
+    {
+        // Shift the year to start in March, so the leap day is the last day of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+/**
+ * Lossy fixed-size string table used to deduplicate strings parsed from gateway payloads.
+ * <br>Each slot keeps the last string that hashed to it. Collisions simply replace the slot,
+ * so the table never grows. The slots are strong references, a string stays reachable until its slot is reused.
+ *
+ * <p>This is shared by all sessions in the JVM, since the same users are seen by many shards.
+ * Unsynchronized access is fine because strings are immutable and reference writes are atomic.
+ */
+public final class StringInterner
+{
+    private static final int SIZE = 1 << 16;
+    private static final int MAX_LENGTH = 64;
+
+    private StringInterner() {}
+
+    public static String intern(String value)
+    {
+        if (value == null || value.length() > MAX_LENGTH)
+            return value;
+        String[] table = Table.TABLE;
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+        String cached = table[index];
+        if (value.equals(cached))
+            return cached;
+        table[index] = value;
+        return value;
+    }
+
+    // Lazy holder, this is only allocated when deduplication is enabled
+    private static final class Table
+    {
+        private static final String[] TABLE = new String[SIZE];
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import net.dv8tion.jda.api.exceptions.HttpException;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.internal.requests.FunctionalCallback;
+import net.dv8tion.jda.internal.requests.Requester;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache for CDN resources.
+ *
+ * <p>Contents are stored by their SHA-256 hash in {@code objects/}, so identical files behind different urls are stored once.
+ * Each url has a small entry file in {@code entries/} with the content hash and the validators of the response.
+ * The entries are evicted in LRU order once the stored objects exceed the size limit.
+ */
+public class CdnCacheStore
+{
+    private static final Logger LOG = JDALogger.getLog(CdnCacheStore.class);
+
+    private final Path directory;
+    private final Path objects;
+    private final Path entries;
+    private final long maxSize;
+    private final long revalidateAfter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access ordered, the first entry is the least recently used
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> references = new HashMap<>();
+    private final Map<String, Long> objectSizes = new HashMap<>();
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private long size;
+
+    public CdnCacheStore(Path directory, long maxSize, long revalidateAfter) throws IOException
+    {
+        this.directory = directory;
+        this.objects = directory.resolve("objects");
+        this.entries = directory.resolve("entries");
+        this.maxSize = maxSize;
+        this.revalidateAfter = revalidateAfter;
+        Files.createDirectories(objects);
+        Files.createDirectories(entries);
+        load();
+    }
+
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    public long getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getRevalidateAfter()
+    {
+        return revalidateAfter;
+    }
+
+    public long getSize()
+    {
+        return MiscUtil.locked(lock, () -> size);
+    }
+
+    public int getEntryCount()
+    {
+        return MiscUtil.locked(lock, index::size);
+    }
+
+    public CompletableFuture<InputStream> retrieve(OkHttpClient httpClient, String url)
+    {
+        Entry cached = MiscUtil.locked(lock, () -> index.get(url));
+        if (cached != null && System.currentTimeMillis() - cached.validatedAt < revalidateAfter)
+        {
+            InputStream stream = open(cached);
+            if (stream != null)
+                return CompletableFuture.completedFuture(stream);
+        }
+
+        // Concurrent requests for the same url share one revalidation
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> pending = inFlight.computeIfAbsent(url, k -> created);
+        if (pending == created)
+        {
+            // The future can complete synchronously, so it must be in the map before the cleanup is attached
+            created.whenComplete((entry, error) -> inFlight.remove(url, created));
+            fetch(httpClient, url, cached, created);
+        }
+
+        return pending.thenCompose(entry -> {
+            InputStream stream = entry.temporary == null ? open(entry) : entry.temporary.getAndSet(null);
+            if (stream != null)
+                return CompletableFuture.completedFuture(stream);
+            // Uncached responses can only be read once and cached objects can be evicted concurrently,
+            // so this caller needs its own request
+            CompletableFuture<Entry> retry = new CompletableFuture<>();
+            fetch(httpClient, url, null, retry);
+            return retry.thenApply(this::toStream);
+        });
+    }
+
+    private InputStream toStream(Entry entry)
+    {
+        if (entry.temporary != null)
+            return entry.temporary.getAndSet(null);
+        InputStream stream = open(entry);
+        if (stream == null)
+            throw new UncheckedIOException(new FileNotFoundException("Cached object was evicted concurrently: " + entry.url));
+        return stream;
+    }
+
+    public void invalidate(String url)
+    {
+        MiscUtil.locked(lock, () -> {
+            Entry entry = index.remove(url);
+            if (entry != null)
+                release(entry);
+        });
+    }
+
+    public void clear()
+    {
+        MiscUtil.locked(lock, () -> {
+            for (Entry entry : new ArrayList<>(index.values()))
+                release(entry);
+            index.clear();
+        });
+    }
+
+    // -- Network --
+
+    private void fetch(OkHttpClient httpClient, String url, Entry cached, CompletableFuture<Entry> future)
+    {
+        Request.Builder builder = new Request.Builder()
+            .url(url)
+            .addHeader("user-agent", Requester.USER_AGENT);
+        if (cached != null && cached.etag != null)
+            builder.addHeader("if-none-match", cached.etag);
+        if (cached != null && cached.lastModified != null)
+            builder.addHeader("if-modified-since", cached.lastModified);
+
+        httpClient.newCall(builder.build()).enqueue(FunctionalCallback
+            .onFailure((call, e) -> future.completeExceptionally(new UncheckedIOException(e)))
+            .onSuccess((call, response) -> {
+                try (Response r = response)
+                {
+                    Entry entry = onResponse(url, cached, response);
+                    if (entry != null)
+                        future.complete(entry);
+                    else // The object was evicted while it was revalidated
+                        fetch(httpClient, url, null, future);
+                }
+                catch (IOException e)
+                {
+                    future.completeExceptionally(new UncheckedIOException(e));
+                }
+                catch (Throwable e)
+                {
+                    future.completeExceptionally(e);
+                }
+            }).build());
+    }
+
+    // Returns null if the response is not modified, but the cached object has been evicted in the meantime
+    private Entry onResponse(String url, Entry cached, Response response) throws IOException
+    {
+        long now = System.currentTimeMillis();
+        if (response.code() == 304 && cached != null)
+        {
+            Entry entry = new Entry(url, cached.hash, cached.etag, cached.lastModified, now);
+            return MiscUtil.locked(lock, () -> replace(entry)) ? entry : null;
+        }
+        if (!response.isSuccessful())
+            throw new HttpException(response.code() + ": " + response.message());
+
+        Path temp = Files.createTempFile(directory, "download", ".tmp");
+        String hash;
+        long length;
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(response.body().byteStream(), digest))
+            {
+                length = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            hash = hex(digest.digest());
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            Files.deleteIfExists(temp);
+            throw new IllegalStateException(e);
+        }
+        catch (IOException e)
+        {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Entry entry = new Entry(url, hash, response.header("etag"), response.header("last-modified"), now);
+        if (length > maxSize)
+        {
+            // Too large to be cached, the file is removed once the stream is closed
+            entry.temporary = new AtomicReference<>(Files.newInputStream(temp, StandardOpenOption.DELETE_ON_CLOSE));
+            return entry;
+        }
+
+        Path object = objects.resolve(hash);
+        lock.lock();
+        try
+        {
+            if (objectSizes.containsKey(hash))
+            {
+                Files.deleteIfExists(temp);
+            }
+            else
+            {
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING);
+                objectSizes.put(hash, length);
+                references.put(hash, 0);
+                size += length;
+            }
+            replace(entry);
+            evict(entry);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    // -- Index --
+
+    // Must hold the lock, returns false if the referenced object is gone
+    private boolean replace(Entry entry)
+    {
+        if (!references.containsKey(entry.hash))
+            return false;
+        references.merge(entry.hash, 1, Integer::sum);
+        Entry previous = index.put(entry.url, entry);
+        if (previous != null)
+            release(previous);
+        writeEntry(entry);
+        return true;
+    }
+
+    // Must hold the lock
+    private void evict(Entry keep)
+    {
+        Iterator<Entry> iterator = index.values().iterator();
+        while (size > maxSize && iterator.hasNext())
+        {
+            Entry eldest = iterator.next();
+            if (eldest == keep)
+                continue;
+            iterator.remove();
+            release(eldest);
+        }
+    }
+
+    // Must hold the lock, the entry must already be removed from the index
+    private void release(Entry entry)
+    {
+        deleteQuietly(entryFile(entry.url));
+        int remaining = references.merge(entry.hash, -1, Integer::sum);
+        if (remaining > 0)
+            return;
+        references.remove(entry.hash);
+        Long length = objectSizes.remove(entry.hash);
+        if (length != null)
+            size -= length;
+        deleteQuietly(objects.resolve(entry.hash));
+    }
+
+    private InputStream open(Entry entry)
+    {
+        try
+        {
+            InputStream stream = Files.newInputStream(objects.resolve(entry.hash));
+            // Reading counts as use for the LRU order
+            MiscUtil.locked(lock, () -> index.get(entry.url));
+            return stream;
+        }
+        catch (IOException e)
+        {
+            LOG.debug("Failed to open cached object for {}", entry.url, e);
+            invalidate(entry.url);
+            return null;
+        }
+    }
+
+    // -- Persistence --
+
+    private void load() throws IOException
+    {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(entries))
+        {
+            files = new ArrayList<>();
+            stream.forEach(files::add);
+        }
+        // Restore the LRU order approximately, entry files are rewritten on every validation
+        files.sort(Comparator.comparingLong(this::getModifiedTime));
+
+        for (Path file : files)
+        {
+            Entry entry = readEntry(file);
+            Path object = entry == null ? null : objects.resolve(entry.hash);
+            if (entry == null || !Files.isRegularFile(object))
+            {
+                deleteQuietly(file);
+                continue;
+            }
+            if (!objectSizes.containsKey(entry.hash))
+            {
+                long length = Files.size(object);
+                objectSizes.put(entry.hash, length);
+                size += length;
+            }
+            references.merge(entry.hash, 1, Integer::sum);
+            index.put(entry.url, entry);
+        }
+
+        // Remove objects without entries and leftovers of interrupted downloads
+        try (Stream<Path> stream = Files.list(objects))
+        {
+            stream.filter(object -> !objectSizes.containsKey(object.getFileName().toString()))
+                  .forEach(this::deleteQuietly);
+        }
+        try (Stream<Path> stream = Files.list(directory))
+        {
+            stream.filter(file -> file.getFileName().toString().endsWith(".tmp"))
+                  .forEach(this::deleteQuietly);
+        }
+        evict(null);
+    }
+
+    private Entry readEntry(Path file)
+    {
+        try
+        {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.size() != 5)
+                return null;
+            return new Entry(lines.get(0), lines.get(1), emptyToNull(lines.get(2)), emptyToNull(lines.get(3)), Long.parseLong(lines.get(4)));
+        }
+        catch (IOException | NumberFormatException e)
+        {
+            LOG.debug("Discarding invalid cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeEntry(Entry entry)
+    {
+        Path file = entryFile(entry.url);
+        List<String> lines = Arrays.asList(entry.url, entry.hash, nullToEmpty(entry.etag), nullToEmpty(entry.lastModified), Long.toString(entry.validatedAt));
+        try
+        {
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            // The entry is still usable in memory, it is only lost on restart
+            LOG.debug("Failed to persist cache entry for {}", entry.url, e);
+        }
+    }
+
+    private Path entryFile(String url)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return entries.resolve(hex(digest.digest(url.getBytes(StandardCharsets.UTF_8))));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long getModifiedTime(Path file)
+    {
+        try
+        {
+            return Files.getLastModifiedTime(file).toMillis();
+        }
+        catch (IOException e)
+        {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e)
+        {
+            LOG.debug("Failed to delete cache file {}", file, e);
+        }
+    }
+
+    private static String hex(byte[] bytes)
+    {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return builder.toString();
+    }
+
+    private static String emptyToNull(String value)
+    {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(String value)
+    {
+        return value == null ? "" : value;
+    }
+
+    private static class Entry
+    {
+        private final String url;
+        private final String hash;
+        private final String etag;
+        private final String lastModified;
+        private final long validatedAt;
+        // Set for responses which exceed the size limit and are not cached
+        private AtomicReference<InputStream> temporary;
+
+        private Entry(String url, String hash, String etag, String lastModified, long validatedAt)
+        {
+            this.url = url;
+            this.hash = hash;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
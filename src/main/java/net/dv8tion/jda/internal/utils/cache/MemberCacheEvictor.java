@@ -0,0 +1,334 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import net.dv8tion.jda.api.entities.GuildVoiceState;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.utils.MemberCacheEviction;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.EntityBuilder;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class MemberCacheEvictor
+{
+    private static final Logger LOG = JDALogger.getLog(MemberCacheEvictor.class);
+    private static final long MAX_SWEEP_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    private static final long MIN_SWEEP_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private final JDAImpl api;
+    private final MemberCacheEviction config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final OffHeapMemberStore offHeapStore;
+    private final Queue<Selection> pending = new ConcurrentLinkedQueue<>();
+    private final Set<Long> pendingGuilds = ConcurrentHashMap.newKeySet();
+    private final Queue<MemberImpl> restored = new ConcurrentLinkedQueue<>();
+    private Future<?> sweepHandle;
+
+    public MemberCacheEvictor(JDAImpl api, MemberCacheEviction config)
+    {
+        this.api = api;
+        this.config = config;
+        this.offHeapStore = config.getOffHeapCapacity() > 0 ? new OffHeapMemberStore(api, config.getOffHeapCapacity()) : null;
+    }
+
+    public MemberCacheEviction getConfig()
+    {
+        return config;
+    }
+
+    public void onCache(GuildImpl guild, MemberImpl member)
+    {
+        if (!config.isEnabled())
+            return;
+        // The heap instance is more recent than the record
+        if (offHeapStore != null)
+            offHeapStore.remove(guild.getIdLong(), member.getIdLong());
+        init();
+        int limit = config.getGuildLimit();
+        if (limit == Integer.MAX_VALUE)
+            return;
+        // Allow some slack to avoid sorting the cache on every insert
+        long excess = guild.getMembersView().size() - limit;
+        // Members can be cached by callbacks of other threads, so the excess is evicted by processPending as well
+        if (excess > Math.max(1, limit >> 4) && pendingGuilds.add(guild.getIdLong()))
+            pending.add(new Selection(guild, selectGuild(guild, member, excess), MemberCacheEviction.Reason.GUILD_LIMIT));
+    }
+
+    /**
+     * Loads a member which was evicted to off-heap memory.
+     * <br>The member is returned detached, it is added back to the cache by {@link #processPending()}.
+     *
+     * @return The member, or null if no record exists
+     */
+    public MemberImpl restore(GuildImpl guild, long userId)
+    {
+        if (offHeapStore == null)
+            return null;
+        MemberImpl member = offHeapStore.load(guild, userId);
+        if (member != null)
+            restored.add(member);
+        return member;
+    }
+
+    public void onMemberRemove(long guildId, long userId)
+    {
+        restored.removeIf(member -> member.getGuild().getIdLong() == guildId && member.getIdLong() == userId);
+        if (offHeapStore != null)
+            offHeapStore.remove(guildId, userId);
+    }
+
+    public void onGuildRemove(long guildId)
+    {
+        if (offHeapStore != null)
+            offHeapStore.removeGuild(guildId);
+    }
+
+    public void clear()
+    {
+        restored.clear();
+        pending.clear();
+        pendingGuilds.clear();
+        if (offHeapStore != null)
+            offHeapStore.clear();
+    }
+
+    public void onCacheMiss(GuildImpl guild, long userId)
+    {
+        MemberCacheEviction.Listener listener = config.getListener();
+        if (listener == null)
+            return;
+        try
+        {
+            listener.onCacheMiss(guild, userId);
+        }
+        catch (Exception e)
+        {
+            LOG.error("Uncaught exception from member cache eviction listener", e);
+        }
+    }
+
+    /**
+     * Caches the restored members and evicts the members selected by the last sweep and by guilds exceeding their limit.
+     * <br>This must be called on the websocket thread, since the socket handlers update members, users, and voice states
+     * without locking.
+     */
+    public void processPending()
+    {
+        MemberImpl member;
+        while ((member = restored.poll()) != null)
+            cacheRestored(member);
+
+        Selection selection;
+        while ((selection = pending.poll()) != null)
+        {
+            if (selection.guild != null)
+                pendingGuilds.remove(selection.guild.getIdLong());
+            List<MemberImpl> members = selection.validate();
+            evict(members, members.size(), selection.reason);
+        }
+    }
+
+    public void shutdown()
+    {
+        MiscUtil.locked(lock, () -> {
+            if (sweepHandle != null)
+                sweepHandle.cancel(false);
+        });
+    }
+
+    private void init()
+    {
+        if (config.getIdleTimeout() <= 0 && config.getGlobalLimit() == Long.MAX_VALUE)
+            return;
+        MiscUtil.locked(lock, () -> {
+            if (sweepHandle != null)
+                return;
+            long interval = MAX_SWEEP_INTERVAL;
+            if (config.getIdleTimeout() > 0)
+                interval = Math.max(MIN_SWEEP_INTERVAL, Math.min(interval, config.getIdleTimeout() / 4));
+            sweepHandle = api.getGatewayPool().scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    // Runs on the gateway pool and only selects members, they are evicted by processPending
+    private void sweep()
+    {
+        // The previous selection has not been processed yet, the shard is probably not receiving events
+        if (!pending.isEmpty())
+            return;
+        try
+        {
+            if (config.getIdleTimeout() > 0)
+                select(selectIdle(System.currentTimeMillis() - config.getIdleTimeout()), MemberCacheEviction.Reason.IDLE);
+            if (config.getGlobalLimit() != Long.MAX_VALUE)
+                select(selectGlobal(), MemberCacheEviction.Reason.GLOBAL_LIMIT);
+        }
+        catch (Exception e)
+        {
+            LOG.error("Failed to evict members from cache", e);
+        }
+    }
+
+    private void cacheRestored(MemberImpl member)
+    {
+        GuildImpl guild = member.getGuild();
+        // The guild was removed, or the member was cached again by a more recent update
+        if (api.getGuildsView().get(guild.getIdLong()) != guild || guild.getMembersView().get(member.getIdLong()) != null)
+            return;
+        User user = api.getUsersView().get(member.getIdLong());
+        if (user != null && user != member.getUser())
+        {
+            // The user was cached after the member was loaded, keep the record until the next lookup instead
+            offHeapStore.store(member);
+            return;
+        }
+        api.getEntityBuilder().updateMemberCache(member);
+    }
+
+    private void select(List<MemberImpl> members, MemberCacheEviction.Reason reason)
+    {
+        if (!members.isEmpty())
+            pending.add(new Selection(null, members, reason));
+    }
+
+    private List<MemberImpl> selectGuild(GuildImpl guild, MemberImpl inserted, long excess)
+    {
+        List<MemberImpl> candidates = new ArrayList<>();
+        collectCandidates(guild, candidates);
+        // The member which was just cached is still in use by the caller
+        candidates.remove(inserted);
+        candidates.sort(Comparator.comparingLong(MemberImpl::getLastActivity));
+        return candidates.subList(0, (int) Math.min(excess, candidates.size()));
+    }
+
+    private List<MemberImpl> selectIdle(long deadline)
+    {
+        List<MemberImpl> candidates = new ArrayList<>();
+        api.getGuildsView().forEach(guild -> collectCandidates((GuildImpl) guild, candidates));
+        candidates.removeIf(member -> member.getLastActivity() >= deadline);
+        return candidates;
+    }
+
+    private List<MemberImpl> selectGlobal()
+    {
+        long size = api.getGuildsView().stream().mapToLong(guild -> guild.getMemberCache().size()).sum();
+        long excess = size - config.getGlobalLimit();
+        if (excess <= 0)
+            return Collections.emptyList();
+        List<MemberImpl> candidates = new ArrayList<>();
+        api.getGuildsView().forEach(guild -> collectCandidates((GuildImpl) guild, candidates));
+        candidates.sort(Comparator.comparingLong(MemberImpl::getLastActivity));
+        return candidates.subList(0, (int) Math.min(excess, candidates.size()));
+    }
+
+    private void collectCandidates(GuildImpl guild, List<MemberImpl> candidates)
+    {
+        long selfId = api.getSelfUser().getIdLong();
+        guild.getMembersView().forEach(m -> {
+            MemberImpl member = (MemberImpl) m;
+            if (member.getIdLong() != selfId && member.getIdLong() != guild.getOwnerIdLong() && !isPinnedVoice(member))
+                candidates.add(member);
+        });
+    }
+
+    private boolean isPinnedVoice(MemberImpl member)
+    {
+        if (!config.isVoicePinning())
+            return false;
+        GuildVoiceState voiceState = member.getVoiceState();
+        return voiceState != null && voiceState.getChannel() != null;
+    }
+
+    private void evict(List<MemberImpl> candidates, long amount, MemberCacheEviction.Reason reason)
+    {
+        int count = (int) Math.min(amount, candidates.size());
+        if (count <= 0)
+            return;
+        EntityBuilder builder = api.getEntityBuilder();
+        Map<GuildImpl, Integer> evicted = new HashMap<>();
+        for (int i = 0; i < count; i++)
+        {
+            MemberImpl member = candidates.get(i);
+            GuildImpl guild = member.getGuild();
+            if (offHeapStore != null)
+                offHeapStore.store(member);
+            builder.updateMemberCache(member, true);
+            evicted.merge(guild, 1, Integer::sum);
+        }
+
+        LOG.debug("Evicted {} members from cache due to {}", count, reason);
+        MemberCacheEviction.Listener listener = config.getListener();
+        if (listener == null)
+            return;
+        evicted.forEach((guild, amountPerGuild) -> {
+            try
+            {
+                listener.onEviction(guild, reason, amountPerGuild);
+            }
+            catch (Exception e)
+            {
+                LOG.error("Uncaught exception from member cache eviction listener", e);
+            }
+        });
+    }
+
+    // Members selected by a sweep or for a guild, with their last activity at the time of selection
+    private final class Selection
+    {
+        private final GuildImpl guild;
+        private final List<MemberImpl> members;
+        private final long[] activity;
+        private final MemberCacheEviction.Reason reason;
+
+        private Selection(GuildImpl guild, List<MemberImpl> members, MemberCacheEviction.Reason reason)
+        {
+            this.guild = guild;
+            this.members = new ArrayList<>(members);
+            this.activity = new long[members.size()];
+            this.reason = reason;
+            for (int i = 0; i < activity.length; i++)
+                activity[i] = this.members.get(i).getLastActivity();
+        }
+
+        // Skips members which became active, joined a voice channel, or were removed since the sweep
+        private List<MemberImpl> validate()
+        {
+            List<MemberImpl> valid = new ArrayList<>(members.size());
+            for (int i = 0; i < activity.length; i++)
+            {
+                MemberImpl member = members.get(i);
+                GuildImpl guild = member.getGuild();
+                if (member.getLastActivity() != activity[i] || isPinnedVoice(member))
+                    continue;
+                if (api.getGuildsView().get(guild.getIdLong()) == guild && guild.getMembersView().get(member.getIdLong()) == member)
+                    valid.add(member);
+            }
+            return valid;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package net.dv8tion.jda.internal.utils.cache;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.utils.cache.MemberCacheView;
+import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.Nonnull;
@@ -35,7 +36,10 @@ public class MemberCacheViewImpl extends SnowflakeCacheViewImpl<Member> implemen
     @Override
     public Member getElementById(long id)
     {
-        return get(id);
+        Member member = get(id);
+        if (member != null)
+            ((MemberImpl) member).updateLastActivity();
+        return member;
     }
 
     @Nonnull
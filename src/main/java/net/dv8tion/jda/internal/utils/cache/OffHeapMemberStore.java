@@ -0,0 +1,403 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.utils.ImageHash;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Second tier for evicted members which keeps a compact record of each member in direct (off-heap) memory.
+ * <br>Records can be materialized into new {@link MemberImpl} instances without a REST request.
+ *
+ * <p>The memory is split into chunks which are written sequentially. Once the capacity is exhausted,
+ * the oldest chunk is dropped together with all records it contains.
+ *
+ * <p>Record layout:
+ * <pre>
+ *  0  userId          long
+ *  8  joinDate        long
+ * 16  boostDate       long
+ * 24  timeOutEnd      long
+ * 32  userFlags       int
+ * 36  discriminator   short
+ * 38  bits            byte   (see FLAG_*)
+ * 39  name length     byte
+ * 40  nick length     byte
+ * 41  (unused)        byte
+ * 42  role count      short
+ * 44  user avatar     16 bytes
+ * 60  member avatar   16 bytes
+ * 76  name (UTF-8), nickname (UTF-8), role ids (long[])
+ * </pre>
+ */
+public class OffHeapMemberStore
+{
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    private static final int HEADER_SIZE = 76;
+    private static final int FLAG_BOT             = 1;
+    private static final int FLAG_SYSTEM          = 1 << 1;
+    private static final int FLAG_PENDING         = 1 << 2;
+    private static final int FLAG_USER_AVATAR     = 1 << 3;
+    private static final int FLAG_USER_ANIMATED   = 1 << 4;
+    private static final int FLAG_MEMBER_AVATAR   = 1 << 5;
+    private static final int FLAG_MEMBER_ANIMATED = 1 << 6;
+    private static final int FLAG_NICKNAME        = 1 << 7;
+
+    private final JDAImpl api;
+    private final int maxChunks;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TLongObjectMap<TLongLongMap> index = new TLongObjectHashMap<>();
+    private final TIntObjectMap<Chunk> chunks = new TIntObjectHashMap<>();
+    private final Deque<Chunk> order = new ArrayDeque<>();
+    private Chunk current;
+    private int nextChunkId;
+    private long size;
+
+    public OffHeapMemberStore(JDAImpl api, long capacity)
+    {
+        this.api = api;
+        this.maxChunks = (int) Math.max(1, Math.min(Integer.MAX_VALUE, capacity / CHUNK_SIZE));
+    }
+
+    public long size()
+    {
+        return size;
+    }
+
+    public long getUsedBytes()
+    {
+        return MiscUtil.locked(lock, () -> (long) chunks.size() * CHUNK_SIZE);
+    }
+
+    /**
+     * Writes a record for the provided member, replacing any previous record.
+     *
+     * @param  member
+     *         The member to store
+     *
+     * @return True, if the member could be encoded
+     */
+    public boolean store(MemberImpl member)
+    {
+        User user = member.getUser();
+        byte[] name = user.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] nickname = member.getNickname() == null ? null : member.getNickname().getBytes(StandardCharsets.UTF_8);
+        short discriminator = parseDiscriminator(user.getDiscriminator());
+        if (name.length > 0xFF || nickname != null && nickname.length > 0xFF || discriminator < 0)
+            return false;
+
+        int bits = 0;
+        if (user.isBot())
+            bits |= FLAG_BOT;
+        if (user.isSystem())
+            bits |= FLAG_SYSTEM;
+        if (member.isPending())
+            bits |= FLAG_PENDING;
+        if (nickname != null)
+            bits |= FLAG_NICKNAME;
+        int userAvatar = avatarFlags(user.getAvatarId(), FLAG_USER_AVATAR, FLAG_USER_ANIMATED);
+        int memberAvatar = avatarFlags(member.getAvatarId(), FLAG_MEMBER_AVATAR, FLAG_MEMBER_ANIMATED);
+        if (userAvatar < 0 || memberAvatar < 0)
+            return false;
+        bits |= userAvatar | memberAvatar;
+
+        Set<Role> roles = member.getRoleSet();
+        long[] roleIds = roles.stream().mapToLong(Role::getIdLong).toArray();
+        int length = HEADER_SIZE + name.length + (nickname == null ? 0 : nickname.length) + roleIds.length * Long.BYTES;
+        if (length > CHUNK_SIZE)
+            return false;
+
+        int flags = bits;
+        long guildId = member.getGuild().getIdLong();
+        return MiscUtil.locked(lock, () -> {
+            ByteBuffer buffer = allocate(length);
+            int offset = buffer.position();
+            buffer.putLong(member.getIdLong())
+                  .putLong(member.hasTimeJoined() ? member.getTimeJoined().toInstant().toEpochMilli() : 0)
+                  .putLong(member.getBoostDateRaw())
+                  .putLong(member.getTimeOutEndRaw())
+                  .putInt(user.getFlagsRaw())
+                  .putShort(discriminator)
+                  .put((byte) flags)
+                  .put((byte) name.length)
+                  .put((byte) (nickname == null ? 0 : nickname.length))
+                  .put((byte) 0)
+                  .putShort((short) roleIds.length);
+            putAvatar(buffer, user.getAvatarId());
+            putAvatar(buffer, member.getAvatarId());
+            buffer.put(name);
+            if (nickname != null)
+                buffer.put(nickname);
+            for (long roleId : roleIds)
+                buffer.putLong(roleId);
+
+            TLongLongMap records = index.get(guildId);
+            if (records == null)
+                index.put(guildId, records = new TLongLongHashMap());
+            // the first address is 0, which is also the no entry value of the map
+            if (records.containsKey(member.getIdLong()))
+                release(records.get(member.getIdLong()));
+            else
+                size++;
+            records.put(member.getIdLong(), address(current.id, offset));
+            current.records++;
+            return true;
+        });
+    }
+
+    /**
+     * Materializes the record of the specified member and removes it from this store.
+     *
+     * @param  guild
+     *         The guild of the member
+     * @param  userId
+     *         The id of the member
+     *
+     * @return The materialized member, or null if no record exists
+     */
+    public MemberImpl load(GuildImpl guild, long userId)
+    {
+        return MiscUtil.locked(lock, () -> {
+            TLongLongMap records = index.get(guild.getIdLong());
+            if (records == null || !records.containsKey(userId))
+                return null;
+            long address = records.remove(userId);
+            if (records.isEmpty())
+                index.remove(guild.getIdLong());
+            size--;
+            Chunk chunk = chunks.get((int) (address >>> 32));
+            MemberImpl member = decode(guild, chunk.buffer, (int) address);
+            release(address);
+            return member;
+        });
+    }
+
+    public void remove(long guildId, long userId)
+    {
+        MiscUtil.locked(lock, () -> {
+            TLongLongMap records = index.get(guildId);
+            if (records == null || !records.containsKey(userId))
+                return;
+            release(records.remove(userId));
+            size--;
+            if (records.isEmpty())
+                index.remove(guildId);
+        });
+    }
+
+    public void removeGuild(long guildId)
+    {
+        MiscUtil.locked(lock, () -> {
+            TLongLongMap records = index.remove(guildId);
+            if (records == null)
+                return;
+            size -= records.size();
+            records.forEachValue(address -> {
+                release(address);
+                return true;
+            });
+        });
+    }
+
+    public void clear()
+    {
+        MiscUtil.locked(lock, () -> {
+            index.clear();
+            chunks.clear();
+            order.clear();
+            current = null;
+            size = 0;
+        });
+    }
+
+    private MemberImpl decode(GuildImpl guild, ByteBuffer chunk, int offset)
+    {
+        ByteBuffer buffer = chunk.duplicate();
+        buffer.position(offset);
+        long userId = buffer.getLong();
+        long joinDate = buffer.getLong();
+        long boostDate = buffer.getLong();
+        long timeOutEnd = buffer.getLong();
+        int userFlags = buffer.getInt();
+        short discriminator = buffer.getShort();
+        int bits = buffer.get() & 0xFF;
+        int nameLength = buffer.get() & 0xFF;
+        int nickLength = buffer.get() & 0xFF;
+        buffer.get();
+        int roleCount = buffer.getShort() & 0xFFFF;
+        String userAvatar = getAvatar(buffer, bits, FLAG_USER_AVATAR, FLAG_USER_ANIMATED);
+        String memberAvatar = getAvatar(buffer, bits, FLAG_MEMBER_AVATAR, FLAG_MEMBER_ANIMATED);
+        String name = getString(buffer, nameLength);
+        String nickname = (bits & FLAG_NICKNAME) != 0 ? getString(buffer, nickLength) : null;
+
+        // Prefer the cached user since it might be more recent than the record
+        UserImpl user = (UserImpl) api.getUserById(userId);
+        if (user == null)
+        {
+            user = new UserImpl(userId, api)
+                .setName(name)
+                .setDiscriminator(String.format("%04d", discriminator))
+                .setAvatarId(userAvatar)
+                .setBot((bits & FLAG_BOT) != 0)
+                .setSystem((bits & FLAG_SYSTEM) != 0)
+                .setFlags(userFlags);
+        }
+
+        MemberImpl member = new MemberImpl(guild, user)
+            .setNickname(nickname)
+            .setAvatarId(memberAvatar)
+            .setJoinDate(joinDate)
+            .setBoostDate(boostDate)
+            .setTimeOutEnd(timeOutEnd)
+            .setPending((bits & FLAG_PENDING) != 0);
+        Set<Role> roles = member.getRoleSet();
+        for (int i = 0; i < roleCount; i++)
+        {
+            Role role = guild.getRoleById(buffer.getLong());
+            if (role != null) // the role might have been deleted in the meantime
+                roles.add(role);
+        }
+        return member;
+    }
+
+    private ByteBuffer allocate(int length)
+    {
+        if (current == null || current.buffer.remaining() < length)
+        {
+            if (chunks.size() >= maxChunks)
+                dropChunk(order.peekFirst());
+            current = new Chunk(nextChunkId++);
+            chunks.put(current.id, current);
+            order.addLast(current);
+        }
+        return current.buffer;
+    }
+
+    private void release(long address)
+    {
+        Chunk chunk = chunks.get((int) (address >>> 32));
+        if (chunk != null && --chunk.records == 0 && chunk != current)
+        {
+            chunks.remove(chunk.id);
+            order.remove(chunk);
+        }
+    }
+
+    private void dropChunk(Chunk chunk)
+    {
+        chunks.remove(chunk.id);
+        order.remove(chunk);
+        if (current == chunk)
+            current = null;
+        index.forEachValue(records -> {
+            size -= records.size();
+            records.retainEntries((userId, address) -> (int) (address >>> 32) != chunk.id);
+            size += records.size();
+            return true;
+        });
+        index.retainEntries((guildId, records) -> !records.isEmpty());
+    }
+
+    private static long address(int chunk, int offset)
+    {
+        return (long) chunk << 32 | offset;
+    }
+
+    private static short parseDiscriminator(String discriminator)
+    {
+        try
+        {
+            int value = Integer.parseInt(discriminator);
+            return value >= 0 && value <= 9999 ? (short) value : -1;
+        }
+        catch (NumberFormatException e)
+        {
+            return -1;
+        }
+    }
+
+    private static int avatarFlags(String avatarId, int present, int animated)
+    {
+        switch (ImageHash.typeOf(avatarId))
+        {
+        case ImageHash.NONE:
+            return 0;
+        case ImageHash.STATIC:
+            return present;
+        case ImageHash.ANIMATED:
+            return present | animated;
+        default:
+            return -1;
+        }
+    }
+
+    private static void putAvatar(ByteBuffer buffer, String avatarId)
+    {
+        if (avatarId == null)
+            buffer.putLong(0).putLong(0);
+        else
+            buffer.putLong(ImageHash.high(avatarId)).putLong(ImageHash.low(avatarId));
+    }
+
+    private static String getAvatar(ByteBuffer buffer, int bits, int present, int animated)
+    {
+        long high = buffer.getLong();
+        long low = buffer.getLong();
+        if ((bits & present) == 0)
+            return null;
+        return ImageHash.toString((bits & animated) != 0 ? ImageHash.ANIMATED : ImageHash.STATIC, high, low);
+    }
+
+    private static String getString(ByteBuffer buffer, int length)
+    {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Chunk
+    {
+        private final int id;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        private int records;
+
+        private Chunk(int id)
+        {
+            this.id = id;
+        }
+    }
+}
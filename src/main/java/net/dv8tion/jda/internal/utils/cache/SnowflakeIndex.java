@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * JDA-wide id index for entities which are cached per guild, such as roles and emotes.
+ *
+ * <p>The index is updated whenever an entity is added to or removed from its guild cache,
+ * and the entities of a guild are removed when the guild is removed.
+ * Every hit is checked against the owning cache, since a guild can also be replaced by a new instance.
+ */
+public class SnowflakeIndex<T extends ISnowflake>
+{
+    private final TLongObjectMap<T> elements = new TLongObjectHashMap<>();
+    private final Predicate<? super T> validator;
+
+    /**
+     * @param validator
+     *        Checks whether an indexed entity is still cached by its guild
+     */
+    public SnowflakeIndex(Predicate<? super T> validator)
+    {
+        this.validator = validator;
+    }
+
+    public synchronized void put(T element)
+    {
+        elements.put(element.getIdLong(), element);
+    }
+
+    public synchronized void remove(T element)
+    {
+        // Only remove the exact instance, the id might already be indexed for a newer entity
+        long id = element.getIdLong();
+        if (elements.get(id) == element)
+            elements.remove(id);
+    }
+
+    public synchronized void removeAll(Iterable<? extends T> removed)
+    {
+        for (T element : removed)
+            remove(element);
+    }
+
+    public synchronized void clear()
+    {
+        elements.clear();
+    }
+
+    public synchronized int size()
+    {
+        return elements.size();
+    }
+
+    public T get(long id)
+    {
+        T element;
+        synchronized (this)
+        {
+            element = elements.get(id);
+        }
+        // Validate outside the lock, since it acquires the locks of the guild caches.
+        // Entities of guilds which are still being set up are indexed before the guild is cached, so they are kept.
+        return element != null && validator.test(element) ? element : null;
+    }
+
+    /**
+     * Creates a unified view over the per-guild caches, which resolves ids through this index.
+     *
+     * @param  generator
+     *         The per-guild caches
+     *
+     * @return The view
+     */
+    public SnowflakeCacheView<T> view(Supplier<? extends Stream<? extends SnowflakeCacheView<T>>> generator)
+    {
+        return new UnifiedCacheViewImpl.UnifiedSnowflakeCacheView<T>(generator)
+        {
+            @Override
+            public T getElementById(long id)
+            {
+                return get(id);
+            }
+        };
+    }
+}
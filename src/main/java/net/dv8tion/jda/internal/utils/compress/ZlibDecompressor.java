@@ -16,7 +16,9 @@
 
 package net.dv8tion.jda.internal.utils.compress;
 
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.utils.Compression;
+import net.dv8tion.jda.api.utils.GatewayMetrics;
 import net.dv8tion.jda.internal.utils.IOUtil;
 import net.dv8tion.jda.internal.utils.JDALogger;
 
@@ -34,13 +36,22 @@ public class ZlibDecompressor implements Decompressor
     private static final int Z_SYNC_FLUSH = 0x0000FFFF;
 
     private final int maxBufferSize;
+    private final JDA api;
+    private final GatewayMetrics metrics;
     private final Inflater inflater = new Inflater();
     private ByteBuffer flushBuffer = null;
     private SoftReference<ByteArrayOutputStream> decompressBuffer = null;
 
     public ZlibDecompressor(int maxBufferSize)
+    {
+        this(maxBufferSize, null, GatewayMetrics.NONE);
+    }
+
+    public ZlibDecompressor(int maxBufferSize, JDA api, GatewayMetrics metrics)
     {
         this.maxBufferSize = maxBufferSize;
+        this.api = api;
+        this.metrics = metrics;
     }
 
     private SoftReference<ByteArrayOutputStream> newDecompressBuffer()
@@ -134,12 +145,16 @@ public class ZlibDecompressor implements Decompressor
         //Get the compressed message and inflate it
         //We use the same buffer here to optimize gc use
         ByteArrayOutputStream buffer = getDecompressBuffer();
+        long start = metrics == GatewayMetrics.NONE ? 0 : System.nanoTime();
         try (InflaterOutputStream decompressor = new InflaterOutputStream(buffer, inflater))
         {
             // This decompressor writes the received data and inflates it
             decompressor.write(data);
             // Once decompressed we re-interpret the data as a String which can be used for JSON parsing
-            return buffer.toByteArray();
+            byte[] inflated = buffer.toByteArray();
+            if (metrics != GatewayMetrics.NONE)
+                metrics.onPayloadInflated(api, data.length, inflated.length, System.nanoTime() - start);
+            return inflated;
         }
         catch (IOException e)
         {
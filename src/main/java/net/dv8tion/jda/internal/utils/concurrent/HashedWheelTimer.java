@@ -0,0 +1,270 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.concurrent;
+
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer for timeouts which are usually cancelled before they expire.
+ * <br>Timeouts are sorted into the buckets of a wheel by their deadline, which makes scheduling and cancelling O(1).
+ * The precision is limited to the tick duration, timeouts never expire early.
+ *
+ * <p>Expired tasks are run on the timer thread and should only complete futures or hand off work to another executor.
+ */
+public class HashedWheelTimer
+{
+    public static final Logger LOG = JDALogger.getLog(HashedWheelTimer.class);
+
+    private static final int ST_INIT = 0, ST_STARTED = 1, ST_STOPPED = 2;
+
+    private final ThreadFactory threadFactory;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger state = new AtomicInteger(ST_INIT);
+    private volatile long startTime;
+    private Thread worker;
+    private long tick;
+
+    public HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int wheelSize)
+    {
+        this.threadFactory = threadFactory;
+        this.tickDuration = Math.max(1, unit.toNanos(tickDuration));
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++)
+            wheel[i] = new Bucket();
+        this.mask = size - 1;
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit)
+    {
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(0, delay)) - startTime;
+        Timeout timeout = new Timeout(this, task, deadline);
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    public boolean isStopped()
+    {
+        return state.get() == ST_STOPPED;
+    }
+
+    public void stop()
+    {
+        if (state.getAndSet(ST_STOPPED) == ST_STARTED)
+            worker.interrupt();
+    }
+
+    private void start()
+    {
+        switch (state.get())
+        {
+        case ST_INIT:
+            synchronized (this)
+            {
+                if (state.get() != ST_INIT)
+                    break;
+                startTime = System.nanoTime();
+                worker = threadFactory.newThread(this::run);
+                state.set(ST_STARTED);
+                worker.start();
+            }
+            break;
+        case ST_STOPPED:
+            throw new IllegalStateException("Cannot schedule timeouts after the timer was stopped");
+        }
+    }
+
+    private void run()
+    {
+        while (state.get() == ST_STARTED)
+        {
+            long deadline = (tick + 1) * tickDuration;
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0)
+            {
+                try
+                {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                }
+                catch (InterruptedException ignored)
+                {
+                    continue; // check state
+                }
+            }
+
+            removeCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private void removeCancelled()
+    {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null)
+        {
+            if (timeout.bucket != null)
+                timeout.bucket.remove(timeout);
+        }
+    }
+
+    private void transferScheduled()
+    {
+        // Limit per tick to avoid starving the expiration of a bucket
+        for (int i = 0; i < 100000; i++)
+        {
+            Timeout timeout = scheduled.poll();
+            if (timeout == null)
+                return;
+            if (timeout.state.get() == Timeout.ST_CANCELLED)
+                continue;
+
+            long ticks = timeout.deadline / tickDuration;
+            // Never schedule into a bucket which has already been expired
+            long target = Math.max(ticks, tick);
+            timeout.remainingRounds = (target - tick) / wheel.length;
+            wheel[(int) (target & mask)].add(timeout);
+        }
+    }
+
+    public static class Timeout
+    {
+        private static final int ST_PENDING = 0, ST_CANCELLED = 1, ST_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_PENDING);
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next, prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline)
+        {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel()
+        {
+            if (!state.compareAndSet(ST_PENDING, ST_CANCELLED))
+                return false;
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled()
+        {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired()
+        {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire()
+        {
+            if (!state.compareAndSet(ST_PENDING, ST_EXPIRED))
+                return;
+            try
+            {
+                task.run();
+            }
+            catch (Throwable t)
+            {
+                LOG.error("Uncaught exception in timeout task", t);
+                if (t instanceof Error)
+                    throw (Error) t;
+            }
+        }
+    }
+
+    // Only accessed by the worker thread
+    private static class Bucket
+    {
+        private Timeout head, tail;
+
+        private void add(Timeout timeout)
+        {
+            timeout.bucket = this;
+            if (head == null)
+            {
+                head = tail = timeout;
+            }
+            else
+            {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline)
+        {
+            Timeout timeout = head;
+            while (timeout != null)
+            {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline)
+                {
+                    remove(timeout);
+                    timeout.expire();
+                }
+                else if (timeout.isCancelled())
+                {
+                    remove(timeout);
+                }
+                else
+                {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout)
+        {
+            if (timeout.bucket != this)
+                return;
+            if (timeout.prev != null)
+                timeout.prev.next = timeout.next;
+            if (timeout.next != null)
+                timeout.next.prev = timeout.prev;
+            if (timeout == head)
+                head = timeout.next;
+            if (timeout == tail)
+                tail = timeout.prev;
+            timeout.next = timeout.prev = null;
+            timeout.bucket = null;
+        }
+    }
+}
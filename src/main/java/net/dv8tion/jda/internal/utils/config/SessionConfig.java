@@ -103,6 +103,16 @@ public class SessionConfig
         return flags.contains(ConfigFlag.BULK_DELETE_SPLIT);
     }
 
+    public boolean isDeduplicateStrings()
+    {
+        return flags.contains(ConfigFlag.DEDUPLICATE_STRINGS);
+    }
+
+    public boolean isBatchMemberRequests()
+    {
+        return flags.contains(ConfigFlag.BATCH_MEMBER_REQUESTS);
+    }
+
     public boolean isRawEvents()
     {
         return flags.contains(ConfigFlag.RAW_EVENTS);
@@ -17,6 +17,7 @@
 package net.dv8tion.jda.internal.utils.config;
 
 import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import net.dv8tion.jda.internal.utils.concurrent.HashedWheelTimer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -32,6 +33,7 @@ public class ThreadingConfig
     private ExecutorService callbackPool;
     private ExecutorService eventPool;
     private ScheduledExecutorService audioPool;
+    private HashedWheelTimer timeoutTimer;
 
     private boolean shutdownRateLimitPool;
     private boolean shutdownGatewayPool;
@@ -85,6 +87,8 @@ public class ThreadingConfig
             this.rateLimitPool = newScheduler(5, identifier, "RateLimit", false);
         if (this.gatewayPool == null)
             this.gatewayPool = newScheduler(1, identifier, "Gateway");
+        if (this.timeoutTimer == null)
+            this.timeoutTimer = newTimer(identifier, "Timeout");
     }
 
     public void shutdown()
@@ -114,12 +118,17 @@ public class ThreadingConfig
 
     public void shutdownRequester()
     {
+        // Requests still pending after shutdown schedule their timeouts, so the timer is stopped with the requester
+        if (timeoutTimer != null)
+            timeoutTimer.stop();
         if (shutdownRateLimitPool)
             rateLimitPool.shutdown();
     }
 
     public void shutdownNow()
     {
+        if (timeoutTimer != null)
+            timeoutTimer.stop();
         if (shutdownCallbackPool)
             callbackPool.shutdownNow();
         if (shutdownGatewayPool)
@@ -144,6 +153,12 @@ public class ThreadingConfig
         return gatewayPool;
     }
 
+    @Nonnull
+    public HashedWheelTimer getTimeoutTimer()
+    {
+        return timeoutTimer;
+    }
+
     @Nonnull
     public ExecutorService getCallbackPool()
     {
@@ -209,6 +224,13 @@ public class ThreadingConfig
         return new ScheduledThreadPoolExecutor(coreSize, new CountingThreadFactory(identifier, baseName, daemon));
     }
 
+    @Nonnull
+    public static HashedWheelTimer newTimer(Supplier<String> identifier, String baseName)
+    {
+        // 100ms ticks with 512 buckets cover timeouts of up to 51 seconds in a single round
+        return new HashedWheelTimer(new CountingThreadFactory(identifier, baseName), 100, TimeUnit.MILLISECONDS, 512);
+    }
+
     @Nonnull
     public static ThreadingConfig getDefault()
     {
@@ -26,7 +26,9 @@ public enum ConfigFlag
     BULK_DELETE_SPLIT(true),
     SHUTDOWN_HOOK(true),
     MDC_CONTEXT(true),
-    AUTO_RECONNECT(true);
+    AUTO_RECONNECT(true),
+    DEDUPLICATE_STRINGS,
+    BATCH_MEMBER_REQUESTS;
 
     private final boolean isDefault;
 
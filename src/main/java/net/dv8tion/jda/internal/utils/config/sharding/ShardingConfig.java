@@ -17,6 +17,11 @@
 package net.dv8tion.jda.internal.utils.config.sharding;
 
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RequestCoalescing;
+import net.dv8tion.jda.api.utils.CdnCache;
+import net.dv8tion.jda.api.utils.EventCacheLimit;
+import net.dv8tion.jda.api.utils.GatewayMetrics;
+import net.dv8tion.jda.api.utils.MemberCacheEviction;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
 
 import javax.annotation.Nonnull;
@@ -26,14 +31,64 @@ public class ShardingConfig
     private int shardsTotal;
     private int intents;
     private MemberCachePolicy memberCachePolicy;
+    private MemberCacheEviction memberCacheEviction;
+    private RequestCoalescing requestCoalescing;
+    private EventCacheLimit eventCacheLimit;
+    private long presenceCoalescingWindow;
+    private CdnCache cdnCache;
+    private GatewayMetrics gatewayMetrics;
     private final boolean useShutdownNow;
 
     public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy)
+    {
+        this(shardsTotal, useShutdownNow, intents, memberCachePolicy, MemberCacheEviction.NONE);
+    }
+
+    public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy, MemberCacheEviction memberCacheEviction)
+    {
+        this(shardsTotal, useShutdownNow, intents, memberCachePolicy, memberCacheEviction, RequestCoalescing.NONE);
+    }
+
+    public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy,
+                          MemberCacheEviction memberCacheEviction, RequestCoalescing requestCoalescing)
+    {
+        this(shardsTotal, useShutdownNow, intents, memberCachePolicy, memberCacheEviction, requestCoalescing, EventCacheLimit.UNBOUNDED);
+    }
+
+    public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy,
+                          MemberCacheEviction memberCacheEviction, RequestCoalescing requestCoalescing, EventCacheLimit eventCacheLimit)
+    {
+        this(shardsTotal, useShutdownNow, intents, memberCachePolicy, memberCacheEviction, requestCoalescing, eventCacheLimit, 0);
+    }
+
+    public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy,
+                          MemberCacheEviction memberCacheEviction, RequestCoalescing requestCoalescing, EventCacheLimit eventCacheLimit,
+                          long presenceCoalescingWindow)
+    {
+        this(shardsTotal, useShutdownNow, intents, memberCachePolicy, memberCacheEviction, requestCoalescing, eventCacheLimit, presenceCoalescingWindow, null);
+    }
+
+    public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy,
+                          MemberCacheEviction memberCacheEviction, RequestCoalescing requestCoalescing, EventCacheLimit eventCacheLimit,
+                          long presenceCoalescingWindow, CdnCache cdnCache)
+    {
+        this(shardsTotal, useShutdownNow, intents, memberCachePolicy, memberCacheEviction, requestCoalescing, eventCacheLimit, presenceCoalescingWindow, cdnCache, GatewayMetrics.NONE);
+    }
+
+    public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy,
+                          MemberCacheEviction memberCacheEviction, RequestCoalescing requestCoalescing, EventCacheLimit eventCacheLimit,
+                          long presenceCoalescingWindow, CdnCache cdnCache, GatewayMetrics gatewayMetrics)
     {
         this.shardsTotal = shardsTotal;
         this.useShutdownNow = useShutdownNow;
         this.intents = intents;
         this.memberCachePolicy = memberCachePolicy;
+        this.memberCacheEviction = memberCacheEviction;
+        this.requestCoalescing = requestCoalescing;
+        this.eventCacheLimit = eventCacheLimit;
+        this.presenceCoalescingWindow = presenceCoalescingWindow;
+        this.cdnCache = cdnCache;
+        this.gatewayMetrics = gatewayMetrics;
     }
 
     public void setShardsTotal(int shardsTotal)
@@ -56,6 +111,36 @@ public class ShardingConfig
         return memberCachePolicy;
     }
 
+    public MemberCacheEviction getMemberCacheEviction()
+    {
+        return memberCacheEviction;
+    }
+
+    public RequestCoalescing getRequestCoalescing()
+    {
+        return requestCoalescing;
+    }
+
+    public EventCacheLimit getEventCacheLimit()
+    {
+        return eventCacheLimit;
+    }
+
+    public long getPresenceCoalescingWindow()
+    {
+        return presenceCoalescingWindow;
+    }
+
+    public CdnCache getCdnCache()
+    {
+        return cdnCache;
+    }
+
+    public GatewayMetrics getGatewayMetrics()
+    {
+        return gatewayMetrics;
+    }
+
     public boolean isUseShutdownNow()
     {
         return useShutdownNow;
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.data;
+
+import net.dv8tion.jda.api.utils.data.*;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * {@link JsonWriter} which builds the maps and lists used by {@link DataObject} and {@link DataArray}.
+ */
+public class DataTreeWriter implements JsonWriter
+{
+    private final Deque<Object> stack = new ArrayDeque<>();
+    private String name;
+    private Object root;
+    private boolean complete;
+
+    public static DataObject toData(StreamingSerializableData serializable)
+    {
+        DataTreeWriter writer = new DataTreeWriter();
+        serializable.writeJson(writer);
+        Object root = writer.getRoot();
+        if (!(root instanceof Map))
+            throw new IllegalStateException("Expected an object but got " + (root == null ? "null" : root.getClass().getSimpleName()));
+
+        DataObject data = DataObject.empty();
+        ((Map<?, ?>) root).forEach((key, value) -> data.put((String) key, value));
+        return data;
+    }
+
+    public Object getRoot()
+    {
+        if (!complete || !stack.isEmpty())
+            throw new IllegalStateException("JSON value is incomplete");
+        return root;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter beginObject()
+    {
+        Map<String, Object> map = new HashMap<>();
+        add(map);
+        stack.push(map);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter endObject()
+    {
+        if (!(stack.peek() instanceof Map) || name != null)
+            throw new IllegalStateException("Cannot end object here");
+        stack.pop();
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter beginArray()
+    {
+        List<Object> list = new ArrayList<>();
+        add(list);
+        stack.push(list);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter endArray()
+    {
+        if (!(stack.peek() instanceof List))
+            throw new IllegalStateException("Cannot end array here");
+        stack.pop();
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter name(@Nonnull String name)
+    {
+        if (!(stack.peek() instanceof Map) || this.name != null)
+            throw new IllegalStateException("Cannot write name " + name + " here");
+        this.name = name;
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter value(@Nullable String value)
+    {
+        add(value);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter value(long value)
+    {
+        add(value);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter value(double value)
+    {
+        add(value);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter value(boolean value)
+    {
+        add(value);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter nullValue()
+    {
+        add(null);
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DataTreeWriter value(@Nullable Object value)
+    {
+        if (value instanceof StreamingSerializableData)
+            ((StreamingSerializableData) value).writeJson(this);
+        else if (value instanceof SerializableData)
+            add(((SerializableData) value).toData().toMap());
+        else if (value instanceof SerializableArray)
+            add(((SerializableArray) value).toDataArray().toList());
+        else
+            add(value);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(Object value)
+    {
+        Object parent = stack.peek();
+        if (parent instanceof Map)
+        {
+            if (name == null)
+                throw new IllegalStateException("Missing name for value in object");
+            ((Map<String, Object>) parent).put(name, value);
+            name = null;
+        }
+        else if (parent instanceof List)
+        {
+            ((List<Object>) parent).add(value);
+        }
+        else
+        {
+            if (complete)
+                throw new IllegalStateException("Cannot write more than one root value");
+            root = value;
+            complete = true;
+        }
+    }
+}
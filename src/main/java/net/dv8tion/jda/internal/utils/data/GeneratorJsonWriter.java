@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.data;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.dv8tion.jda.api.utils.data.*;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link JsonWriter} which writes directly into a Jackson {@link JsonGenerator}.
+ */
+public class GeneratorJsonWriter implements JsonWriter
+{
+    // Only used as codec for values which are not handled here, like arrays
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final JsonGenerator generator;
+
+    public GeneratorJsonWriter(JsonGenerator generator)
+    {
+        this.generator = generator;
+    }
+
+    /**
+     * Writes the value as JSON into the provided stream, which is not closed.
+     *
+     * @param  value
+     *         The value, see {@link #value(Object)}
+     * @param  out
+     *         The target stream
+     *
+     * @throws IOException
+     *         If the stream throws
+     */
+    public static void write(Object value, OutputStream out) throws IOException
+    {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out))
+        {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            new GeneratorJsonWriter(generator).value(value);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter beginObject()
+    {
+        try
+        {
+            generator.writeStartObject();
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter endObject()
+    {
+        try
+        {
+            generator.writeEndObject();
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter beginArray()
+    {
+        try
+        {
+            generator.writeStartArray();
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter endArray()
+    {
+        try
+        {
+            generator.writeEndArray();
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter name(@Nonnull String name)
+    {
+        try
+        {
+            generator.writeFieldName(name);
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter value(@Nullable String value)
+    {
+        try
+        {
+            generator.writeString(value);
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter value(long value)
+    {
+        try
+        {
+            generator.writeNumber(value);
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter value(double value)
+    {
+        try
+        {
+            generator.writeNumber(value);
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter value(boolean value)
+    {
+        try
+        {
+            generator.writeBoolean(value);
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter nullValue()
+    {
+        try
+        {
+            generator.writeNull();
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public GeneratorJsonWriter value(@Nullable Object value)
+    {
+        try
+        {
+            writeValue(value);
+        }
+        catch (IOException e)
+        {
+            throw convert(e);
+        }
+        return this;
+    }
+
+    // Same output as the ObjectMapper of DataObject, without going through its serializer lookup
+    private void writeValue(Object value) throws IOException
+    {
+        if (value == null)
+            generator.writeNull();
+        else if (value instanceof String)
+            generator.writeString((String) value);
+        else if (value instanceof Boolean)
+            generator.writeBoolean((Boolean) value);
+        else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            generator.writeNumber(((Number) value).longValue());
+        else if (value instanceof Double)
+            generator.writeNumber((Double) value);
+        else if (value instanceof Float)
+            generator.writeNumber((Float) value);
+        else if (value instanceof BigDecimal)
+            generator.writeNumber((BigDecimal) value);
+        else if (value instanceof BigInteger)
+            generator.writeNumber((BigInteger) value);
+        else if (value instanceof StreamingSerializableData)
+            ((StreamingSerializableData) value).writeJson(this);
+        else if (value instanceof SerializableData)
+            writeValue(((SerializableData) value).toData().toMap());
+        else if (value instanceof SerializableArray)
+            writeValue(((SerializableArray) value).toDataArray().toList());
+        else if (value instanceof Map)
+            writeMap((Map<?, ?>) value);
+        else if (value instanceof Collection)
+            writeCollection((Collection<?>) value);
+        else
+            generator.writeObject(value);
+    }
+
+    private void writeMap(Map<?, ?> map) throws IOException
+    {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet())
+        {
+            generator.writeFieldName(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeCollection(Collection<?> collection) throws IOException
+    {
+        generator.writeStartArray();
+        for (Object element : collection)
+            writeValue(element);
+        generator.writeEndArray();
+    }
+
+    private static RuntimeException convert(IOException e)
+    {
+        // Thrown for tokens in the wrong place, such as a value without a name
+        if (e instanceof JsonGenerationException)
+            return new IllegalStateException(e.getMessage(), e);
+        return new UncheckedIOException(e);
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.data;
+
+import net.dv8tion.jda.api.exceptions.ParsingException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structural index of a serialized JSON value, built with a single scan over the bytes.
+ *
+ * <p>Every value gets an entry in document order, which stores the offset of its first byte,
+ * the offset of its key in the parent object, and the index of the entry following its subtree.
+ * The children of a container are the entries from {@code entry + 1} to {@code next[entry]}, skipping from sibling to sibling.
+ * Nothing is decoded while scanning, values are decoded from the offsets when they are accessed.
+ */
+final class JsonIndex
+{
+    final byte[] json;
+    int size;
+    int[] offsets = new int[64];
+    int[] keyOffsets = new int[64];
+    int[] next = new int[64];
+    // Decoded values by entry, null if not decoded yet
+    Object[] values;
+
+    private JsonIndex(byte[] json)
+    {
+        this.json = json;
+    }
+
+    static JsonIndex build(byte[] json)
+    {
+        JsonIndex index = new JsonIndex(json);
+        try
+        {
+            int end = index.skipWhitespace(index.scan(0, -1));
+            if (end != json.length)
+                throw new ParsingException("Unexpected data after JSON value at offset " + end);
+        }
+        catch (ArrayIndexOutOfBoundsException e)
+        {
+            throw new ParsingException("Unexpected end of JSON input");
+        }
+        index.values = new Object[index.size];
+        return index;
+    }
+
+    boolean isObject(int entry)
+    {
+        return json[offsets[entry]] == '{';
+    }
+
+    // Synchronized since events can be read by several threads, which must all see the same cached containers
+    synchronized Object decode(int entry)
+    {
+        Object value = values[entry];
+        if (value != null)
+            return value;
+
+        int offset = offsets[entry];
+        switch (json[offset])
+        {
+        case '{':
+            value = new LazyJsonMap(this, entry);
+            break;
+        case '[':
+            List<Object> list = new ArrayList<>();
+            for (int child = entry + 1; child < next[entry]; child = next[child])
+                list.add(decode(child));
+            value = list;
+            break;
+        case '"':
+            value = decodeString(offset);
+            break;
+        case 't':
+            return true;
+        case 'f':
+            return false;
+        case 'n':
+            return null;
+        default:
+            value = decodeNumber(offset);
+        }
+        values[entry] = value;
+        return value;
+    }
+
+    String decodeKey(int entry)
+    {
+        int offset = keyOffsets[entry] + 1;
+        int end = offset;
+        while (json[end] != '"' && json[end] != '\\')
+            end++;
+        if (json[end] == '"')
+        {
+            String key = KeyTable.get(json, offset, end - offset);
+            if (key != null)
+                return key;
+        }
+        return decodeString(keyOffsets[entry]);
+    }
+
+    boolean keyEquals(int entry, String key)
+    {
+        int offset = keyOffsets[entry] + 1;
+        int length = key.length();
+        for (int i = 0; i < length; i++)
+        {
+            byte b = json[offset + i];
+            if (b == '\\' || b < 0)
+                return decodeString(keyOffsets[entry]).equals(key);
+            if (b == '"' || b != key.charAt(i))
+                return false;
+        }
+        return json[offset + length] == '"';
+    }
+
+    private String decodeString(int offset)
+    {
+        int start = offset + 1;
+        int i = start;
+        while (json[i] != '"')
+        {
+            if (json[i] == '\\')
+                return decodeEscapedString(start, i);
+            i++;
+        }
+        return new String(json, start, i - start, StandardCharsets.UTF_8);
+    }
+
+    private String decodeEscapedString(int start, int escape)
+    {
+        // Multi-byte UTF-8 sequences never contain quotes or backslashes, so the segments between escapes decode on their own
+        StringBuilder builder = new StringBuilder(escape - start + 16);
+        builder.append(new String(json, start, escape - start, StandardCharsets.UTF_8));
+        int i = escape;
+        int segment = i;
+        while (json[i] != '"')
+        {
+            if (json[i] != '\\')
+            {
+                i++;
+                continue;
+            }
+            builder.append(new String(json, segment, i - segment, StandardCharsets.UTF_8));
+            char c = (char) json[i + 1];
+            switch (c)
+            {
+            case 'b': builder.append('\b'); break;
+            case 'f': builder.append('\f'); break;
+            case 'n': builder.append('\n'); break;
+            case 'r': builder.append('\r'); break;
+            case 't': builder.append('\t'); break;
+            case 'u':
+                builder.append((char) Integer.parseInt(new String(json, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                i += 4;
+                break;
+            default:
+                builder.append(c);
+            }
+            i += 2;
+            segment = i;
+        }
+        builder.append(new String(json, segment, i - segment, StandardCharsets.UTF_8));
+        return builder.toString();
+    }
+
+    // Same types as the ObjectMapper uses: Integer, Long or BigInteger for integers, and Double for everything else
+    private Object decodeNumber(int offset)
+    {
+        int end = offset;
+        boolean integer = true;
+        for (; isNumberChar(json[end]); end++)
+        {
+            byte b = json[end];
+            if (b == '.' || b == 'e' || b == 'E')
+                integer = false;
+        }
+
+        try
+        {
+            String text = new String(json, offset, end - offset, StandardCharsets.US_ASCII);
+            if (!integer)
+                return Double.parseDouble(text);
+            // Up to 18 digits always fit into a long
+            if (end - offset <= 18)
+            {
+                long value = Long.parseLong(text);
+                return value == (int) value ? (Object) (int) value : (Object) value;
+            }
+            BigInteger value = new BigInteger(text);
+            return value.bitLength() < 64 ? (Object) value.longValue() : value;
+        }
+        catch (NumberFormatException e)
+        {
+            throw new ParsingException("Invalid number at offset " + offset, e);
+        }
+    }
+
+    private int scan(int offset, int keyOffset)
+    {
+        offset = skipWhitespace(offset);
+        int entry = add(offset, keyOffset);
+        switch (json[offset])
+        {
+        case '{':
+            offset = skipWhitespace(offset + 1);
+            if (json[offset] == '}')
+            {
+                offset++;
+                break;
+            }
+            while (true)
+            {
+                expect(offset, '"');
+                int key = offset;
+                offset = skipWhitespace(skipString(offset));
+                expect(offset, ':');
+                offset = skipWhitespace(scan(offset + 1, key));
+                if (json[offset] == '}')
+                    break;
+                expect(offset, ',');
+                offset = skipWhitespace(offset + 1);
+            }
+            offset++;
+            break;
+        case '[':
+            offset = skipWhitespace(offset + 1);
+            if (json[offset] == ']')
+            {
+                offset++;
+                break;
+            }
+            while (true)
+            {
+                offset = skipWhitespace(scan(offset, -1));
+                if (json[offset] == ']')
+                    break;
+                expect(offset, ',');
+                offset++;
+            }
+            offset++;
+            break;
+        case '"':
+            offset = skipString(offset);
+            break;
+        case 't':
+            offset = skipLiteral(offset, "true");
+            break;
+        case 'f':
+            offset = skipLiteral(offset, "false");
+            break;
+        case 'n':
+            offset = skipLiteral(offset, "null");
+            break;
+        default:
+            int start = offset;
+            while (isNumberChar(json[offset]))
+                offset++;
+            if (offset == start)
+                throw new ParsingException("Unexpected character '" + (char) json[offset] + "' at offset " + offset);
+        }
+        next[entry] = size;
+        return offset;
+    }
+
+    private int add(int offset, int keyOffset)
+    {
+        if (size == offsets.length)
+        {
+            int capacity = size << 1;
+            offsets = Arrays.copyOf(offsets, capacity);
+            keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        offsets[size] = offset;
+        keyOffsets[size] = keyOffset;
+        return size++;
+    }
+
+    private int skipString(int offset)
+    {
+        int i = offset + 1;
+        while (json[i] != '"')
+            i += json[i] == '\\' ? 2 : 1;
+        return i + 1;
+    }
+
+    private int skipLiteral(int offset, String literal)
+    {
+        for (int i = 0; i < literal.length(); i++)
+            expect(offset + i, literal.charAt(i));
+        return offset + literal.length();
+    }
+
+    private int skipWhitespace(int offset)
+    {
+        while (offset < json.length)
+        {
+            byte b = json[offset];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+                break;
+            offset++;
+        }
+        return offset;
+    }
+
+    private void expect(int offset, char c)
+    {
+        if (json[offset] != c)
+            throw new ParsingException("Expected '" + c + "' but got '" + (char) json[offset] + "' at offset " + offset);
+    }
+
+    private static boolean isNumberChar(byte b)
+    {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+}
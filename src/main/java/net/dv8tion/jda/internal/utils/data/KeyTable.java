@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lossy cache for short ASCII strings which are decoded over and over, like the keys of gateway payloads.
+ * <br>Lookups compare the encoded bytes, so a cached string is returned without allocating anything.
+ * Each slot keeps the last string that hashed to it, so the table never grows.
+ *
+ * <p>Unsynchronized access is fine because entries are immutable and reference writes are atomic.
+ */
+public final class KeyTable
+{
+    private static final int SIZE = 1024;
+    private static final int MAX_LENGTH = 32;
+    private static final Entry[] TABLE = new Entry[SIZE];
+
+    private KeyTable() {}
+
+    /**
+     * Returns the string for the provided ASCII bytes.
+     *
+     * @param  array
+     *         The array containing the bytes
+     * @param  offset
+     *         The start of the bytes
+     * @param  length
+     *         The amount of bytes
+     *
+     * @return The string, or null if the bytes are too long or not ASCII
+     */
+    public static String get(byte[] array, int offset, int length)
+    {
+        if (length > MAX_LENGTH)
+            return null;
+        int hash = length;
+        for (int i = 0; i < length; i++)
+        {
+            byte b = array[offset + i];
+            if (b < 0)
+                return null;
+            hash = 31 * hash + b;
+        }
+
+        int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+        Entry entry = TABLE[index];
+        if (entry == null || !entry.matches(array, offset, length))
+        {
+            entry = new Entry(Arrays.copyOfRange(array, offset, offset + length));
+            TABLE[index] = entry;
+        }
+        return entry.value;
+    }
+
+    private static final class Entry
+    {
+        private final byte[] bytes;
+        private final String value;
+
+        private Entry(byte[] bytes)
+        {
+            this.bytes = bytes;
+            this.value = new String(bytes, StandardCharsets.US_ASCII);
+        }
+
+        private boolean matches(byte[] array, int offset, int length)
+        {
+            if (bytes.length != length)
+                return false;
+            for (int i = 0; i < length; i++)
+            {
+                if (bytes[i] != array[offset + i])
+                    return false;
+            }
+            return true;
+        }
+    }
+}
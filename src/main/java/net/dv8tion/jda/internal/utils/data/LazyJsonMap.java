@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.data;
+
+import net.dv8tion.jda.api.exceptions.ParsingException;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Map of a serialized JSON object, which only decodes values when they are accessed.
+ *
+ * <p>The payload is scanned once to build a {@link JsonIndex} of offsets, without decoding any values.
+ * Looking up a key compares the raw bytes of the keys, and decodes only the matching value.
+ * Nested objects become lazy maps on the same index, so a subtree which is never accessed is never decoded.
+ * Decoded values are cached, so nested maps and lists can be modified like in a regular map.
+ *
+ * <p>The map is fully decoded into a {@link HashMap} when it is iterated or modified.
+ * This only decodes the values of this object, nested objects stay lazy.
+ * The values are decoded to the same types as {@link com.fasterxml.jackson.databind.ObjectMapper ObjectMapper} would use.
+ * The source array must not be modified after the map is created.
+ * Like a decoded map, this can be read by multiple threads at once, but not modified while it is read.
+ */
+public class LazyJsonMap extends AbstractMap<String, Object>
+{
+    private final JsonIndex index;
+    private final int entry;
+    private volatile Map<String, Object> decoded;
+
+    LazyJsonMap(JsonIndex index, int entry)
+    {
+        this.index = index;
+        this.entry = entry;
+    }
+
+    /**
+     * Indexes the JSON object in the provided array.
+     * <br>This checks the structure of the entire payload, but does not decode any values.
+     * Invalid strings and numbers are only detected when they are decoded.
+     *
+     * @param  json
+     *         The serialized JSON object
+     *
+     * @throws ParsingException
+     *         If the payload is not a JSON object
+     *
+     * @return The lazy map
+     */
+    @Nonnull
+    public static LazyJsonMap parse(byte[] json)
+    {
+        JsonIndex index = JsonIndex.build(json);
+        if (!index.isObject(0))
+            throw new ParsingException("Expected JSON object");
+        return new LazyJsonMap(index, 0);
+    }
+
+    @Override
+    public Object get(Object key)
+    {
+        if (decoded != null)
+            return decoded.get(key);
+        int child = find(key);
+        return child < 0 ? null : index.decode(child);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        if (decoded != null)
+            return decoded.containsKey(key);
+        return find(key) >= 0;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        if (decoded != null)
+            return decoded.isEmpty();
+        return index.next[entry] == entry + 1;
+    }
+
+    @Override
+    public int size()
+    {
+        return decodeAll().size();
+    }
+
+    @Override
+    public Object put(String key, Object value)
+    {
+        return decodeAll().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key)
+    {
+        return decodeAll().remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        decodeAll().clear();
+    }
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, Object>> entrySet()
+    {
+        return decodeAll().entrySet();
+    }
+
+    private int find(Object key)
+    {
+        if (!(key instanceof String))
+            return -1;
+        String name = (String) key;
+        int[] next = index.next;
+        int found = -1;
+        // Keep searching after a match, the last occurrence of a key wins like in a decoded map
+        for (int child = entry + 1; child < next[entry]; child = next[child])
+        {
+            if (index.keyEquals(child, name))
+                found = child;
+        }
+        return found;
+    }
+
+    private Map<String, Object> decodeAll()
+    {
+        Map<String, Object> map = decoded;
+        if (map != null)
+            return map;
+        synchronized (index)
+        {
+            if (decoded != null)
+                return decoded;
+            map = new HashMap<>();
+            int[] next = index.next;
+            for (int child = entry + 1; child < next[entry]; child = next[child])
+                map.put(index.decodeKey(child), index.decode(child));
+            return decoded = map;
+        }
+    }
+}
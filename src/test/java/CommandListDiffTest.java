@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.interactions.command.CommandListDiff;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandListDiffTest
+{
+    private static final String RESPONSE = "{\"id\":\"123\",\"application_id\":\"456\",\"version\":\"789\",\"type\":1," +
+            "\"name\":\"mod\",\"description\":\"Moderation commands\",\"default_permission\":true,\"options\":[" +
+            "{\"type\":1,\"name\":\"ban\",\"description\":\"Ban a user\",\"options\":[" +
+                "{\"type\":6,\"name\":\"user\",\"description\":\"The user\",\"required\":true}," +
+                "{\"type\":4,\"name\":\"days\",\"description\":\"Days of messages\",\"min_value\":0,\"max_value\":7," +
+                    "\"choices\":[{\"name\":\"none\",\"value\":0},{\"name\":\"week\",\"value\":7}]}," +
+                "{\"type\":7,\"name\":\"log\",\"description\":\"Log channel\",\"channel_types\":[5,0]}]}]}";
+
+    private static CommandData createCommand(String banDescription)
+    {
+        return Commands.slash("mod", "Moderation commands")
+                .addSubcommands(new SubcommandData("ban", banDescription)
+                        .addOption(OptionType.USER, "user", "The user", true)
+                        .addOptions(new OptionData(OptionType.INTEGER, "days", "Days of messages")
+                                .setRequiredRange(0, 7)
+                                .addChoice("none", 0)
+                                .addChoice("week", 7))
+                        .addOptions(new OptionData(OptionType.CHANNEL, "log", "Log channel")
+                                .setChannelTypes(ChannelType.TEXT, ChannelType.NEWS)));
+    }
+
+    @Test
+    public void testUnchanged()
+    {
+        Assertions.assertEquals(
+                CommandListDiff.canonicalize(DataObject.fromJson(RESPONSE)),
+                CommandListDiff.canonicalize(createCommand("Ban a user").toData()));
+    }
+
+    @Test
+    public void testChanged()
+    {
+        Assertions.assertNotEquals(
+                CommandListDiff.canonicalize(DataObject.fromJson(RESPONSE)),
+                CommandListDiff.canonicalize(createCommand("Ban a member").toData()));
+        Assertions.assertNotEquals(
+                CommandListDiff.canonicalize(DataObject.fromJson(RESPONSE)),
+                CommandListDiff.canonicalize(createCommand("Ban a user").setDefaultEnabled(false).toData()));
+    }
+}
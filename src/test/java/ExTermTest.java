@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.data.etf.ExTermDecoder;
+import net.dv8tion.jda.api.utils.data.etf.ExTermEncoder;
+import net.dv8tion.jda.api.utils.data.etf.ExTermTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class ExTermTest
+{
+    // Longer than the 32 bytes of keys which are cached by the decoder
+    private static final String LONG_KEY = "a_key_which_is_longer_than_the_cached_keys";
+
+    @Test
+    public void testRoundTrip()
+    {
+        DataObject object = DataObject.empty()
+                .put("id", 123456789012345678L)
+                .put("int", 10)
+                .put("negative", -5)
+                .put("double", 1.5)
+                .put("boolean", true)
+                .put("string", "Grüße 👋")
+                .put("schlüssel", "non-ascii key")
+                .put(LONG_KEY, "long key")
+                .put("nested", DataObject.empty()
+                        .put("list", DataArray.empty().add(1).add("two").add(DataObject.empty().put("three", 3)))
+                        .put("empty", DataArray.empty()));
+
+        byte[] etf = object.toETF();
+        // The second pass decodes the short keys from the key table
+        for (int i = 0; i < 2; i++)
+        {
+            DataObject parsed = DataObject.fromETF(etf);
+            Assertions.assertEquals(object.keys(), parsed.keys());
+            Assertions.assertEquals(123456789012345678L, parsed.getLong("id"));
+            Assertions.assertEquals(10, parsed.getInt("int"));
+            Assertions.assertEquals(-5, parsed.getInt("negative"));
+            Assertions.assertEquals(1.5, parsed.getDouble("double"));
+            Assertions.assertTrue(parsed.getBoolean("boolean"));
+            Assertions.assertEquals("Grüße 👋", parsed.getString("string"));
+            Assertions.assertEquals("non-ascii key", parsed.getString("schlüssel"));
+            Assertions.assertEquals("long key", parsed.getString(LONG_KEY));
+
+            DataObject nested = parsed.getObject("nested");
+            DataArray list = nested.getArray("list");
+            Assertions.assertEquals(3, list.length());
+            Assertions.assertEquals(1, list.getInt(0));
+            Assertions.assertEquals("two", list.getString(1));
+            Assertions.assertEquals(3, list.getObject(2).getInt("three"));
+            Assertions.assertTrue(nested.getArray("empty").isEmpty());
+        }
+    }
+
+    @Test
+    public void testAtoms()
+    {
+        Map<String, Object> map = new HashMap<>();
+        map.put("true", true);
+        map.put("false", false);
+        map.put("nil", null);
+
+        Map<String, Object> parsed = ExTermDecoder.unpackMap(ExTermEncoder.pack(map));
+        Assertions.assertEquals(Boolean.TRUE, parsed.get("true"));
+        Assertions.assertEquals(Boolean.FALSE, parsed.get("false"));
+        Assertions.assertTrue(parsed.containsKey("nil"));
+        Assertions.assertNull(parsed.get("nil"));
+
+        // Other atoms are decoded as strings, in each of the atom encodings
+        Assertions.assertEquals("ready", ExTermDecoder.unpack(atom(ExTermTag.SMALL_ATOM_UTF8, "ready")));
+        Assertions.assertEquals("ready", ExTermDecoder.unpack(atom(ExTermTag.SMALL_ATOM, "ready")));
+        Assertions.assertEquals("ready", ExTermDecoder.unpack(atom(ExTermTag.ATOM_UTF8, "ready")));
+        Assertions.assertEquals("ready", ExTermDecoder.unpack(atom(ExTermTag.ATOM, "ready")));
+        Assertions.assertEquals("grüße", ExTermDecoder.unpack(atom(ExTermTag.SMALL_ATOM_UTF8, "grüße")));
+    }
+
+    @Test
+    public void testBufferReuse()
+    {
+        List<Object> members = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            Map<String, Object> member = new HashMap<>();
+            member.put("id", 100000000000000000L + i);
+            member.put("name", "member " + i);
+            members.add(member);
+        }
+        Map<String, Object> large = new HashMap<>();
+        large.put("members", members);
+        Map<String, Object> small = new HashMap<>();
+        small.put("op", 1);
+
+        ByteBuffer buffer = ExTermEncoder.pack(ByteBuffer.allocate(64), large);
+        Assertions.assertTrue(buffer.capacity() > 64);
+        Map<String, Object> parsedLarge = ExTermDecoder.unpackMap(buffer);
+        List<?> parsedMembers = (List<?>) parsedLarge.get("members");
+        Assertions.assertEquals(1000, parsedMembers.size());
+        Assertions.assertEquals(100000000000000999L, ((Map<?, ?>) parsedMembers.get(999)).get("id"));
+        Assertions.assertEquals("member 999", ((Map<?, ?>) parsedMembers.get(999)).get("name"));
+
+        // The large buffer is reused, and the small term must not include any of the previous content
+        ByteBuffer reused = ExTermEncoder.pack(buffer, small);
+        Assertions.assertSame(buffer, reused);
+        Assertions.assertEquals(small, ExTermDecoder.unpackMap(reused));
+        Assertions.assertFalse(reused.hasRemaining());
+    }
+
+    private static ByteBuffer atom(byte tag, String value)
+    {
+        byte[] bytes = value.getBytes(tag == ExTermTag.ATOM || tag == ExTermTag.SMALL_ATOM ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        boolean small = tag == ExTermTag.SMALL_ATOM || tag == ExTermTag.SMALL_ATOM_UTF8;
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 4);
+        buffer.put((byte) 131).put(tag);
+        if (small)
+            buffer.put((byte) bytes.length);
+        else
+            buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.utils.HistogramGatewayMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GatewayMetricsTest
+{
+    @Test
+    public void testEmptyHistogram()
+    {
+        HistogramGatewayMetrics.Histogram histogram = new HistogramGatewayMetrics.Histogram();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMean());
+        Assertions.assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void testHistogram()
+    {
+        HistogramGatewayMetrics.Histogram histogram = new HistogramGatewayMetrics.Histogram();
+        for (int i = 1; i <= 100; i++)
+            histogram.record(i);
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(5050, histogram.getSum());
+        Assertions.assertEquals(50.5, histogram.getMean());
+        Assertions.assertEquals(100, histogram.getMax());
+        Assertions.assertEquals(1, histogram.getPercentile(0));
+        Assertions.assertEquals(63, histogram.getPercentile(50));
+        Assertions.assertEquals(100, histogram.getPercentile(99));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+
+    @Test
+    public void testHistogramBounds()
+    {
+        HistogramGatewayMetrics.Histogram histogram = new HistogramGatewayMetrics.Histogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        Assertions.assertEquals(2, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getPercentile(50));
+        Assertions.assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionRouter;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InteractionRouterTest
+{
+    @Test
+    public void testSubcommandRoutes()
+    {
+        SlashCommandData mod = Commands.slash("mod", "Moderation commands");
+        SubcommandData ban = new SubcommandData("ban", "Ban a user");
+        SubcommandData add = new SubcommandData("add", "Add a role");
+        SubcommandGroupData roles = new SubcommandGroupData("roles", "Manage roles").addSubcommands(add);
+        mod.addSubcommands(ban).addSubcommandGroups(roles);
+
+        List<String> handled = new ArrayList<>();
+        InteractionRouter router = InteractionRouter.builder()
+                .addSubcommand(mod, ban, event -> handled.add("ban"))
+                .addSubcommand(mod, roles, add, event -> handled.add("roles add"))
+                .setFallback(event -> handled.add("fallback"))
+                .build();
+
+        router.onEvent(slashCommand("mod", null, "ban"));
+        router.onEvent(slashCommand("mod", "roles", "add"));
+        router.onEvent(slashCommand("mod", null, "kick"));
+
+        Assertions.assertEquals(3, handled.size());
+        Assertions.assertEquals("ban", handled.get(0));
+        Assertions.assertEquals("roles add", handled.get(1));
+        Assertions.assertEquals("fallback", handled.get(2));
+        Assertions.assertEquals(1, router.getCommands().size());
+        router.getRoutes().forEach(route -> Assertions.assertEquals(1, route.getInvocations(), route.getPath()));
+    }
+
+    @Test
+    public void testUnknownSubcommand()
+    {
+        SlashCommandData mod = Commands.slash("mod", "Moderation commands");
+        SubcommandGroupData roles = new SubcommandGroupData("roles", "Manage roles")
+                .addSubcommands(new SubcommandData("add", "Add a role"));
+        mod.addSubcommands(new SubcommandData("ban", "Ban a user")).addSubcommandGroups(roles);
+
+        InteractionRouter.Builder builder = InteractionRouter.builder();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.addSubcommand(mod, new SubcommandData("kick", "Kick a user"), event -> {}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.addSubcommand(mod, new SubcommandGroupData("channels", "Manage channels"), new SubcommandData("add", "Add a channel"), event -> {}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.addSubcommand(mod, roles, new SubcommandData("remove", "Remove a role"), event -> {}));
+    }
+
+    private static SlashCommandInteractionEvent slashCommand(String name, String group, String subcommand)
+    {
+        SlashCommandInteraction interaction = (SlashCommandInteraction) Proxy.newProxyInstance(
+            InteractionRouterTest.class.getClassLoader(), new Class<?>[] { SlashCommandInteraction.class },
+            (proxy, method, args) ->
+            {
+                switch (method.getName())
+                {
+                case "getName":
+                    return name;
+                case "getSubcommandGroup":
+                    return group;
+                case "getSubcommandName":
+                    return subcommand;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        JDA api = (JDA) Proxy.newProxyInstance(
+            InteractionRouterTest.class.getClassLoader(), new Class<?>[] { JDA.class },
+            (proxy, method, args) -> { throw new UnsupportedOperationException(method.getName()); });
+        return new SlashCommandInteractionEvent(api, 0, interaction);
+    }
+}
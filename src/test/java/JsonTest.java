@@ -14,10 +14,17 @@
  * limitations under the License.
  */
 
+import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.data.StreamingSerializableData;
+import net.dv8tion.jda.internal.utils.data.GeneratorJsonWriter;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 public class JsonTest
 {
     private static final String json = "{\"int\":10,\"long\":100,\"boolean\":true,\"string\":\"test\"}";
@@ -40,4 +47,49 @@ public class JsonTest
         DataObject symmetric = DataObject.fromJson(result);
         Assertions.assertEquals(object.toMap(), symmetric.toMap()); // lucky that this works here :)
     }
+
+    @Test
+    public void testStreamingWriter() throws IOException
+    {
+        DataObject object = DataObject.fromJson(json)
+            .put("array", DataArray.empty().add(1).add("two").add(DataObject.empty().put("three", 3.5)))
+            .putNull("null");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GeneratorJsonWriter.write(object, out);
+        DataObject symmetric = DataObject.fromJson(out.toByteArray());
+        Assertions.assertEquals(object.toString(), symmetric.toString());
+    }
+
+    @Test
+    public void testStreamingToData() throws IOException
+    {
+        StreamingSerializableData data = writer -> writer.beginObject()
+            .put("int", 10)
+            .put("long", 100)
+            .put("boolean", true)
+            .put("string", "test")
+            .endObject();
+        DataObject object = data.toData();
+        Assertions.assertEquals(DataObject.fromJson(json).toMap(), object.toMap());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GeneratorJsonWriter.write(data, out);
+        Assertions.assertEquals(json, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLazyParse()
+    {
+        String payload = "{\"op\":0,\"s\":12345678901,\"d\":{\"content\":\"h\\u00e9llo \\\"world\\\"\\n\",\"float\":1.5,"
+            + "\"members\":[{\"id\":\"1\"},{\"id\":\"2\",\"roles\":[]}],\"empty\":{}}}";
+        DataObject lazy = DataObject.fromLazyJson(payload.getBytes(StandardCharsets.UTF_8));
+        DataObject eager = DataObject.fromJson(payload);
+        Assertions.assertEquals(12345678901L, lazy.getLong("s"));
+        Assertions.assertEquals(eager.getObject("d").getString("content"), lazy.getObject("d").getString("content"));
+        Assertions.assertEquals("2", lazy.getObject("d").getArray("members").getObject(1).getString("id"));
+        Assertions.assertEquals(eager.toMap(), lazy.toMap());
+
+        lazy.getObject("d").put("content", "changed");
+        Assertions.assertEquals("changed", lazy.getObject("d").getString("content"));
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.internal.utils.MentionLexer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+
+public class MentionLexerTest
+{
+    @Test
+    public void testTokens()
+    {
+        String content = "Hi <@123> and <@!456>, see <#789> with <@&42> <:jda:1337><a:party_2:99>";
+        MentionLexer tokens = MentionLexer.tokenize(content);
+        Assertions.assertEquals(6, tokens.size());
+
+        Assertions.assertEquals(Message.MentionType.USER, tokens.getType(0));
+        Assertions.assertEquals(123, tokens.getId(0));
+        Assertions.assertEquals("<@123>", content.substring(tokens.getStart(0), tokens.getEnd(0)));
+        Assertions.assertEquals(Message.MentionType.USER, tokens.getType(1));
+        Assertions.assertEquals(456, tokens.getId(1));
+        Assertions.assertEquals(Message.MentionType.CHANNEL, tokens.getType(2));
+        Assertions.assertEquals(789, tokens.getId(2));
+        Assertions.assertEquals(Message.MentionType.ROLE, tokens.getType(3));
+        Assertions.assertEquals(42, tokens.getId(3));
+
+        Assertions.assertEquals(Message.MentionType.EMOTE, tokens.getType(4));
+        Assertions.assertEquals(1337, tokens.getId(4));
+        Assertions.assertEquals("jda", tokens.getName(4));
+        Assertions.assertFalse(tokens.isAnimated(4));
+        Assertions.assertEquals(Message.MentionType.EMOTE, tokens.getType(5));
+        Assertions.assertEquals("party_2", tokens.getName(5));
+        Assertions.assertTrue(tokens.isAnimated(5));
+    }
+
+    @Test
+    public void testInvalid()
+    {
+        Assertions.assertEquals(0, MentionLexer.tokenize("no mentions").size());
+        Assertions.assertEquals(0, MentionLexer.tokenize("<@> <@!> <#abc> <:name:> <b:name:1> <@123").size());
+        // ids which do not fit into a long are skipped
+        Assertions.assertEquals(0, MentionLexer.tokenize("<@123456789012345678901234>").size());
+
+        MentionLexer tokens = MentionLexer.tokenize("<@<@1>><<#2>");
+        Assertions.assertEquals(2, tokens.size());
+        Assertions.assertEquals(1, tokens.getId(0));
+        Assertions.assertEquals(2, tokens.getId(1));
+    }
+
+    @Test
+    public void testMatchesPatterns()
+    {
+        String content = "<@1><@!2><@&3><#4><:a:5><a:b:6><a::7><@&!8><:<:c:9>> @everyone <@18446744073709551615>";
+        MentionLexer tokens = MentionLexer.tokenize(content);
+        for (Message.MentionType type : new Message.MentionType[] { Message.MentionType.USER, Message.MentionType.ROLE, Message.MentionType.CHANNEL, Message.MentionType.EMOTE })
+        {
+            Matcher matcher = type.getPattern().matcher(content);
+            int index = 0;
+            while (matcher.find())
+            {
+                while (tokens.getType(index) != type)
+                    index++;
+                Assertions.assertEquals(matcher.start(), tokens.getStart(index));
+                Assertions.assertEquals(matcher.end(), tokens.getEnd(index));
+                index++;
+            }
+        }
+    }
+}
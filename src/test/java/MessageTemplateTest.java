@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.MessageBuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.utils.MessageTemplate;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MessageTemplateTest
+{
+    @Test
+    public void testPlaceholderPositions()
+    {
+        MessageTemplate template = MessageTemplate.of(new MessageBuilder("{{greeting}}, welcome to {{guild}}").build());
+        Assertions.assertEquals(2, template.getPlaceholders().size());
+        Assertions.assertEquals("Hello, welcome to JDA", render(template, "greeting", "Hello", "guild", "JDA").getString("content"));
+
+        template = MessageTemplate.of(new MessageBuilder("{{first}}{{second}} and {{first}}").build());
+        Assertions.assertEquals("ab and a", render(template, "first", "a", "second", "b").getString("content"));
+
+        // Incomplete placeholders are kept as text
+        template = MessageTemplate.of(new MessageBuilder("{{ not a placeholder }} {{name}").build());
+        Assertions.assertTrue(template.getPlaceholders().isEmpty());
+        Assertions.assertEquals("{{ not a placeholder }} {{name}", render(template).getString("content"));
+    }
+
+    @Test
+    public void testMissingValue()
+    {
+        MessageTemplate template = MessageTemplate.of(new MessageBuilder("{{greeting}}, welcome to {{guild}}").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.render(Collections.singletonMap("greeting", "Hello")));
+
+        // A null value is rendered like String.valueOf
+        Map<String, Object> values = new HashMap<>();
+        values.put("greeting", null);
+        values.put("guild", "JDA");
+        Assertions.assertEquals("null, welcome to JDA", DataObject.fromJson(template.render(values)).getString("content"));
+    }
+
+    @Test
+    public void testEscaping()
+    {
+        MessageTemplate template = MessageTemplate.of(new MessageBuilder("Quote: {{value}}").build());
+        String value = "\"quoted\" \\back\\slash\\ line\nbreak\ttab\r\u0001\u001f ünïcödé";
+        Assertions.assertEquals("Quote: " + value, render(template, "value", value).getString("content"));
+    }
+
+    @Test
+    public void testLimits()
+    {
+        MessageTemplate content = MessageTemplate.of(new MessageBuilder("Hello {{name}}").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> render(content, "name", repeat('a', Message.MAX_CONTENT_LENGTH)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> render(MessageTemplate.of(new MessageBuilder("{{name}}").build()), "name", " "));
+
+        MessageEmbed embed = new EmbedBuilder().setTitle("Welcome {{name}}").setDescription("{{description}}").build();
+        MessageTemplate template = MessageTemplate.of(new MessageBuilder().setEmbeds(embed).build());
+        DataObject json = render(template, "name", "Jane", "description", "");
+        Assertions.assertEquals("Welcome Jane", json.getArray("embeds").getObject(0).getString("title"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> render(template, "name", repeat('a', MessageEmbed.TITLE_MAX_LENGTH), "description", ""));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> render(template, "name", "Jane", "description", repeat('a', MessageEmbed.DESCRIPTION_MAX_LENGTH + 1)));
+    }
+
+    private static DataObject render(MessageTemplate template, String... values)
+    {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < values.length; i += 2)
+            map.put(values[i], values[i + 1]);
+        return DataObject.fromJson(template.render(map));
+    }
+
+    private static String repeat(char c, int amount)
+    {
+        StringBuilder builder = new StringBuilder(amount);
+        for (int i = 0; i < amount; i++)
+            builder.append(c);
+        return builder.toString();
+    }
+}
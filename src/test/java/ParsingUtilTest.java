@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.internal.utils.ParsingUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+public class ParsingUtilTest
+{
+    private static final String[] TIMESTAMPS = {
+        "2021-08-18T12:34:56.789000+00:00",
+        "2021-08-18T12:34:56+00:00",
+        "2021-08-18T12:34:56Z",
+        "2021-08-18t12:34:56.1z",
+        "2021-08-18T12:34:56.Z",
+        "2015-01-01T00:00:00.000000+00:00",
+        "1970-01-01T00:00:00+00:00",
+        "1969-12-31T23:59:59.999999999Z",
+        "2020-02-29T23:59:59.123456789+05:30",
+        "2000-02-29T00:00:00-18:00",
+        "2100-12-31T23:59:59+18:00",
+        "1678-01-01T00:00:00Z",
+        "2261-12-31T23:59:59.999Z",
+        "1500-06-15T10:00:00Z",
+        "9999-12-31T23:59:59Z",
+        "2021-08-18T12:34+00:00",
+    };
+
+    private static final String[] INVALID_TIMESTAMPS = {
+        "",
+        "2021-08-18",
+        "2021-02-29T00:00:00Z",
+        "2021-13-01T00:00:00Z",
+        "2021-04-31T00:00:00Z",
+        "2021-08-18T24:00:00Z",
+        "2021-08-18T12:60:00Z",
+        "2021-08-18T12:34:56.1234567890Z",
+        "2021-08-18T12:34:56+19:00",
+        "2021-08-18T12:34:56+18:30",
+        "2021-08-18T12:34:56",
+        "2021-08-18T12:34:56+0000",
+        "2021-08-18 12:34:56Z",
+        "2021-08-18T12:34:56ZZ",
+        "2O21-08-18T12:34:56Z",
+    };
+
+    @Test
+    public void testTimestamp()
+    {
+        for (String input : TIMESTAMPS)
+        {
+            long expected = Instant.from(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(input)).toEpochMilli();
+            Assertions.assertEquals(expected, ParsingUtil.parseTimestamp(input), input);
+        }
+
+        for (String input : INVALID_TIMESTAMPS)
+            Assertions.assertThrows(DateTimeParseException.class, () -> ParsingUtil.parseTimestamp(input), input);
+    }
+
+    @Test
+    public void testOffsetDateTime()
+    {
+        for (String input : TIMESTAMPS)
+            Assertions.assertEquals(OffsetDateTime.parse(input), ParsingUtil.parseOffsetDateTime(input), input);
+
+        for (String input : INVALID_TIMESTAMPS)
+            Assertions.assertThrows(DateTimeParseException.class, () -> ParsingUtil.parseOffsetDateTime(input), input);
+    }
+
+    @Test
+    public void testRandomTimestamps()
+    {
+        Random random = new Random(42);
+        long min = OffsetDateTime.parse("1700-01-01T00:00:00Z").toEpochSecond();
+        long max = OffsetDateTime.parse("2200-01-01T00:00:00Z").toEpochSecond();
+        for (int i = 0; i < 10000; i++)
+        {
+            long second = min + (long) (random.nextDouble() * (max - min));
+            int nanos = random.nextInt(1_000_000_000);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(37) - 18) * 1800);
+            OffsetDateTime time = OffsetDateTime.ofInstant(Instant.ofEpochSecond(second, nanos), offset);
+            String input = time.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+
+            Assertions.assertEquals(time.toInstant().toEpochMilli(), ParsingUtil.parseTimestamp(input), input);
+            Assertions.assertEquals(time, ParsingUtil.parseOffsetDateTime(input), input);
+        }
+    }
+
+    @Test
+    public void testSnowflake()
+    {
+        String[] inputs = { "0", "1", "+1", "42", "81384788765712384", "9223372036854775807", "9223372036854775808", "18446744073709551615" };
+        for (String input : inputs)
+            Assertions.assertEquals(Long.parseUnsignedLong(input), ParsingUtil.parseSnowflake(input), input);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++)
+        {
+            String input = Long.toUnsignedString(random.nextLong());
+            Assertions.assertEquals(Long.parseUnsignedLong(input), ParsingUtil.parseSnowflake(input), input);
+        }
+
+        String[] invalid = { "", "-1", "12a", " 1", "18446744073709551616", "123456789012345678901" };
+        for (String input : invalid)
+            Assertions.assertThrows(NumberFormatException.class, () -> ParsingUtil.parseSnowflake(input), input);
+    }
+}